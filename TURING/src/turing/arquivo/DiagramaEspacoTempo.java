@@ -0,0 +1,513 @@
+package turing.arquivo;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import turing.classes.Fita;
+import turing.classes.MaquinaTuring;
+import turing.classes.ResultadoExecucao;
+import turing.classes.StatusExecucao;
+
+/**
+ * Diagrama de espaço-tempo de uma execução da Máquina de Turing, gravado em um
+ * arquivo PNG. Cada linha da imagem é uma etapa da execução, e cada pixel é uma
+ * célula de uma janela fixa das fitas, colorida pelo símbolo gravado nela. As
+ * fitas ficam lado a lado, separadas por uma coluna cinza, e os cursores são
+ * marcados em vermelho.
+ * 
+ * <br><br>
+ * 
+ * As linhas são comprimidas e gravadas no arquivo à medida que são geradas, sem
+ * que a imagem seja montada em memória: a memória usada é a de três linhas e a
+ * do compressor, independentemente do número de etapas, logo execuções de
+ * milhões de passos com janelas de centenas de milhares de células podem ser
+ * gravadas. A altura da imagem é corrigida no cabeçalho do arquivo ao término.
+ * 
+ * <br><br>
+ * 
+ * A imagem usa uma paleta, em que o índice de cada pixel é o código do símbolo
+ * na fita, logo as células são copiadas em bloco, sem conversão. Os dois
+ * últimos índices são reservados para o separador e o cursor, e os códigos que
+ * os alcançam, em fitas com mais de 254 símbolos, compartilham a última cor.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class DiagramaEspacoTempo implements Closeable {
+    
+    
+    /**Número de bytes dos blocos de dados comprimidos do arquivo.*/
+    private static final int TAMANHO_BLOCO = 65536;
+    
+    /**Índice da paleta do separador entre as fitas.*/
+    private static final int INDICE_SEPARADOR = 254;
+    
+    /**Índice da paleta dos cursores.*/
+    private static final int INDICE_CURSOR = 255;
+    
+    /**Cor das células em branco.*/
+    private static final Color COR_BRANCO = Color.WHITE;
+    
+    /**Cor do separador entre as fitas.*/
+    private static final Color COR_SEPARADOR = Color.GRAY;
+    
+    /**Cor dos cursores.*/
+    private static final Color COR_CURSOR = Color.RED;
+    
+    /**Posição, no cabeçalho do arquivo, da altura da imagem.*/
+    private static final int POSICAO_ALTURA = 20;
+    
+    /**Assinatura dos arquivos PNG.*/
+    private static final byte[] ASSINATURA = {(byte) 0x89, 'P', 'N', 'G', '\r',
+    '\n', 0x1A, '\n'};
+    
+    /**Caminho do arquivo.*/
+    private final File arquivo;
+    
+    /**Máquina de Turing observada.*/
+    private final MaquinaTuring maquina;
+    
+    /**Posição da primeira célula da janela, relativa à célula pivô.*/
+    private final int primeiraPosicao;
+    
+    /**Número de células da janela de cada fita.*/
+    private final int largura;
+    
+    /**Pixels da linha atual.*/
+    private byte[] linha;
+    
+    /**Pixels da linha anterior, usados no filtro das linhas.*/
+    private byte[] linhaAnterior;
+    
+    /**Linha filtrada, precedida do tipo de filtro.*/
+    private final byte[] linhaFiltrada;
+    
+    /**Arquivo de saída.*/
+    private final OutputStream saida;
+    
+    /**Compressor das linhas.*/
+    private final Deflater compressor;
+    
+    /**Saída das linhas comprimidas.*/
+    private final DeflaterOutputStream saidaComprimida;
+    
+    /**Número de linhas gravadas.*/
+    private int numeroLinhas;
+    
+    /**Status de arquivo fechado.*/
+    private boolean fechado;
+    
+    
+    /**
+     * Constructor padrão. O arquivo é criado, e o seu cabeçalho gravado, mas
+     * nenhuma linha é adicionada.
+     * 
+     * @param arquivo caminho do arquivo PNG.
+     * 
+     * @param maquina Máquina de Turing observada, com a palavra já carregada.
+     * 
+     * @param primeiraPosicao posição da primeira célula da janela, relativa à
+     * célula pivô de cada fita. As células fora da fita são mostradas em
+     * branco.
+     * 
+     * @param largura número de células da janela de cada fita.
+     * 
+     * @throws IllegalArgumentException largura menor que 1, ou imagem mais
+     * larga que o permitido.
+     * 
+     * @throws IOException erro ao acessar o arquivo (bloqueado, inexistente,
+     * falta de espaço em disco, etc).
+     */
+    public DiagramaEspacoTempo(File arquivo, MaquinaTuring maquina,
+    int primeiraPosicao, int largura) throws IOException {
+        
+        long larguraImagem = (long) maquina.getNumeroFitas() * (largura + 1L) - 1;
+        
+        if (largura < 1 || larguraImagem > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Largura inválida: " + largura + ".");
+        }
+        
+        this.arquivo = arquivo;
+        this.maquina = maquina;
+        this.primeiraPosicao = primeiraPosicao;
+        this.largura = largura;
+        
+        linha = new byte[(int) larguraImagem];
+        linhaAnterior = new byte[linha.length];
+        linhaFiltrada = new byte[linha.length + 1];
+        
+        saida = new BufferedOutputStream(new FileOutputStream(arquivo),
+        TAMANHO_BLOCO);
+        
+        saida.write(ASSINATURA);
+        
+        // A altura é gravada como zero, e corrigida no fechamento do arquivo.
+        
+        byte[] cabecalho = new byte[13];
+        escreverInteiro(cabecalho, 0, linha.length);
+        cabecalho[8] = 8;
+        cabecalho[9] = 3;
+        
+        escreverBloco("IHDR", cabecalho, cabecalho.length);
+        escreverBloco("PLTE", criarPaleta(), 3 * 256);
+        
+        compressor = new Deflater(Deflater.BEST_SPEED);
+        saidaComprimida = new DeflaterOutputStream(new SaidaDados(), compressor,
+        TAMANHO_BLOCO);
+        
+    }
+    
+    
+    /**
+     * Criar a paleta de cores. O código do branco é mostrado em branco, e os
+     * demais códigos recebem matizes espaçados pela razão áurea, logo códigos
+     * próximos recebem cores bem distintas.
+     * 
+     * @return cores RGB da paleta, três bytes por índice.
+     */
+    private byte[] criarPaleta() {
+        
+        int branco = maquina.getFitas()[0].getCodigoBranco();
+        byte[] paleta = new byte[3 * 256];
+        
+        for (int indice = 0; indice < 256; indice++) {
+            
+            int cor;
+            
+            if (indice == INDICE_CURSOR) {
+                cor = COR_CURSOR.getRGB();
+            } else if (indice == INDICE_SEPARADOR) {
+                cor = COR_SEPARADOR.getRGB();
+            } else if (indice == branco) {
+                cor = COR_BRANCO.getRGB();
+            } else {
+                cor = Color.HSBtoRGB((indice * 0.618034f) % 1f, 0.7f, 0.75f);
+            }
+            
+            paleta[3 * indice] = (byte) (cor >> 16);
+            paleta[3 * indice + 1] = (byte) (cor >> 8);
+            paleta[3 * indice + 2] = (byte) cor;
+            
+        }
+        
+        return paleta;
+        
+    }
+    
+    
+    /**
+     * Adicionar uma linha com a configuração atual das fitas da máquina.
+     * 
+     * @throws IllegalStateException arquivo já fechado, ou número máximo de
+     * linhas atingido.
+     * 
+     * @throws IOException erro ao gravar o arquivo.
+     */
+    public void adicionarLinha() throws IOException {
+        
+        if (fechado || numeroLinhas == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Não é possível adicionar linhas ao diagrama.");
+        }
+        
+        Fita[] fitas = maquina.getFitas();
+        
+        for (int i = 0; i < fitas.length; i++) {
+            
+            Fita fita = fitas[i];
+            int x = i * (largura + 1);
+            
+            if (i > 0) linha[x - 1] = (byte) INDICE_SEPARADOR;
+            
+            // A janela é convertida em índices da fita, e apenas o trecho que
+            // existe na fita é copiado: o restante da janela fica em branco.
+            
+            int primeiroIndice = fita.getCelulaPivo() + primeiraPosicao;
+            int de = Math.max(primeiroIndice, 0);
+            int ate = (int) Math.min((long) primeiroIndice + largura,
+            fita.getComprimento());
+            
+            if (de >= ate) {
+                Arrays.fill(linha, x, x + largura, (byte) fita.getCodigoBranco());
+            } else {
+                Arrays.fill(linha, x, x + de - primeiroIndice,
+                (byte) fita.getCodigoBranco());
+                fita.getVisao().copiarCodigos(linha, x + de - primeiroIndice, de,
+                ate - de);
+                Arrays.fill(linha, x + ate - primeiroIndice, x + largura,
+                (byte) fita.getCodigoBranco());
+            }
+            
+            if (fita.getNumeroCodigos() > INDICE_SEPARADOR) {
+                for (int j = x; j < x + largura; j++) {
+                    if ((linha[j] & 0xFF) >= INDICE_SEPARADOR) {
+                        linha[j] = (byte) (INDICE_SEPARADOR - 1);
+                    }
+                }
+            }
+            
+            long cursor = (long) maquina.getIndiceAbsoluto(i) - primeiroIndice;
+            
+            if (cursor >= 0 && cursor < largura) {
+                linha[x + (int) cursor] = (byte) INDICE_CURSOR;
+            }
+            
+        }
+        
+        // Cada linha é gravada como a diferença para a linha anterior, que é
+        // quase toda nula, pois apenas as células sob os cursores mudam.
+        
+        linhaFiltrada[0] = 2;
+        
+        for (int j = 0; j < linha.length; j++) {
+            linhaFiltrada[j + 1] = (byte) (linha[j] - linhaAnterior[j]);
+        }
+        
+        saidaComprimida.write(linhaFiltrada);
+        
+        byte[] anterior = linhaAnterior;
+        linhaAnterior = linha;
+        linha = anterior;
+        
+        numeroLinhas++;
+        
+    }
+    
+    
+    /**
+     * Executar a máquina sem interface gráfica, adicionando uma linha a cada
+     * intervalo de passos. A configuração inicial e a final também são
+     * adicionadas.
+     * 
+     * @param limitePassos número máximo de passos a executar. Se menor ou igual
+     * a zero, não há limite.
+     * 
+     * @param amostragem número de passos entre duas linhas.
+     * 
+     * @return Resultado da última execução, com o status de término.
+     * 
+     * @throws IllegalArgumentException amostragem menor que 1.
+     * 
+     * @throws IOException erro ao gravar o arquivo.
+     */
+    public ResultadoExecucao gerar(long limitePassos, long amostragem)
+    throws IOException {
+        
+        if (amostragem < 1) {
+            throw new IllegalArgumentException("Amostragem inválida: " + amostragem + ".");
+        }
+        
+        long passos = 0;
+        
+        adicionarLinha();
+        
+        while (true) {
+            
+            long etapa = limitePassos > 0 ? Math.min(amostragem, limitePassos - passos)
+            : amostragem;
+            
+            long inicio = maquina.getNumeroPassos();
+            ResultadoExecucao resultado = maquina.executar(etapa, 0);
+            
+            passos += maquina.getNumeroPassos() - inicio;
+            
+            if (maquina.getNumeroPassos() > inicio) {
+                adicionarLinha();
+            }
+            
+            if (resultado.getStatus() != StatusExecucao.LIMITE_PASSOS
+            || (limitePassos > 0 && passos >= limitePassos)) {
+                return resultado;
+            }
+            
+        }
+        
+    }
+    
+    
+    /**
+     * Gravar um bloco do arquivo PNG: comprimento, tipo, dados e CRC.
+     * 
+     * @param tipo tipo do bloco.
+     * 
+     * @param dados dados do bloco.
+     * 
+     * @param comprimento número de bytes de dados.
+     * 
+     * @throws IOException erro ao gravar o arquivo.
+     */
+    private void escreverBloco(String tipo, byte[] dados, int comprimento)
+    throws IOException {
+        
+        byte[] bytesTipo = tipo.getBytes(StandardCharsets.US_ASCII);
+        byte[] inteiro = new byte[4];
+        
+        CRC32 crc = new CRC32();
+        crc.update(bytesTipo);
+        crc.update(dados, 0, comprimento);
+        
+        escreverInteiro(inteiro, 0, comprimento);
+        saida.write(inteiro);
+        saida.write(bytesTipo);
+        saida.write(dados, 0, comprimento);
+        escreverInteiro(inteiro, 0, (int) crc.getValue());
+        saida.write(inteiro);
+        
+    }
+    
+    
+    /**
+     * Escrever um inteiro de 32 bits, do byte mais significativo ao menos
+     * significativo.
+     * 
+     * @param destino arranjo de destino.
+     * 
+     * @param posicao posição do primeiro byte.
+     * 
+     * @param valor inteiro escrito.
+     */
+    private static void escreverInteiro(byte[] destino, int posicao, int valor) {
+        destino[posicao] = (byte) (valor >>> 24);
+        destino[posicao + 1] = (byte) (valor >>> 16);
+        destino[posicao + 2] = (byte) (valor >>> 8);
+        destino[posicao + 3] = (byte) valor;
+    }
+    
+    
+    /**
+     * Fechar o arquivo, corrigindo a altura da imagem no cabeçalho. Se nenhuma
+     * linha foi adicionada, a configuração atual da máquina é adicionada antes.
+     * 
+     * @throws IOException erro ao gravar o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        
+        if (fechado) return;
+        
+        try {
+            
+            if (numeroLinhas == 0) adicionarLinha();
+            
+            fechado = true;
+            
+            saidaComprimida.close();
+            escreverBloco("IEND", new byte[0], 0);
+            
+        } finally {
+            fechado = true;
+            compressor.end();
+            saida.close();
+        }
+        
+        // O CRC do cabeçalho cobre a altura, logo também é recalculado.
+        
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw")) {
+            
+            byte[] cabecalho = new byte[17];
+            
+            acesso.seek(POSICAO_ALTURA - 8);
+            acesso.readFully(cabecalho);
+            
+            escreverInteiro(cabecalho, POSICAO_ALTURA - 12, numeroLinhas);
+            
+            CRC32 crc = new CRC32();
+            crc.update(cabecalho);
+            
+            acesso.seek(POSICAO_ALTURA);
+            acesso.writeInt(numeroLinhas);
+            acesso.seek(POSICAO_ALTURA - 8 + cabecalho.length);
+            acesso.writeInt((int) crc.getValue());
+            
+        }
+        
+    }
+    
+    
+    /**
+     * Obter o número de linhas adicionadas.
+     * 
+     * @return número de linhas.
+     */
+    public int getNumeroLinhas() {
+        return numeroLinhas;
+    }
+    
+    
+    /**
+     * Obter o caminho do arquivo.
+     * 
+     * @return caminho do arquivo.
+     */
+    public File getArquivo() {
+        return arquivo;
+    }
+    
+    
+    /**
+     * Saída dos dados comprimidos, que os divide em blocos IDAT de até
+     * {@link #TAMANHO_BLOCO} bytes.
+     */
+    private final class SaidaDados extends OutputStream {
+        
+        
+        /**Dados do bloco atual.*/
+        private final byte[] bloco = new byte[TAMANHO_BLOCO];
+        
+        /**Número de bytes do bloco atual.*/
+        private int tamanho;
+        
+        
+        @Override
+        public void write(int b) throws IOException {
+            if (tamanho == bloco.length) gravar();
+            bloco[tamanho++] = (byte) b;
+        }
+        
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (tamanho == bloco.length) gravar();
+                int n = Math.min(len, bloco.length - tamanho);
+                System.arraycopy(b, off, bloco, tamanho, n);
+                tamanho += n;
+                off += n;
+                len -= n;
+            }
+        }
+        
+        
+        /**
+         * Gravar o bloco atual no arquivo, se não estiver vazio.
+         * 
+         * @throws IOException erro ao gravar o arquivo.
+         */
+        private void gravar() throws IOException {
+            if (tamanho > 0) {
+                escreverBloco("IDAT", bloco, tamanho);
+                tamanho = 0;
+            }
+        }
+        
+        
+        @Override
+        public void close() throws IOException {
+            gravar();
+        }
+        
+        
+    }
+
+
+}
@@ -0,0 +1,1101 @@
+package turing.classes;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import static turing.classes.Constantes.TAMANHO_FITA;
+
+/**
+ * Contexto de uma execução de um programa compilado ({@link TabelaTransicao}).
+ * Guarda apenas o estado mutável da execução: as fitas, em arranjos de códigos
+ * de símbolos, os cursores das Cabeças de Leitura/Escrita, o estado atual da
+ * Unidade de Controle e o número de passos. O programa não é copiado, logo
+ * vários contextos podem executar a mesma tabela ao mesmo tempo, cada um em sua
+ * própria thread.
+ * 
+ * <br><br>
+ * 
+ * Um contexto pode ser reaproveitado para várias palavras de entrada, por meio
+ * do método {@link #reiniciar(String)}. Os arranjos das fitas são mantidos entre
+ * as execuções, e apenas as células visíveis na execução anterior, as únicas
+ * que podem ter sido gravadas, são apagadas. Assim, um conjunto de contextos
+ * pode ser mantido em um pool, sem alocar novas fitas a cada execução.
+ * 
+ * <br><br>
+ * 
+ * Um contexto não é seguro para uso simultâneo por mais de uma thread.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class ContextoExecucao {
+    
+    
+    /**Número de passos entre duas consultas ao relógio em {@link #executar(long, long)}.*/
+    private static final int INTERVALO_RELOGIO = 1024;
+    
+    /**Tabela de transição executada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Número de fitas da máquina.*/
+    private final int numeroFitas;
+    
+    /**Códigos dos símbolos gravados nas fitas.*/
+    private final short[][] celulas;
+    
+    /**Posição no arranjo da célula inicial de cada fita.*/
+    private final int[] origens;
+    
+    /**Cursores das Cabeças de Leitura/Escrita, relativos à célula inicial.*/
+    private final int[] cursores;
+    
+    /**Primeira célula visível de cada fita, relativa à célula inicial.*/
+    private final int[] inicios;
+    
+    /**Última célula visível de cada fita, relativa à célula inicial.*/
+    private final int[] fins;
+    
+    /**Código do estado atual apontado pela Unidade de Controle.*/
+    private int estadoAtual;
+    
+    /**Entrada da tabela para o estado atual e os símbolos sob os cursores.*/
+    private int entradaAtual;
+    
+    /**Palavra de entrada a ser processada.*/
+    private String palavra;
+    
+    /**Status de excução da simulação.*/
+    private boolean emExecucao;
+    
+    /**Status de palavra aceita/rejeitada pela máquina*/
+    private boolean aceita;
+    
+    /**Número de passos executados na simulação.*/
+    private long numeroPassos;
+    
+    /**Índice da transição atual.*/
+    private int indiceTransicao;
+    
+    /**Hash das células não brancas das fitas, atualizado a cada gravação.*/
+    private long hashFitas;
+    
+    /**Detector de ciclos, ou null, caso a detecção esteja desativada.*/
+    private DetectorCiclos detector;
+    
+    /**Detector de ciclos transladados e de vaivéns, ou null.*/
+    private DetectorTranslacao detectorTranslacao;
+    
+    /**Diário dos passos executados, ou null, caso eles não possam ser desfeitos.*/
+    private DiarioPassos diario;
+    
+    /**Linha do tempo com os marcos da execução, ou null.*/
+    private LinhaTempo linhaTempo;
+    
+    /**Pontos de parada avaliados em {@link #executar(long, long)}, ou null.*/
+    private PontosParada pontosParada;
+
+    
+    /**
+     * Constructor padrão. O contexto só pode ser executado após a carga de uma
+     * palavra de entrada, por meio do método {@link #reiniciar(String)}.
+     * 
+     * @param tabela tabela de transição a ser executada.
+     */
+    public ContextoExecucao(TabelaTransicao tabela) {
+        this.tabela = tabela;
+        this.numeroFitas = tabela.getNumeroFitas();
+        this.celulas = new short[numeroFitas][];
+        this.origens = new int[numeroFitas];
+        this.cursores = new int[numeroFitas];
+        this.inicios = new int[numeroFitas];
+        this.fins = new int[numeroFitas];
+        this.emExecucao = false;
+    }
+    
+    
+    /**
+     * Carregar uma palavra de entrada e reiniciar a execução. As fitas assumem
+     * as mesmas dimensões iniciais de uma {@link MaquinaMultifitas}, e os
+     * arranjos alocados em execuções anteriores são reaproveitados.
+     * 
+     * @param palavra palavra de entrada.
+     */
+    public void reiniciar(String palavra) {
+        
+        this.palavra = palavra;
+        
+        aceita = false;
+        
+        for (int i = 0; i < palavra.length(); i++) {
+            Simbolo simbolo = tabela.getAlfabetoFita().getSimbolo(palavra.charAt(i));
+            if (simbolo != null && simbolo.isAuxiliar()) {
+                aceita = true;
+                break;
+            }
+        }
+        
+        int celulasAdicionais = palavra.length() > TAMANHO_FITA ? 10 :
+        TAMANHO_FITA - (palavra.length());
+        
+        int tamanhoInicial = palavra.length() + celulasAdicionais;
+        
+        short branco = (short) tabela.getSimboloBranco();
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            // Como em MaquinaMultifitas, apenas a primeira fita cresce para que
+            // a célula à esquerda da célula pivô e a palavra caibam nela.
+            int tamanho = i == 0 ? Math.max(tamanhoInicial, palavra.length() + 1)
+            : tamanhoInicial;
+            if (celulas[i] == null || celulas[i].length < tamanho) {
+                celulas[i] = new short[tamanho];
+                Arrays.fill(celulas[i], branco);
+            } else {
+                // Fora das células visíveis, as fitas contêm apenas brancos.
+                Arrays.fill(celulas[i], origens[i] + inicios[i], origens[i] +
+                fins[i] + 1, branco);
+            }
+            // As células que sobram no arranjo reaproveitado são divididas
+            // entre os dois lados, para que a fita não precise ser realocada
+            // de novo se crescer à esquerda.
+            origens[i] = (celulas[i].length - tamanho) / 2 + 1;
+            cursores[i] = 0;
+            inicios[i] = -1;
+            fins[i] = tamanho - 2;
+        }
+        
+        hashFitas = 0;
+        
+        for (int i = 0; i < palavra.length(); i++) {
+            short codigo = (short) tabela.getCodigo(palavra.charAt(i));
+            celulas[0][origens[0] + i] = codigo;
+            hashFitas ^= getHashCelula(0, i, codigo);
+        }
+        
+        estadoAtual = tabela.getEstadoInicial();
+        entradaAtual = lerEntrada();
+        indiceTransicao = tabela.getIndiceTransicao(entradaAtual);
+        numeroPassos = 0;
+        emExecucao = true;
+        
+        if (diario != null) {
+            diario.limpar();
+        }
+        
+        if (linhaTempo != null) {
+            linhaTempo.reiniciar(this);
+        }
+        
+    }
+    
+    
+    /**
+     * Executar um passo da simulação. O roteiro é o mesmo descrito em
+     * {@link MaquinaMultifitas#executarPasso()}, porém a transição é obtida
+     * diretamente da tabela de transição, a partir da entrada calculada no
+     * passo anterior.
+     * 
+     * <br><br>
+     * 
+     * Se o diário estiver ativado (veja {@link #setJanelaDiario(int)}), o passo
+     * é registrado nele, e pode ser desfeito por {@link #voltarPasso()}.
+     */
+    public void executarPasso() {
+        
+        if (emExecucao) {
+            
+            numeroPassos++;
+            
+            int entrada = entradaAtual;
+            
+            int proximoEstado = tabela.getProximoEstado(entrada);
+            
+            if (diario != null) {
+                diario.iniciar(estadoAtual, aceita);
+            }
+            
+            if (proximoEstado != TabelaTransicao.INDEFINIDO) {
+                
+                for (int i = 0; i < numeroFitas; i++) {
+                    
+                    int posicao = origens[i] + cursores[i];
+                    short anterior = celulas[i][posicao];
+                    short gravado = (short) tabela.getSimboloGravado(entrada, i);
+                    
+                    if (gravado != anterior) {
+                        celulas[i][posicao] = gravado;
+                        hashFitas ^= getHashCelula(i, cursores[i], anterior) ^
+                        getHashCelula(i, cursores[i], gravado);
+                    }
+                    
+                    int movimento = tabela.getMovimento(entrada, i);
+                    int crescimento = DiarioPassos.SEM_CRESCIMENTO;
+                    
+                    if (movimento != 0) {
+                        int cursor = cursores[i] + movimento;
+                        cursores[i] = cursor;
+                        if (cursor <= inicios[i]) {
+                            inicios[i] = cursor - 1;
+                            garantirCapacidade(i);
+                            crescimento = DiarioPassos.CRESCIMENTO_ESQUERDA;
+                        } else if (cursor > fins[i]) {
+                            fins[i] = cursor + 1;
+                            garantirCapacidade(i);
+                            crescimento = DiarioPassos.CRESCIMENTO_DIREITA;
+                        }
+                    }
+                    
+                    if (diario != null) {
+                        diario.registrarFita(i, anterior, movimento, crescimento);
+                    }
+                    
+                }
+                
+                estadoAtual = proximoEstado;
+                
+                if (tabela.isTerminal(estadoAtual)) {
+                    emExecucao = false;
+                    aceita = true;
+                } else {
+                    entradaAtual = lerEntrada();
+                    indiceTransicao = tabela.getIndiceTransicao(entradaAtual);
+                }
+                
+            } else {
+                
+                emExecucao = false;
+                aceita = false;
+                
+                if (diario != null) {
+                    for (int i = 0; i < numeroFitas; i++) {
+                        diario.registrarFita(i, celulas[i][origens[i] + cursores[i]],
+                        0, DiarioPassos.SEM_CRESCIMENTO);
+                    }
+                }
+                
+            }
+            
+            if (diario != null && !emExecucao) {
+                diario.registrarParada();
+            }
+            
+            if (linhaTempo != null) {
+                linhaTempo.registrar(this);
+            }
+            
+        }
+        
+    }
+    
+    
+    /**
+     * Ir a um passo qualquer da execução da palavra atual. Se a linha do tempo
+     * estiver ativada (veja {@link #setLinhaTempo(boolean)}), a execução parte
+     * do marco mais próximo anterior ao passo, ou da configuração atual, se ela
+     * estiver mais próxima. Caso contrário, a execução parte da configuração
+     * atual, se o passo estiver à frente, ou do início.
+     * 
+     * @param passo número do passo.
+     * 
+     * @return número do passo alcançado, menor que o pedido caso a máquina
+     * pare antes.
+     */
+    public long irParaPasso(long passo) {
+        return irParaPasso(passo, 0);
+    }
+    
+    
+    /**
+     * Ir a um passo qualquer da execução da palavra atual, como em
+     * {@link #irParaPasso(long)}, por no máximo o tempo informado. O relógio é
+     * consultado a cada {@value #INTERVALO_RELOGIO} iterações, a partir da
+     * primeira, logo cada chamada avança ao menos um passo. Caso o tempo se
+     * esgote, uma nova chamada continua a partir do passo alcançado, pois ele
+     * está à frente do marco de onde a execução partiu.
+     * 
+     * @param passo número do passo.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return número do passo alcançado, menor que o pedido caso a máquina
+     * pare antes ou o tempo se esgote.
+     */
+    public long irParaPasso(long passo, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteTempo);
+        
+        ContextoExecucao marco = linhaTempo != null ? linhaTempo.getMarco(passo) :
+        null;
+        
+        if (marco != null && marco.getNumeroPassos() <= passo) {
+            if (numeroPassos > passo || numeroPassos < marco.getNumeroPassos()) {
+                copiar(marco);
+            }
+        } else if (numeroPassos > passo) {
+            reiniciar(palavra);
+        }
+        
+        for (long iteracoes = 0; emExecucao && numeroPassos < passo; iteracoes++) {
+            if (limiteTempo > 0 && iteracoes > 0 && (iteracoes &
+            (INTERVALO_RELOGIO - 1)) == 0 && System.nanoTime() - inicio >=
+            limiteNanos) {
+                break;
+            }
+            int fita = tabela.getFitaVarredura(entradaAtual);
+            if (fita == TabelaTransicao.INDEFINIDO || varrer(fita, passo -
+            numeroPassos) == 0) {
+                executarPasso();
+            }
+        }
+        
+        return numeroPassos;
+        
+    }
+    
+    
+    /**
+     * Desfazer o último passo executado, com base no diário. O símbolo
+     * sobrescrito é regravado em cada fita, as Cabeças de Leitura/Escrita
+     * voltam à posição anterior e a Unidade de Controle volta ao estado
+     * anterior. As fitas também voltam às suas dimensões anteriores: quando uma
+     * fita cresce, a cabeça acabou de ultrapassar a extremidade, logo a
+     * extremidade anterior está a uma célula (à esquerda) ou a duas células (à
+     * direita) da nova.
+     * 
+     * @return Se true, o passo foi desfeito. Se false, o diário está desativado
+     * ou não há passos a desfazer.
+     */
+    public boolean voltarPasso() {
+        
+        if (diario == null || !diario.desfazer()) return false;
+        
+        for (int i = numeroFitas - 1; i >= 0; i--) {
+            
+            int crescimento = diario.getCrescimento(i);
+            
+            if (crescimento == DiarioPassos.CRESCIMENTO_ESQUERDA) {
+                inicios[i]++;
+            } else if (crescimento == DiarioPassos.CRESCIMENTO_DIREITA) {
+                fins[i] -= 2;
+            }
+            
+            cursores[i] -= diario.getMovimento(i);
+            
+            int posicao = origens[i] + cursores[i];
+            short atual = celulas[i][posicao];
+            short anterior = (short) diario.getSimboloAnterior(i);
+            
+            if (atual != anterior) {
+                celulas[i][posicao] = anterior;
+                hashFitas ^= getHashCelula(i, cursores[i], atual) ^
+                getHashCelula(i, cursores[i], anterior);
+            }
+            
+        }
+        
+        estadoAtual = diario.getEstadoAnterior();
+        aceita = diario.isAceitaAnterior();
+        emExecucao = true;
+        numeroPassos--;
+        entradaAtual = lerEntrada();
+        indiceTransicao = tabela.getIndiceTransicao(entradaAtual);
+        
+        return true;
+        
+    }
+    
+    
+    /**
+     * Desfazer vários passos, do mais recente para o mais antigo, até o número
+     * pedido ou até o início do diário.
+     * 
+     * @param passos número de passos a desfazer.
+     * 
+     * @return número de passos desfeitos.
+     */
+    public long voltar(long passos) {
+        long desfeitos = 0;
+        while (desfeitos < passos && voltarPasso()) {
+            desfeitos++;
+        }
+        return desfeitos;
+    }
+    
+    
+    /**
+     * Executar a simulação até a máquina parar ou até que um dos limites seja
+     * atingido. O relógio é consultado a cada {@value #INTERVALO_RELOGIO}
+     * iterações.
+     * 
+     * <br><br>
+     * 
+     * As entradas de varredura (veja {@link TabelaTransicao#getFitaVarredura(int)})
+     * são aceleradas: em vez de executar um passo por célula, a Cabeça de
+     * Leitura/Escrita é levada diretamente até a última célula visível com o
+     * mesmo símbolo, e as células percorridas são somadas ao número de passos.
+     * O resultado e o número de passos são os mesmos da execução passo a passo.
+     * 
+     * <br><br>
+     * 
+     * Se a detecção de ciclos estiver ativada (veja
+     * {@link #setDetectorCiclos(boolean)}), a configuração é verificada ao fim
+     * de cada iteração, e a execução termina com o status
+     * {@link StatusExecucao#CICLO} quando uma configuração se repete. Em
+     * máquinas com uma fita, a execução também termina com o status
+     * {@link StatusExecucao#CICLO_TRANSLADADO} ou {@link StatusExecucao#VAIVEM}
+     * quando um desses padrões é provado.
+     * 
+     * <br><br>
+     * 
+     * Se houver pontos de parada (veja {@link #setPontosParada(PontosParada)}),
+     * eles são verificados ao fim de cada iteração, e a execução termina com o
+     * status {@link StatusExecucao#PONTO_PARADA} quando um deles é alcançado.
+     * 
+     * @param limitePassos número máximo de passos a executar. Se menor ou igual
+     * a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return Resultado da execução.
+     */
+    public ResultadoExecucao executar(long limitePassos, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteTempo);
+        
+        StatusExecucao status = null;
+        
+        long passos = 0;
+        
+        if (detector != null) {
+            detector.iniciar(this);
+        }
+        
+        if (detectorTranslacao != null) {
+            detectorTranslacao.iniciar(this);
+        }
+        
+        for (long iteracoes = 0; emExecucao; iteracoes++) {
+            if (limitePassos > 0 && passos >= limitePassos) {
+                status = StatusExecucao.LIMITE_PASSOS;
+                break;
+            }
+            if (limiteTempo > 0 && (iteracoes & (INTERVALO_RELOGIO - 1)) == 0
+            && System.nanoTime() - inicio >= limiteNanos) {
+                status = StatusExecucao.LIMITE_TEMPO;
+                break;
+            }
+            int entrada = entradaAtual;
+            int fita = tabela.getFitaVarredura(entrada);
+            int avanco = 0;
+            if (fita != TabelaTransicao.INDEFINIDO) {
+                long maximo = limitePassos > 0 ? limitePassos - passos :
+                Long.MAX_VALUE;
+                if (pontosParada != null) {
+                    maximo = pontosParada.limitarVarredura(this, entrada, fita, maximo);
+                }
+                avanco = varrer(fita, maximo);
+            }
+            if (avanco > 0) {
+                passos += avanco;
+            } else {
+                executarPasso();
+                passos++;
+            }
+            if (pontosParada != null && pontosParada.isParada(this, entrada,
+            entradaAtual)) {
+                status = StatusExecucao.PONTO_PARADA;
+                break;
+            }
+            if (detector != null && emExecucao && detector.verificar(this)) {
+                status = StatusExecucao.CICLO;
+                break;
+            }
+            if (detectorTranslacao != null && emExecucao &&
+            detectorTranslacao.verificar(this)) {
+                status = detectorTranslacao.getStatus();
+                break;
+            }
+        }
+        
+        if (status == null) {
+            status = aceita ? StatusExecucao.ACEITA : StatusExecucao.REJEITADA;
+        }
+        
+        int[] comprimentos = new int[numeroFitas];
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            comprimentos[i] = getComprimento(i);
+        }
+        
+        if (status == StatusExecucao.CICLO) {
+            return new ResultadoExecucao(status, palavra, getEstadoAtual(), numeroPassos,
+            comprimentos, System.nanoTime() - inicio, detector.getInicioCiclo(),
+            detector.getPeriodoCiclo());
+        } else if (status.isNaoPara()) {
+            return new ResultadoExecucao(status, palavra, getEstadoAtual(), numeroPassos,
+            comprimentos, System.nanoTime() - inicio, detectorTranslacao.getInicio(),
+            detectorTranslacao.getPeriodo());
+        }
+        
+        return new ResultadoExecucao(status, palavra, getEstadoAtual(), numeroPassos,
+        comprimentos, System.nanoTime() - inicio);
+        
+    }
+    
+    
+    /**
+     * Acelerar uma entrada de varredura. A Cabeça de Leitura/Escrita da fita
+     * percorrida avança enquanto a próxima célula for visível e contiver o mesmo
+     * símbolo da célula atual. Cada célula percorrida equivale a um passo que
+     * grava o mesmo símbolo e mantém o estado, logo a entrada atual não muda.
+     * A varredura para antes das extremidades da fita, e o passo que as
+     * ultrapassa é executado normalmente, para que a fita cresça.
+     * 
+     * @param fita índice da fita percorrida.
+     * 
+     * @param maximo número máximo de passos a avançar.
+     * 
+     * @return número de passos avançados.
+     */
+    private int varrer(int fita, long maximo) {
+        
+        short[] arranjo = celulas[fita];
+        
+        int movimento = tabela.getMovimento(entradaAtual, fita);
+        int posicao = origens[fita] + cursores[fita];
+        short simbolo = arranjo[posicao];
+        
+        int limite = movimento > 0 ? origens[fita] + fins[fita] : origens[fita] +
+        inicios[fita] + 1;
+        
+        int disponivel = Math.abs(limite - posicao);
+        
+        // A varredura não ultrapassa o próximo marco da linha do tempo.
+        
+        if (linhaTempo != null) {
+            maximo = Math.min(maximo, linhaTempo.getProximoMarco() - numeroPassos);
+        }
+        
+        if (disponivel > maximo) {
+            disponivel = (int) maximo;
+        }
+        
+        int avanco = 0;
+        
+        while (avanco < disponivel && arranjo[posicao + movimento] == simbolo) {
+            posicao += movimento;
+            avanco++;
+        }
+        
+        cursores[fita] += avanco * movimento;
+        numeroPassos += avanco;
+        
+        if (diario != null) {
+            registrarVarredura(fita, simbolo, movimento, avanco);
+        }
+        
+        if (linhaTempo != null) {
+            linhaTempo.registrar(this);
+        }
+        
+        return avanco;
+        
+    }
+    
+    
+    /**
+     * Registrar no diário os passos de uma varredura. Cada passo mantém o estado
+     * e os símbolos das fitas, e move apenas a cabeça da fita percorrida.
+     * 
+     * @param fita índice da fita percorrida.
+     * 
+     * @param simbolo código do símbolo das células percorridas.
+     * 
+     * @param movimento deslocamento da cabeça da fita percorrida.
+     * 
+     * @param avanco número de passos da varredura.
+     */
+    private void registrarVarredura(int fita, int simbolo, int movimento, int avanco) {
+        for (int passo = 0; passo < avanco; passo++) {
+            diario.iniciar(estadoAtual, aceita);
+            for (int i = 0; i < numeroFitas; i++) {
+                if (i == fita) {
+                    diario.registrarFita(i, simbolo, movimento,
+                    DiarioPassos.SEM_CRESCIMENTO);
+                } else {
+                    diario.registrarFita(i, celulas[i][origens[i] + cursores[i]], 0,
+                    DiarioPassos.SEM_CRESCIMENTO);
+                }
+            }
+        }
+    }
+    
+    
+    /**
+     * Calcular o hash de uma célula de uma fita com um símbolo. As células em
+     * branco não contribuem para o hash, logo o crescimento das fitas não o
+     * altera.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param celula posição da célula, relativa à célula inicial.
+     * 
+     * @param codigo código do símbolo.
+     * 
+     * @return hash da célula.
+     */
+    private long getHashCelula(int fita, int celula, int codigo) {
+        if (codigo == tabela.getSimboloBranco()) return 0;
+        return misturar(misturar(((long) fita << 32) ^ (celula & 0xFFFFFFFFL)) + codigo);
+    }
+    
+    
+    /**
+     * Misturar os bits de um número de 64 bits (função de finalização do
+     * SplitMix64).
+     * 
+     * @param valor valor a ser misturado.
+     * 
+     * @return valor misturado.
+     */
+    private static long misturar(long valor) {
+        valor += 0x9E3779B97F4A7C15L;
+        valor = (valor ^ (valor >>> 30)) * 0xBF58476D1CE4E5B9L;
+        valor = (valor ^ (valor >>> 27)) * 0x94D049BB133111EBL;
+        return valor ^ (valor >>> 31);
+    }
+    
+    
+    /**
+     * Obter o hash da configuração atual: estado da Unidade de Controle,
+     * cursores e conteúdo das fitas. O hash das fitas é atualizado a cada
+     * gravação, logo o custo deste método não depende do tamanho das fitas.
+     * 
+     * @return hash da configuração.
+     */
+    public long getHashConfiguracao() {
+        long hash = hashFitas ^ misturar(~(long) estadoAtual);
+        for (int i = 0; i < numeroFitas; i++) {
+            hash ^= misturar(misturar(((long) ~i << 32) ^ (cursores[i] & 0xFFFFFFFFL)));
+        }
+        return hash;
+    }
+    
+    
+    /**
+     * Verificar se a configuração deste contexto é igual à de outro contexto
+     * do mesmo programa: mesmo estado, mesmos cursores e mesmo conteúdo em
+     * todas as células das fitas. Fora das células visíveis, as fitas contêm
+     * apenas brancos.
+     * 
+     * @param outro outro contexto.
+     * 
+     * @return Se true, as configurações são iguais. Se false, são diferentes.
+     */
+    public boolean isMesmaConfiguracao(ContextoExecucao outro) {
+        
+        if (estadoAtual != outro.estadoAtual || hashFitas != outro.hashFitas ||
+        emExecucao != outro.emExecucao) {
+            return false;
+        }
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            
+            if (cursores[i] != outro.cursores[i]) return false;
+            
+            int inicio = Math.min(inicios[i], outro.inicios[i]);
+            int fim = Math.max(fins[i], outro.fins[i]);
+            
+            for (int j = inicio; j <= fim; j++) {
+                if (lerCelula(i, j) != outro.lerCelula(i, j)) return false;
+            }
+            
+        }
+        
+        return true;
+        
+    }
+    
+    
+    /**
+     * Ler o código de uma célula de uma fita, inclusive fora das células
+     * visíveis, onde há apenas brancos.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param celula posição da célula, relativa à célula inicial.
+     * 
+     * @return código do símbolo.
+     */
+    private int lerCelula(int fita, int celula) {
+        if (celula < inicios[fita] || celula > fins[fita]) {
+            return tabela.getSimboloBranco();
+        }
+        return celulas[fita][origens[fita] + celula];
+    }
+    
+    
+    /**
+     * Copiar a execução de outro contexto do mesmo programa para este contexto.
+     * Os arranjos deste contexto são reaproveitados sempre que comportam as
+     * fitas do outro contexto.
+     * 
+     * @param origem contexto a ser copiado.
+     */
+    void copiar(ContextoExecucao origem) {
+        
+        short branco = (short) tabela.getSimboloBranco();
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            short[] arranjo = origem.celulas[i];
+            if (celulas[i] == null || celulas[i].length < arranjo.length) {
+                celulas[i] = new short[arranjo.length];
+                Arrays.fill(celulas[i], branco);
+            } else {
+                Arrays.fill(celulas[i], origens[i] + inicios[i], origens[i] +
+                fins[i] + 1, branco);
+            }
+            // A cópia é centralizada no arranjo reaproveitado, como em
+            // reiniciar(String), para que ele não seja realocado a cada cópia.
+            origens[i] = origem.origens[i] + (celulas[i].length - arranjo.length) / 2;
+            inicios[i] = origem.inicios[i];
+            fins[i] = origem.fins[i];
+            cursores[i] = origem.cursores[i];
+            System.arraycopy(arranjo, origem.origens[i] + inicios[i], celulas[i],
+            origens[i] + inicios[i], fins[i] - inicios[i] + 1);
+        }
+        
+        palavra = origem.palavra;
+        estadoAtual = origem.estadoAtual;
+        entradaAtual = origem.entradaAtual;
+        emExecucao = origem.emExecucao;
+        aceita = origem.aceita;
+        numeroPassos = origem.numeroPassos;
+        indiceTransicao = origem.indiceTransicao;
+        hashFitas = origem.hashFitas;
+        
+        // Os passos do diário levam à configuração anterior, e não à copiada.
+        
+        if (diario != null) {
+            diario.limpar();
+        }
+        
+    }
+    
+    
+    /**
+     * Ativar ou desativar a detecção de ciclos em {@link #executar(long, long)}.
+     * Em máquinas com uma fita, são detectados também os ciclos transladados e
+     * os vaivéns (veja {@link DetectorTranslacao}).
+     * 
+     * @param ativa Se true, a detecção é ativada. Se false, é desativada.
+     */
+    public void setDetectorCiclos(boolean ativa) {
+        if (!ativa) {
+            detector = null;
+            detectorTranslacao = null;
+        } else if (detector == null) {
+            detector = new DetectorCiclos(tabela);
+            if (numeroFitas == 1) {
+                detectorTranslacao = new DetectorTranslacao(tabela);
+            }
+        }
+    }
+    
+    
+    /**
+     * Obter o detector de ciclos.
+     * 
+     * @return detector de ciclos, ou null, caso a detecção esteja desativada.
+     */
+    public DetectorCiclos getDetectorCiclos() {
+        return detector;
+    }
+    
+    
+    /**
+     * Ativar ou desativar o diário de passos, que permite desfazer os últimos
+     * passos executados (veja {@link #voltarPasso()}). O diário começa vazio,
+     * logo os passos executados antes da ativação não podem ser desfeitos.
+     * 
+     * @param janela número máximo de passos que podem ser desfeitos. Se menor
+     * ou igual a zero, o diário é desativado.
+     */
+    public void setJanelaDiario(int janela) {
+        diario = janela > 0 ? new DiarioPassos(tabela, janela) : null;
+    }
+    
+    
+    /**
+     * Obter o diário de passos.
+     * 
+     * @return diário de passos, ou null, caso ele esteja desativado.
+     */
+    public DiarioPassos getDiario() {
+        return diario;
+    }
+    
+    
+    /**
+     * Ativar ou desativar a linha do tempo, que guarda marcos da execução para
+     * que {@link #irParaPasso(long)} alcance qualquer passo sem repetir a
+     * execução desde o início. Se uma palavra já estiver carregada, o primeiro
+     * marco é a configuração atual.
+     * 
+     * @param ativa Se true, a linha do tempo é ativada. Se false, é desativada.
+     */
+    public void setLinhaTempo(boolean ativa) {
+        if (!ativa) {
+            linhaTempo = null;
+        } else if (linhaTempo == null) {
+            linhaTempo = new LinhaTempo(tabela);
+            if (palavra != null) {
+                linhaTempo.reiniciar(this);
+            }
+        }
+    }
+    
+    
+    /**
+     * Obter a linha do tempo.
+     * 
+     * @return linha do tempo, ou null, caso ela esteja desativada.
+     */
+    public LinhaTempo getLinhaTempo() {
+        return linhaTempo;
+    }
+    
+    
+    /**
+     * Definir os pontos de parada avaliados em {@link #executar(long, long)}.
+     * 
+     * @param pontosParada pontos de parada, compilados para a mesma tabela de
+     * transição deste contexto, ou null, para não haver pontos de parada.
+     * 
+     * @throws IllegalArgumentException pontos de parada de outra tabela.
+     */
+    public void setPontosParada(PontosParada pontosParada) {
+        if (pontosParada != null && pontosParada.getTabelaTransicao() != tabela) {
+            throw new IllegalArgumentException("Os pontos de parada pertencem a"
+            + " outra tabela de transição.");
+        }
+        this.pontosParada = pontosParada;
+    }
+    
+    
+    /**
+     * Obter os pontos de parada.
+     * 
+     * @return pontos de parada, ou null, caso não haja.
+     */
+    public PontosParada getPontosParada() {
+        return pontosParada;
+    }
+    
+    
+    /**
+     * Calcular a entrada da tabela para o estado atual e os símbolos sob os
+     * cursores das Cabeças de Leitura/Escrita.
+     * 
+     * @return entrada da tabela de transição.
+     */
+    private int lerEntrada() {
+        int entrada = 0;
+        int base = tabela.getBase();
+        for (int i = numeroFitas - 1; i >= 0; i--) {
+            entrada = entrada * base + celulas[i][origens[i] + cursores[i]];
+        }
+        return estadoAtual * tabela.getCombinacoes() + entrada;
+    }
+    
+    
+    /**
+     * Garantir que o arranjo de uma fita comporte as células visíveis. Caso
+     * não comporte, a capacidade do arranjo é dobrada no sentido em que a fita
+     * cresceu, e as novas células são preenchidas com o símbolo de branco.
+     * 
+     * @param fita índice da fita.
+     */
+    private void garantirCapacidade(int fita) {
+        
+        short[] arranjo = celulas[fita];
+        
+        int inicio = origens[fita] + inicios[fita];
+        int fim = origens[fita] + fins[fita];
+        
+        if (inicio >= 0 && fim < arranjo.length) return;
+        
+        int esquerda = inicio < 0 ? Math.max(arranjo.length, -inicio) : 0;
+        int direita = fim >= arranjo.length ? Math.max(arranjo.length,
+        fim - arranjo.length + 1) : 0;
+        
+        short[] novo = new short[arranjo.length + esquerda + direita];
+        
+        Arrays.fill(novo, (short) tabela.getSimboloBranco());
+        
+        System.arraycopy(arranjo, 0, novo, esquerda, arranjo.length);
+        
+        origens[fita] += esquerda;
+        celulas[fita] = novo;
+        
+    }
+    
+    
+    /**
+     * Obter a tabela de transição executada.
+     * 
+     * @return tabela de transição.
+     */
+    public TabelaTransicao getTabelaTransicao() {
+        return tabela;
+    }
+    
+    
+    /**
+     * Obter o número de fitas da máquina.
+     * 
+     * @return Número de fitas da máquina.
+     */
+    public int getNumeroFitas() {
+        return numeroFitas;
+    }
+    
+    
+    /**
+     * Obter o código do símbolo gravado em uma célula de uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param celula posição da célula, relativa à célula inicial, entre
+     * {@link #getInicio(int)} e {@link #getFim(int)}.
+     * 
+     * @return código do símbolo, conforme a tabela de transição.
+     */
+    public int getCodigo(int fita, int celula) {
+        return celulas[fita][origens[fita] + celula];
+    }
+    
+    
+    /**
+     * Obter o cursor da Cabeça de Leitura/Escrita de uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return cursor, relativo à célula inicial.
+     */
+    public int getCursor(int fita) {
+        return cursores[fita];
+    }
+    
+    
+    /**
+     * Obter a primeira célula visível de uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return posição da célula, relativa à célula inicial.
+     */
+    public int getInicio(int fita) {
+        return inicios[fita];
+    }
+    
+    
+    /**
+     * Obter a última célula visível de uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return posição da célula, relativa à célula inicial.
+     */
+    public int getFim(int fita) {
+        return fins[fita];
+    }
+    
+    
+    /**
+     * Obter o número de células visíveis de uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return número de células visíveis.
+     */
+    public int getComprimento(int fita) {
+        return fins[fita] - inicios[fita] + 1;
+    }
+    
+    
+    /**
+     * Obter o código do estado atual da Unidade de Controle.
+     * 
+     * @return código do estado atual.
+     */
+    public int getCodigoEstadoAtual() {
+        return estadoAtual;
+    }
+    
+    
+    /**
+     * Obter o estado atual da Unidade de Controle.
+     * 
+     * @return Estado atual da Unidade de Controle.
+     */
+    public Estado getEstadoAtual() {
+        return tabela.getEstado(estadoAtual);
+    }
+    
+    
+    /**
+     * Obter o índice da transição atual na função de transição.
+     * 
+     * @return índice da transição atual, ou -1, caso não haja transição
+     * definida.
+     */
+    public int getIndiceTransicao() {
+        return indiceTransicao;
+    }
+    
+    
+    /**
+     * Obter o número de passos da simulação.
+     * 
+     * @return Número de passos da simulação.
+     */
+    public long getNumeroPassos() {
+        return numeroPassos;
+    }
+    
+    
+    /**
+     * Obter a palavra de entrada.
+     * 
+     * @return palavra de entrada.
+     */
+    public String getPalavra() {
+        return palavra;
+    }
+    
+    
+    /**
+     * Status de palavra de entrada aceita.
+     * 
+     * @return Se true, a palavra foi aceita. Se false, a palavra foi rejeitada.
+     */
+    public boolean isAceita() {
+        return aceita;
+    }
+    
+    
+    /**
+     * Status de execução da simulação.
+     * 
+     * @return Se true, a simulação está em execução. Se false, a máquina parou.
+     */
+    public boolean isEmExecucao() {
+        return emExecucao;
+    }
+
+
+}
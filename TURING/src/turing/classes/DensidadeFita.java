@@ -0,0 +1,286 @@
+package turing.classes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Índice de densidade de uma {@link Fita}: conta, para cada símbolo, quantas
+ * células de cada trecho da fita o contêm. O arranjo da fita é dividido em
+ * blocos de {@link #TAMANHO_BLOCO} células, e as contagens dos blocos de cada
+ * símbolo são mantidas em uma árvore de Fenwick, atualizada pela própria fita a
+ * cada célula gravada. Com isso, as contagens de um trecho qualquer são obtidas
+ * em tempo logarítmico, sem percorrer as suas células, e uma visão geral da fita
+ * inteira, como um minimapa, custa apenas o número de trechos mostrados.
+ * 
+ * <br><br>
+ * 
+ * Apenas os símbolos diferentes do branco são contados: as células em branco
+ * de um trecho são as que restam. Quando a fita realoca o seu arranjo, as
+ * contagens são reconstruídas, com custo proporcional ao da cópia das células.
+ * 
+ * <br><br>
+ * 
+ * O índice é criado na primeira chamada de {@link Fita#getDensidade()}, logo
+ * uma fita que não o utiliza não paga o custo da sua atualização.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class DensidadeFita {
+    
+    
+    /**Número de células de cada bloco do arranjo da fita.*/
+    public static final int TAMANHO_BLOCO = 64;
+    
+    /**Fita indexada.*/
+    private final Fita fita;
+    
+    /**
+     * Árvores de Fenwick das contagens dos blocos, uma para cada código de
+     * símbolo, ou null para os códigos ainda não gravados e para o branco.
+     */
+    private int[][] arvores;
+    
+    /**Número de blocos do arranjo da fita.*/
+    private int numeroBlocos;
+    
+    
+    /**
+     * Constructor padrão. As contagens são construídas a partir das células
+     * atuais da fita.
+     * 
+     * @param fita fita indexada.
+     */
+    DensidadeFita(Fita fita) {
+        this.fita = fita;
+        reconstruir();
+    }
+    
+    
+    /**
+     * Constructor de cópia, para a cópia de uma fita. As contagens são copiadas
+     * do índice da fita original, que tem o mesmo arranjo.
+     * 
+     * @param fita cópia da fita indexada.
+     * 
+     * @param densidade índice da fita original.
+     */
+    DensidadeFita(Fita fita, DensidadeFita densidade) {
+        this.fita = fita;
+        this.numeroBlocos = densidade.numeroBlocos;
+        this.arvores = new int[densidade.arvores.length][];
+        for (int i = 0; i < arvores.length; i++) {
+            if (densidade.arvores[i] != null) {
+                arvores[i] = densidade.arvores[i].clone();
+            }
+        }
+    }
+    
+    
+    /**
+     * Reconstruir as contagens a partir de todas as células do arranjo da fita.
+     * Chamado pela fita quando o arranjo é realocado ou limpo.
+     */
+    void reconstruir() {
+        
+        int capacidade = fita.getCapacidade();
+        
+        numeroBlocos = (capacidade + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        arvores = new int[fita.getNumeroCodigos()][];
+        
+        int branco = fita.getCodigoBranco();
+        
+        // As contagens de cada bloco são acumuladas na posição do bloco, e a
+        // árvore é construída em tempo linear a partir delas.
+        
+        for (int posicao = 0; posicao < capacidade; posicao++) {
+            int codigo = fita.getCodigoPosicao(posicao);
+            if (codigo != branco) {
+                getArvore(codigo)[posicao / TAMANHO_BLOCO + 1]++;
+            }
+        }
+        
+        for (int[] arvore : arvores) {
+            if (arvore != null) {
+                for (int i = 1; i <= numeroBlocos; i++) {
+                    int pai = i + (i & -i);
+                    if (pai <= numeroBlocos) arvore[pai] += arvore[i];
+                }
+            }
+        }
+        
+    }
+    
+    
+    /**
+     * Atualizar as contagens após a gravação de uma célula. Chamado pela fita.
+     * 
+     * @param posicao posição da célula no arranjo da fita.
+     * 
+     * @param anterior código gravado antes na célula.
+     * 
+     * @param codigo código gravado na célula.
+     */
+    void atualizar(int posicao, int anterior, int codigo) {
+        
+        if (anterior == codigo) return;
+        
+        int branco = fita.getCodigoBranco();
+        int bloco = posicao / TAMANHO_BLOCO + 1;
+        
+        if (anterior != branco) somar(getArvore(anterior), bloco, -1);
+        if (codigo != branco) somar(getArvore(codigo), bloco, 1);
+        
+    }
+    
+    
+    /**
+     * Obter a árvore de um código, criando-a se necessário.
+     * 
+     * @param codigo código do símbolo.
+     * 
+     * @return árvore de Fenwick das contagens do código.
+     */
+    private int[] getArvore(int codigo) {
+        if (codigo >= arvores.length) {
+            arvores = Arrays.copyOf(arvores, codigo + 1);
+        }
+        if (arvores[codigo] == null) {
+            arvores[codigo] = new int[numeroBlocos + 1];
+        }
+        return arvores[codigo];
+    }
+    
+    
+    /**
+     * Somar um valor à contagem de um bloco.
+     * 
+     * @param arvore árvore de Fenwick.
+     * 
+     * @param bloco índice do bloco, a partir de 1.
+     * 
+     * @param valor valor somado.
+     */
+    private void somar(int[] arvore, int bloco, int valor) {
+        for (int i = bloco; i <= numeroBlocos; i += i & -i) {
+            arvore[i] += valor;
+        }
+    }
+    
+    
+    /**
+     * Obter a soma das contagens dos primeiros blocos.
+     * 
+     * @param arvore árvore de Fenwick.
+     * 
+     * @param blocos número de blocos somados.
+     * 
+     * @return soma das contagens.
+     */
+    private static int somarAte(int[] arvore, int blocos) {
+        int soma = 0;
+        for (int i = blocos; i > 0; i -= i & -i) {
+            soma += arvore[i];
+        }
+        return soma;
+    }
+    
+    
+    /**
+     * Contar os símbolos gravados em um trecho da fita. Os blocos inteiros do
+     * trecho são contados pelas árvores, e apenas as células das extremidades
+     * que não completam um bloco são lidas da fita.
+     * 
+     * @param de índice da primeira célula do trecho, inclusive.
+     * 
+     * @param ate índice da última célula do trecho, exclusive.
+     * 
+     * @param contagens arranjo preenchido com o número de células de cada
+     * código, inclusive o do branco. Deve ter ao menos
+     * {@link #getNumeroCodigos()} posições.
+     * 
+     * @throws IndexOutOfBoundsException trecho fora da fita.
+     */
+    public void contar(int de, int ate, int[] contagens) {
+        
+        Objects.checkFromToIndex(de, ate, fita.getComprimento());
+        Arrays.fill(contagens, 0, getNumeroCodigos(), 0);
+        
+        int branco = fita.getCodigoBranco();
+        int inicio = fita.getPosicao(de);
+        int fim = fita.getPosicao(ate);
+        
+        int primeiroBloco = (inicio + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        int ultimoBloco = fim / TAMANHO_BLOCO;
+        
+        if (primeiroBloco >= ultimoBloco) {
+            
+            contarCelulas(inicio, fim, contagens);
+            
+        } else {
+            
+            contarCelulas(inicio, primeiroBloco * TAMANHO_BLOCO, contagens);
+            contarCelulas(ultimoBloco * TAMANHO_BLOCO, fim, contagens);
+            
+            for (int codigo = 0; codigo < arvores.length; codigo++) {
+                if (arvores[codigo] != null) {
+                    contagens[codigo] += somarAte(arvores[codigo], ultimoBloco)
+                    - somarAte(arvores[codigo], primeiroBloco);
+                }
+            }
+            
+        }
+        
+        int naoBrancos = 0;
+        
+        for (int codigo = 0; codigo < getNumeroCodigos(); codigo++) {
+            if (codigo != branco) naoBrancos += contagens[codigo];
+        }
+        
+        contagens[branco] = ate - de - naoBrancos;
+        
+    }
+    
+    
+    /**
+     * Contar os símbolos diferentes do branco gravados em um trecho do arranjo
+     * da fita, lendo cada célula.
+     * 
+     * @param inicio primeira posição no arranjo, inclusive.
+     * 
+     * @param fim última posição no arranjo, exclusive.
+     * 
+     * @param contagens arranjo em que as contagens são somadas.
+     */
+    private void contarCelulas(int inicio, int fim, int[] contagens) {
+        int branco = fita.getCodigoBranco();
+        for (int posicao = inicio; posicao < fim; posicao++) {
+            int codigo = fita.getCodigoPosicao(posicao);
+            if (codigo != branco) contagens[codigo]++;
+        }
+    }
+    
+    
+    /**
+     * Obter o número de códigos de símbolos da fita, que é o tamanho mínimo do
+     * arranjo de contagens de {@link #contar(int, int, int[])}.
+     * 
+     * @return número de códigos.
+     */
+    public int getNumeroCodigos() {
+        return fita.getNumeroCodigos();
+    }
+    
+    
+    /**
+     * Obter a fita indexada.
+     * 
+     * @return fita.
+     */
+    public Fita getFita() {
+        return fita;
+    }
+
+
+}
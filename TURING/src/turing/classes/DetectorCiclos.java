@@ -0,0 +1,219 @@
+package turing.classes;
+
+/**
+ * Detector de ciclos de uma execução de um programa compilado. Uma máquina de
+ * Turing determinística que repete uma configuração (estado da Unidade de
+ * Controle, cursores e conteúdo das fitas) repete também todos os passos
+ * seguintes, e portanto nunca para.
+ * 
+ * <br><br>
+ * 
+ * A repetição é procurada pelo algoritmo de Brent: a configuração é guardada em
+ * um marco nas iterações que são potências de 2, e cada nova configuração é
+ * comparada com o marco. A comparação usa o hash incremental de
+ * {@link ContextoExecucao#getHashConfiguracao()}, logo cada iteração custa O(1),
+ * e apenas quando os hashes coincidem as fitas são comparadas célula a célula.
+ * Com isso, um ciclo só é informado quando a repetição é comprovada.
+ * 
+ * <br><br>
+ * 
+ * Encontrada a repetição, a diferença de passos entre o marco e a configuração
+ * atual é um múltiplo do período do ciclo. O passo em que a execução entra no
+ * ciclo é localizado repetindo-se a execução da palavra em dois contextos, um
+ * deles adiantado dessa diferença, até que as suas configurações coincidam. A
+ * partir desse passo, a execução é repetida até a configuração voltar, o que
+ * fornece o período exato do ciclo.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class DetectorCiclos {
+    
+    
+    /**Tabela de transição executada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Configuração guardada no último marco.*/
+    private final ContextoExecucao marco;
+    
+    /**Contexto atrasado, usado na localização do início do ciclo.*/
+    private ContextoExecucao atrasado;
+    
+    /**Contexto adiantado, usado na localização do início do ciclo.*/
+    private ContextoExecucao adiantado;
+    
+    /**Hash da configuração guardada no marco.*/
+    private long hashMarco;
+    
+    /**Número de iterações entre dois marcos.*/
+    private long potencia;
+    
+    /**Número de iterações desde o último marco.*/
+    private long iteracoes;
+    
+    /**Passo em que a execução entra no ciclo, ou -1.*/
+    private long inicioCiclo;
+    
+    /**Período do ciclo, em passos, ou -1.*/
+    private long periodoCiclo;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param tabela tabela de transição executada.
+     */
+    public DetectorCiclos(TabelaTransicao tabela) {
+        this.tabela = tabela;
+        this.marco = new ContextoExecucao(tabela);
+        this.inicioCiclo = -1;
+        this.periodoCiclo = -1;
+    }
+    
+    
+    /**
+     * Iniciar a detecção a partir da configuração atual de um contexto.
+     * 
+     * @param contexto contexto em execução.
+     */
+    public void iniciar(ContextoExecucao contexto) {
+        marco.copiar(contexto);
+        hashMarco = contexto.getHashConfiguracao();
+        potencia = 1;
+        iteracoes = 0;
+        inicioCiclo = -1;
+        periodoCiclo = -1;
+    }
+    
+    
+    /**
+     * Verificar a configuração atual de um contexto, após uma iteração da
+     * execução.
+     * 
+     * @param contexto contexto em execução.
+     * 
+     * @return Se true, a configuração repete a do marco, e a máquina não para.
+     * Se false, ainda não foi encontrado um ciclo.
+     */
+    public boolean verificar(ContextoExecucao contexto) {
+        
+        long hash = contexto.getHashConfiguracao();
+        
+        if (hash == hashMarco && contexto.isMesmaConfiguracao(marco)) {
+            localizarCiclo(contexto, contexto.getNumeroPassos() -
+            marco.getNumeroPassos());
+            return true;
+        }
+        
+        if (++iteracoes == potencia) {
+            marco.copiar(contexto);
+            hashMarco = hash;
+            potencia <<= 1;
+            iteracoes = 0;
+        }
+        
+        return false;
+        
+    }
+    
+    
+    /**
+     * Localizar o passo em que a execução de uma palavra entra no ciclo e o
+     * período do ciclo. Um contexto é adiantado de um múltiplo do período, e os
+     * dois contextos são executados passo a passo até que as suas configurações
+     * coincidam. Em seguida, o contexto adiantado parte da configuração de
+     * entrada no ciclo e é executado até que ela se repita.
+     * 
+     * <br><br>
+     * 
+     * Se o contexto em execução tiver uma linha do tempo, o contexto adiantado
+     * parte do marco mais próximo anterior ao múltiplo, e não do início. O
+     * contexto atrasado parte sempre do início, pois a execução pode entrar no
+     * ciclo em qualquer passo anterior ao múltiplo.
+     * 
+     * @param contexto contexto em execução.
+     * 
+     * @param multiplo múltiplo do período do ciclo, em passos.
+     */
+    private void localizarCiclo(ContextoExecucao contexto, long multiplo) {
+        
+        if (atrasado == null) {
+            atrasado = new ContextoExecucao(tabela);
+            adiantado = new ContextoExecucao(tabela);
+        }
+        
+        atrasado.reiniciar(contexto.getPalavra());
+        adiantado.reiniciar(contexto.getPalavra());
+        
+        LinhaTempo linhaTempo = contexto.getLinhaTempo();
+        
+        ContextoExecucao marcoLinha = linhaTempo != null ?
+        linhaTempo.getMarco(multiplo) : null;
+        
+        if (marcoLinha != null && marcoLinha.getNumeroPassos() <= multiplo) {
+            adiantado.copiar(marcoLinha);
+        }
+        
+        while (adiantado.getNumeroPassos() < multiplo) {
+            adiantado.executarPasso();
+        }
+        
+        while (!isMesmaConfiguracao(atrasado, adiantado)) {
+            atrasado.executarPasso();
+            adiantado.executarPasso();
+        }
+        
+        adiantado.copiar(atrasado);
+        
+        do {
+            adiantado.executarPasso();
+        } while (!isMesmaConfiguracao(atrasado, adiantado));
+        
+        inicioCiclo = atrasado.getNumeroPassos();
+        periodoCiclo = adiantado.getNumeroPassos() - inicioCiclo;
+        
+    }
+    
+    
+    /**
+     * Comparar as configurações de dois contextos, primeiro pelos hashes e,
+     * apenas se eles coincidirem, célula a célula.
+     * 
+     * @param contexto1 primeiro contexto.
+     * 
+     * @param contexto2 segundo contexto.
+     * 
+     * @return Se true, as configurações são iguais. Se false, são diferentes.
+     */
+    private static boolean isMesmaConfiguracao(ContextoExecucao contexto1,
+    ContextoExecucao contexto2) {
+        return contexto1.getHashConfiguracao() == contexto2.getHashConfiguracao()
+        && contexto1.isMesmaConfiguracao(contexto2);
+    }
+    
+    
+    /**
+     * Obter o passo em que a execução entra no ciclo, isto é, o primeiro passo
+     * cuja configuração se repete.
+     * 
+     * @return passo de início do ciclo, ou -1, caso não tenha sido encontrado
+     * um ciclo.
+     */
+    public long getInicioCiclo() {
+        return inicioCiclo;
+    }
+    
+    
+    /**
+     * Obter o período do ciclo, isto é, o número de passos entre duas
+     * repetições de uma configuração.
+     * 
+     * @return período do ciclo, ou -1, caso não tenha sido encontrado um ciclo.
+     */
+    public long getPeriodoCiclo() {
+        return periodoCiclo;
+    }
+
+
+}
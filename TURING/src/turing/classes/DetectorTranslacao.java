@@ -0,0 +1,732 @@
+package turing.classes;
+
+import java.util.Arrays;
+
+/**
+ * Detector de execuções que não param, mas também não repetem uma configuração,
+ * pois a fita cresce indefinidamente. São reconhecidos dois padrões, em máquinas
+ * com uma fita:
+ * 
+ * <br><br>
+ * 
+ * <b>Ciclo transladado:</b> a máquina repete o mesmo comportamento enquanto se
+ * desloca pela fita. Sempre que a Cabeça de Leitura/Escrita alcança uma
+ * extremidade da fita, a fita é guardada em um recorde. Se dois recordes da
+ * mesma extremidade têm o mesmo estado, e as células entre o recorde e a
+ * posição mais afastada visitada pela cabeça desde o recorde anterior são
+ * iguais nos dois, o trecho entre eles se repete indefinidamente, deslocado.
+ * 
+ * <br><br>
+ * 
+ * <b>Vaivém:</b> a máquina vai e volta entre as extremidades de uma fita que
+ * cresce linearmente. Três recordes da mesma extremidade e do mesmo estado
+ * sugerem uma fórmula para a fita, na forma L W<sup>n</sup> R, em que o bloco W
+ * ganha uma repetição a cada volta. A fórmula é então provada por simulação
+ * simbólica: as células de L e de R são simuladas normalmente, e W<sup>n</sup>
+ * é atravessado de uma só vez, desde que a cabeça atravesse um único bloco W e
+ * saia pelo lado oposto no mesmo estado em que entrou. Se a simulação leva de
+ * L W<sup>n</sup> R a L W<sup>n+1</sup> R, para qualquer n, a máquina não para.
+ * 
+ * <br><br>
+ * 
+ * Em ambos os casos, a máquina só é classificada quando a repetição é provada.
+ * Os recordes guardam a fita inteira, logo, enquanto ela tem até
+ * {@link #LIMITE_JANELA} células, cada crescimento da fita custa uma cópia e
+ * comparações proporcionais ao seu comprimento. Se a fita ficar maior que
+ * {@link #LIMITE_JANELA} células, os recordes deixam de ser guardados e
+ * comparados, e o detector passa a custar apenas a verificação das
+ * extremidades. A prova de um vaivém simula no máximo tantos passos simbólicos
+ * quanto a máquina executou na última volta, e nunca mais que
+ * {@link #LIMITE_PASSOS_SIMBOLICOS}, logo as provas não custam mais que a
+ * própria execução.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class DetectorTranslacao {
+    
+    
+    /**Número de recordes guardados para cada extremidade da fita.*/
+    private static final int TAMANHO_HISTORICO = 16;
+    
+    /**Número máximo de células guardadas em um recorde.*/
+    public static final int LIMITE_JANELA = 1 << 14;
+    
+    /**
+     * Número máximo de passos da simulação simbólica de uma volta, inclusive
+     * os das travessias de W<sup>n</sup>.
+     */
+    private static final int LIMITE_PASSOS_SIMBOLICOS = 1 << 20;
+    
+    /**Tabela de transição executada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Código do símbolo de branco.*/
+    private final int branco;
+    
+    /**Recordes da extremidade direita da fita.*/
+    private final Extremidade direita;
+    
+    /**Recordes da extremidade esquerda da fita.*/
+    private final Extremidade esquerda;
+    
+    /**Padrão reconhecido, ou null.*/
+    private StatusExecucao status;
+    
+    /**Passo a partir do qual a máquina repete o padrão, ou -1.*/
+    private long inicio;
+    
+    /**Período do ciclo transladado, em passos, ou -1.*/
+    private long periodo;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param tabela tabela de transição executada.
+     * 
+     * @throws IllegalArgumentException máquina com mais de uma fita.
+     */
+    public DetectorTranslacao(TabelaTransicao tabela) {
+        if (tabela.getNumeroFitas() != 1) {
+            throw new IllegalArgumentException(
+                "A detecção de ciclos transladados suporta apenas máquinas com uma fita."
+            );
+        }
+        this.tabela = tabela;
+        this.branco = tabela.getSimboloBranco();
+        this.direita = new Extremidade(1);
+        this.esquerda = new Extremidade(-1);
+        this.inicio = -1;
+        this.periodo = -1;
+    }
+    
+    
+    /**
+     * Iniciar a detecção a partir da configuração atual de um contexto.
+     * 
+     * @param contexto contexto em execução.
+     */
+    public void iniciar(ContextoExecucao contexto) {
+        direita.iniciar(contexto);
+        esquerda.iniciar(contexto);
+        status = null;
+        inicio = -1;
+        periodo = -1;
+    }
+    
+    
+    /**
+     * Verificar a configuração atual de um contexto, após uma iteração da
+     * execução. Os recordes são guardados e comparados apenas quando a fita
+     * cresce.
+     * 
+     * @param contexto contexto em execução.
+     * 
+     * @return Se true, foi provado que a máquina não para, e o padrão é dado
+     * por {@link #getStatus()}. Se false, nenhum padrão foi reconhecido.
+     */
+    public boolean verificar(ContextoExecucao contexto) {
+        return direita.verificar(contexto) || esquerda.verificar(contexto);
+    }
+    
+    
+    /**
+     * Obter o padrão reconhecido.
+     * 
+     * @return {@link StatusExecucao#CICLO_TRANSLADADO} ou
+     * {@link StatusExecucao#VAIVEM}, ou null, caso nenhum padrão tenha sido
+     * reconhecido.
+     */
+    public StatusExecucao getStatus() {
+        return status;
+    }
+    
+    
+    /**
+     * Obter o passo a partir do qual a máquina repete o padrão.
+     * 
+     * @return passo de início, ou -1, caso nenhum padrão tenha sido reconhecido.
+     */
+    public long getInicio() {
+        return inicio;
+    }
+    
+    
+    /**
+     * Obter o período do ciclo transladado, isto é, o número de passos entre
+     * duas repetições deslocadas da configuração. No vaivém, o período cresce a
+     * cada volta, e não é informado.
+     * 
+     * @return período do ciclo, ou -1.
+     */
+    public long getPeriodo() {
+        return periodo;
+    }
+    
+    
+    /**
+     * Verificar se dois trechos de arranjos são iguais.
+     * 
+     * @param a primeiro arranjo.
+     * 
+     * @param inicioA início do trecho no primeiro arranjo.
+     * 
+     * @param b segundo arranjo.
+     * 
+     * @param inicioB início do trecho no segundo arranjo.
+     * 
+     * @param comprimento comprimento dos trechos.
+     * 
+     * @return Se true, os trechos são iguais. Se false, são diferentes.
+     */
+    private static boolean isIgual(short[] a, int inicioA, short[] b, int inicioB,
+    int comprimento) {
+        return Arrays.equals(a, inicioA, inicioA + comprimento, b, inicioB,
+        inicioB + comprimento);
+    }
+    
+    
+    /**
+     * Verificar se uma fita é igual a L W<sup>n</sup> R.
+     * 
+     * @param fita fita, sem brancos à esquerda.
+     * 
+     * @param tamanho número de células da fita.
+     * 
+     * @param l trecho L.
+     * 
+     * @param w bloco W.
+     * 
+     * @param n número de repetições de W.
+     * 
+     * @param r trecho R.
+     * 
+     * @return Se true, a fita é igual à fórmula. Se false, é diferente.
+     */
+    private static boolean isFormula(short[] fita, int tamanho, short[] l, short[] w,
+    int n, short[] r) {
+        if (n < 0 || tamanho != l.length + n * w.length + r.length) return false;
+        if (!isIgual(fita, 0, l, 0, l.length)) return false;
+        int posicao = l.length;
+        for (int i = 0; i < n; i++, posicao += w.length) {
+            if (!isIgual(fita, posicao, w, 0, w.length)) return false;
+        }
+        return isIgual(fita, posicao, r, 0, r.length);
+    }
+    
+    
+    /**
+     * Recordes de uma extremidade da fita. As fitas dos recordes são guardadas
+     * orientadas no sentido da extremidade: na extremidade esquerda, a fita é
+     * invertida, e os movimentos da máquina também. Assim, nos dois casos, a
+     * cabeça está na última célula guardada, e todas as células à sua frente
+     * são brancas.
+     */
+    private class Extremidade {
+        
+        
+        /**Sentido da extremidade: 1 para a direita e -1 para a esquerda.*/
+        private final int sinal;
+        
+        /**Estado de cada recorde.*/
+        private final int[] estados;
+        
+        /**Passo de cada recorde.*/
+        private final long[] passos;
+        
+        /**Posição orientada da cabeça em cada recorde.*/
+        private final int[] posicoes;
+        
+        /**Menor posição orientada da cabeça desde cada recorde.*/
+        private final int[] recuos;
+        
+        /**Células guardadas em cada recorde, terminando na posição da cabeça.*/
+        private final short[][] celulas;
+        
+        /**Número de células guardadas em cada recorde.*/
+        private final int[] tamanhos;
+        
+        /**Número de recordes registrados desde o início da detecção.*/
+        private int total;
+        
+        /**Última célula visível da fita, em posição orientada.*/
+        private int borda;
+        
+        /**Menor posição orientada da cabeça desde o último recorde.*/
+        private int recuo;
+        
+        /**Passos simbólicos restantes na prova de vaivém em andamento.*/
+        private int orcamento;
+        
+        
+        /**
+         * Constructor padrão.
+         * 
+         * @param sinal sentido da extremidade.
+         */
+        Extremidade(int sinal) {
+            this.sinal = sinal;
+            this.estados = new int[TAMANHO_HISTORICO];
+            this.passos = new long[TAMANHO_HISTORICO];
+            this.posicoes = new int[TAMANHO_HISTORICO];
+            this.recuos = new int[TAMANHO_HISTORICO];
+            this.celulas = new short[TAMANHO_HISTORICO][];
+            this.tamanhos = new int[TAMANHO_HISTORICO];
+        }
+        
+        
+        /**
+         * Iniciar os recordes a partir da configuração atual de um contexto.
+         * 
+         * @param contexto contexto em execução.
+         */
+        void iniciar(ContextoExecucao contexto) {
+            total = 0;
+            borda = getBorda(contexto);
+            recuo = sinal * contexto.getCursor(0);
+        }
+        
+        
+        /**
+         * Obter a última célula visível da fita, em posição orientada.
+         * 
+         * @param contexto contexto em execução.
+         * 
+         * @return última célula visível.
+         */
+        private int getBorda(ContextoExecucao contexto) {
+            return sinal > 0 ? contexto.getFim(0) : -contexto.getInicio(0);
+        }
+        
+        
+        /**
+         * Verificar a configuração atual. Se a fita cresceu nesta extremidade,
+         * um novo recorde é registrado e comparado com os anteriores.
+         * 
+         * @param contexto contexto em execução.
+         * 
+         * @return Se true, foi provado que a máquina não para.
+         */
+        boolean verificar(ContextoExecucao contexto) {
+            
+            int posicao = sinal * contexto.getCursor(0);
+            
+            if (posicao < recuo) recuo = posicao;
+            
+            int novaBorda = getBorda(contexto);
+            
+            if (novaBorda == borda) return false;
+            
+            // A fita só cresce quando a cabeça passa da última célula visível,
+            // logo a célula sob a cabeça e as seguintes são brancas.
+            
+            borda = novaBorda;
+            
+            int registrados = Math.min(total, TAMANHO_HISTORICO);
+            
+            for (int k = 0; k < registrados; k++) {
+                if (recuo < recuos[k]) recuos[k] = recuo;
+            }
+            
+            recuo = posicao;
+            
+            int primeira = sinal > 0 ? contexto.getInicio(0) : -contexto.getFim(0);
+            int tamanho = posicao - primeira + 1;
+            
+            // A fita não encolhe durante a execução, logo, além do limite,
+            // nenhum recorde é guardado, e cada crescimento custa apenas a
+            // atualização dos recuos.
+            
+            if (tamanho > LIMITE_JANELA) return false;
+            
+            int j = total % TAMANHO_HISTORICO;
+            
+            if (celulas[j] == null || celulas[j].length < tamanho) {
+                celulas[j] = new short[Math.max(tamanho, 64)];
+            }
+            
+            for (int k = 0; k < tamanho; k++) {
+                celulas[j][k] = (short) contexto.getCodigo(0, sinal * (primeira + k));
+            }
+            
+            estados[j] = contexto.getCodigoEstadoAtual();
+            passos[j] = contexto.getNumeroPassos();
+            posicoes[j] = posicao;
+            recuos[j] = posicao;
+            tamanhos[j] = tamanho;
+            
+            total++;
+            
+            return verificarTranslacao(j) || verificarVaivem(j);
+            
+        }
+        
+        
+        /**
+         * Comparar o último recorde com os anteriores do mesmo estado, em
+         * busca de um ciclo transladado.
+         * 
+         * @param j posição do último recorde no histórico.
+         * 
+         * @return Se true, foi encontrado um ciclo transladado.
+         */
+        private boolean verificarTranslacao(int j) {
+            
+            int registrados = Math.min(total, TAMANHO_HISTORICO);
+            
+            for (int i = 0; i < registrados; i++) {
+                
+                if (i == j || estados[i] != estados[j]) continue;
+                
+                // Entre os dois recordes, a cabeça não recua além de recuos[i].
+                // O comportamento entre eles depende apenas das células desde
+                // essa posição até o recorde, pois à frente há apenas brancos.
+                
+                int janela = posicoes[j] - recuos[i] + 1;
+                
+                boolean igual = true;
+                
+                for (int d = 0; d < janela && igual; d++) {
+                    igual = getCelula(i, d) == getCelula(j, d);
+                }
+                
+                if (igual) {
+                    status = StatusExecucao.CICLO_TRANSLADADO;
+                    inicio = passos[i];
+                    periodo = passos[j] - passos[i];
+                    return true;
+                }
+                
+            }
+            
+            return false;
+            
+        }
+        
+        
+        /**
+         * Obter uma célula de um recorde, contada a partir da cabeça, para
+         * trás. Os recordes guardam todas as células visíveis da fita, logo
+         * antes delas há apenas brancos.
+         * 
+         * @param i posição do recorde no histórico.
+         * 
+         * @param distancia distância da célula à cabeça.
+         * 
+         * @return código do símbolo.
+         */
+        private int getCelula(int i, int distancia) {
+            int k = tamanhos[i] - 1 - distancia;
+            return k >= 0 ? celulas[i][k] : branco;
+        }
+        
+        
+        /**
+         * Comparar o último recorde com os dois anteriores do mesmo estado, em
+         * busca de um vaivém.
+         * 
+         * @param j posição do último recorde no histórico.
+         * 
+         * @return Se true, foi provado um vaivém.
+         */
+        private boolean verificarVaivem(int j) {
+            
+            int i2 = -1;
+            int i1 = -1;
+            
+            for (int k = 1; k < Math.min(total, TAMANHO_HISTORICO); k++) {
+                int i = Math.floorMod(j - k, TAMANHO_HISTORICO);
+                if (estados[i] == estados[j]) {
+                    if (i2 < 0) {
+                        i2 = i;
+                    } else {
+                        i1 = i;
+                        break;
+                    }
+                }
+            }
+            
+            if (i1 < 0) return false;
+            
+            short[] t1 = aparar(i1);
+            short[] t2 = aparar(i2);
+            short[] t3 = aparar(j);
+            
+            int d = t3.length - t2.length;
+            
+            if (d <= 0 || t2.length - t1.length != d) return false;
+            
+            // O bloco W é o trecho inserido entre o penúltimo e o último
+            // recorde, e a sequência de W é estendida para os dois lados.
+            
+            int a = Arrays.mismatch(t2, t3);
+            
+            if (a < 0 || a + d >= t3.length) return false;
+            
+            if (!isIgual(t3, a + d, t2, a, t2.length - a)) return false;
+            
+            short[] w = Arrays.copyOfRange(t3, a, a + d);
+            
+            int inicioW = a;
+            int fimW = a + d;
+            
+            while (inicioW >= d && isIgual(t3, inicioW - d, w, 0, d)) {
+                inicioW -= d;
+            }
+            
+            while (fimW + d < t3.length && isIgual(t3, fimW, w, 0, d)) {
+                fimW += d;
+            }
+            
+            int n = (fimW - inicioW) / d;
+            
+            short[] l = Arrays.copyOfRange(t3, 0, inicioW);
+            short[] r = Arrays.copyOfRange(t3, fimW, t3.length);
+            
+            if (!isFormula(t2, t2.length, l, w, n - 1, r) ||
+            !isFormula(t1, t1.length, l, w, n - 2, r)) {
+                return false;
+            }
+            
+            // A volta simulada é a seguinte à última volta executada, que
+            // atravessou W^(n-1) por inteiro, logo a prova não precisa de
+            // mais passos do que ela.
+            
+            int limite = (int) Math.min(LIMITE_PASSOS_SIMBOLICOS, passos[j] - passos[i2]);
+            
+            if (provarVaivem(estados[j], l, w, r, limite)) {
+                status = StatusExecucao.VAIVEM;
+                inicio = passos[j];
+                periodo = -1;
+                return true;
+            }
+            
+            return false;
+            
+        }
+        
+        
+        /**
+         * Obter as células de um recorde sem os brancos do início.
+         * 
+         * @param i posição do recorde no histórico.
+         * 
+         * @return células do recorde.
+         */
+        private short[] aparar(int i) {
+            int k = 0;
+            while (k < tamanhos[i] - 1 && celulas[i][k] == branco) k++;
+            return Arrays.copyOfRange(celulas[i], k, tamanhos[i]);
+        }
+        
+        
+        /**
+         * Provar, por simulação simbólica, que a fita L W<sup>n</sup> R, com a
+         * cabeça na última célula de R, leva à fita L W<sup>n+1</sup> R, com
+         * a cabeça na mesma posição relativa e no mesmo estado, para qualquer n.
+         * 
+         * <br><br>
+         * 
+         * As células de L são guardadas em ordem inversa, a partir da
+         * fronteira com W<sup>n</sup>, para que as duas partes cresçam pelo
+         * fim do arranjo.
+         * 
+         * @param estadoInicial estado da máquina no recorde.
+         * 
+         * @param l trecho L.
+         * 
+         * @param w bloco W.
+         * 
+         * @param r trecho R.
+         * 
+         * @param limite número máximo de passos simbólicos, inclusive os das
+         * travessias de W<sup>n</sup>.
+         * 
+         * @return Se true, a fórmula foi provada. Se false, a prova falhou ou
+         * excedeu o limite de passos.
+         */
+        private boolean provarVaivem(int estadoInicial, short[] l, short[] w, short[] r,
+        int limite) {
+            
+            orcamento = limite;
+            
+            short[] esquerdo = new short[l.length + 16];
+            short[] direito = new short[r.length + 16];
+            short[] bloco = w.clone();
+            
+            for (int k = 0; k < l.length; k++) {
+                esquerdo[k] = l[l.length - 1 - k];
+            }
+            
+            System.arraycopy(r, 0, direito, 0, r.length);
+            
+            int tamanhoEsquerdo = l.length;
+            int tamanhoDireito = r.length;
+            boolean ladoDireito = true;
+            int indice = r.length - 1;
+            int estado = estadoInicial;
+            
+            while (orcamento-- > 0) {
+                
+                short[] arranjo = ladoDireito ? direito : esquerdo;
+                
+                int entrada = estado * tabela.getCombinacoes() + arranjo[indice];
+                int proximo = tabela.getProximoEstado(entrada);
+                
+                if (proximo == TabelaTransicao.INDEFINIDO || tabela.isTerminal(proximo)) {
+                    return false;
+                }
+                
+                arranjo[indice] = (short) tabela.getSimboloGravado(entrada, 0);
+                estado = proximo;
+                
+                // No lado esquerdo, o índice cresce para a esquerda.
+                
+                int movimento = sinal * tabela.getMovimento(entrada, 0);
+                
+                if (movimento == 0) continue;
+                
+                if (!ladoDireito) movimento = -movimento;
+                
+                if (indice + movimento < 0) {
+                    // A cabeça entra em W^n pela fronteira.
+                    if (!atravessar(bloco, estado, ladoDireito)) return false;
+                    ladoDireito = !ladoDireito;
+                    indice = 0;
+                    if (ladoDireito && tamanhoDireito == 0) {
+                        direito[tamanhoDireito++] = (short) branco;
+                    } else if (!ladoDireito && tamanhoEsquerdo == 0) {
+                        esquerdo[tamanhoEsquerdo++] = (short) branco;
+                    }
+                } else {
+                    indice += movimento;
+                    if (ladoDireito && indice == tamanhoDireito) {
+                        if (tamanhoDireito == direito.length) {
+                            direito = Arrays.copyOf(direito, tamanhoDireito * 2);
+                        }
+                        direito[tamanhoDireito++] = (short) branco;
+                    } else if (!ladoDireito && indice == tamanhoEsquerdo) {
+                        if (tamanhoEsquerdo == esquerdo.length) {
+                            esquerdo = Arrays.copyOf(esquerdo, tamanhoEsquerdo * 2);
+                        }
+                        esquerdo[tamanhoEsquerdo++] = (short) branco;
+                    }
+                }
+                
+                if (ladoDireito && estado == estadoInicial && indice == tamanhoDireito - 1
+                && isVoltaCompleta(esquerdo, tamanhoEsquerdo, bloco, direito,
+                tamanhoDireito, l, w, r)) {
+                    return true;
+                }
+                
+            }
+            
+            return false;
+            
+        }
+        
+        
+        /**
+         * Atravessar W<sup>n</sup> de uma só vez. Um único bloco W é simulado
+         * a partir da fronteira por onde a cabeça entrou; se a cabeça sair pelo
+         * lado oposto, no mesmo estado em que entrou, o mesmo ocorre com cada
+         * um dos n blocos, qualquer que seja n.
+         * 
+         * @param bloco bloco W, alterado para o resultado da travessia.
+         * 
+         * @param estado estado em que a cabeça entra em W^n.
+         * 
+         * @param daDireita Se true, a cabeça entra pela direita. Se false, pela
+         * esquerda.
+         * 
+         * @return Se true, a travessia foi feita. Se false, a cabeça não
+         * atravessa o bloco da forma esperada, ou a prova excedeu o limite de
+         * passos.
+         */
+        private boolean atravessar(short[] bloco, int estado, boolean daDireita) {
+            
+            int posicao = daDireita ? bloco.length - 1 : 0;
+            int atual = estado;
+            
+            while (orcamento-- > 0) {
+                
+                int entrada = atual * tabela.getCombinacoes() + bloco[posicao];
+                int proximo = tabela.getProximoEstado(entrada);
+                
+                if (proximo == TabelaTransicao.INDEFINIDO || tabela.isTerminal(proximo)) {
+                    return false;
+                }
+                
+                bloco[posicao] = (short) tabela.getSimboloGravado(entrada, 0);
+                posicao += sinal * tabela.getMovimento(entrada, 0);
+                atual = proximo;
+                
+                if (posicao < 0) {
+                    return daDireita && atual == estado;
+                } else if (posicao >= bloco.length) {
+                    return !daDireita && atual == estado;
+                }
+                
+            }
+            
+            return false;
+            
+        }
+        
+        
+        /**
+         * Verificar se a fita simbólica, com a cabeça no recorde, é igual a
+         * L W<sup>n+1</sup> R, seja com o novo bloco W incorporado a L, seja
+         * incorporado a R.
+         * 
+         * @param esquerdo células à esquerda de W^n, em ordem inversa.
+         * 
+         * @param tamanhoEsquerdo número de células à esquerda.
+         * 
+         * @param bloco bloco W atual.
+         * 
+         * @param direito células à direita de W^n.
+         * 
+         * @param tamanhoDireito número de células à direita.
+         * 
+         * @param l trecho L inicial.
+         * 
+         * @param w bloco W inicial.
+         * 
+         * @param r trecho R inicial.
+         * 
+         * @return Se true, a fita é igual a L W^(n+1) R.
+         */
+        private boolean isVoltaCompleta(short[] esquerdo, int tamanhoEsquerdo,
+        short[] bloco, short[] direito, int tamanhoDireito, short[] l, short[] w,
+        short[] r) {
+            
+            if (!Arrays.equals(bloco, w)) return false;
+            
+            // Os brancos no extremo de L não fazem parte da fórmula.
+            
+            int k = tamanhoEsquerdo;
+            
+            while (k > 0 && esquerdo[k - 1] == branco) k--;
+            
+            short[] novoL = new short[k];
+            
+            for (int i = 0; i < k; i++) {
+                novoL[i] = esquerdo[k - 1 - i];
+            }
+            
+            short[] novoR = Arrays.copyOf(direito, tamanhoDireito);
+            
+            return isFormula(novoL, novoL.length, l, w, 1, new short[0]) &&
+            Arrays.equals(novoR, r) || Arrays.equals(novoL, l) &&
+            isFormula(novoR, novoR.length, new short[0], w, 1, r);
+            
+        }
+        
+        
+    }
+
+
+}
@@ -0,0 +1,394 @@
+package turing.classes;
+
+/**
+ * Diário dos passos executados em um {@link ContextoExecucao}, que permite
+ * desfazê-los, do mais recente para o mais antigo, sem repetir a execução desde
+ * o início. Cada passo é guardado em um registro com o código do estado
+ * anterior da Unidade de Controle e, para cada fita, o código do símbolo que
+ * foi sobrescrito, o deslocamento da Cabeça de Leitura/Escrita e o lado em que
+ * a fita cresceu, se cresceu.
+ * 
+ * <br><br>
+ * 
+ * Os campos de um registro são compactados em bits, com o número mínimo de bits
+ * para os estados e os símbolos do programa, e o registro ocupa tantos inteiros
+ * de 64 bits quantos forem necessários. Em uma máquina com uma fita e até 64
+ * símbolos, por exemplo, um passo ocupa um único inteiro.
+ * 
+ * <br><br>
+ * 
+ * Os registros são guardados em um buffer circular, que começa pequeno e dobra
+ * de tamanho conforme a necessidade, até comportar a janela de passos informada
+ * no constructor. A partir daí, cada novo passo sobrescreve o mais antigo, logo
+ * a memória ocupada é limitada pela janela, e apenas os últimos passos da
+ * janela podem ser desfeitos.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class DiarioPassos {
+    
+    
+    /**Número padrão de passos que podem ser desfeitos.*/
+    public static final int JANELA_PADRAO = 1 << 20;
+    
+    /**Número de passos comportados inicialmente pelo buffer.*/
+    private static final int CAPACIDADE_INICIAL = 1024;
+    
+    /**A fita não cresceu no passo.*/
+    public static final int SEM_CRESCIMENTO = 0;
+    
+    /**A fita cresceu à esquerda no passo.*/
+    public static final int CRESCIMENTO_ESQUERDA = 1;
+    
+    /**A fita cresceu à direita no passo.*/
+    public static final int CRESCIMENTO_DIREITA = 2;
+    
+    /**Bit do cabeçalho que indica que a máquina parou no passo.*/
+    private static final int BIT_PAROU = 1;
+    
+    /**Bit do cabeçalho com o status de palavra aceita antes do passo.*/
+    private static final int BIT_ACEITA = 2;
+    
+    /**Número máximo de passos guardados.*/
+    private final int janela;
+    
+    /**Número de inteiros de 64 bits ocupados por um registro.*/
+    private final int largura;
+    
+    /**Inteiro do registro em que está cada campo.*/
+    private final int[] palavras;
+    
+    /**Deslocamento, em bits, de cada campo dentro do seu inteiro.*/
+    private final int[] deslocamentos;
+    
+    /**Número de bits do código de um estado.*/
+    private final int bitsEstado;
+    
+    /**Número de bits do código de um símbolo.*/
+    private final int bitsSimbolo;
+    
+    /**Buffer circular dos registros.*/
+    private long[] registros;
+    
+    /**Posição, em registros, do passo mais antigo guardado.*/
+    private int primeiro;
+    
+    /**Número de passos guardados.*/
+    private int quantidade;
+    
+    /**Posição, em inteiros, do registro em construção ou do último desfeito.*/
+    private int atual;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param tabela tabela de transição executada.
+     * 
+     * @param janela número máximo de passos que podem ser desfeitos.
+     * 
+     * @throws IllegalArgumentException janela menor que 1.
+     */
+    public DiarioPassos(TabelaTransicao tabela, int janela) {
+        
+        if (janela < 1) {
+            throw new IllegalArgumentException("A janela do diário deve ter ao"
+            + " menos um passo.");
+        }
+        
+        int numeroFitas = tabela.getNumeroFitas();
+        
+        bitsEstado = getNumeroBits(tabela.getNumeroEstados() - 1);
+        bitsSimbolo = getNumeroBits(tabela.getBase() - 1);
+        
+        // Campo 0: estado anterior e bits do cabeçalho. Campos seguintes: um
+        // por fita, com o símbolo, o deslocamento mais 1 (2 bits) e o
+        // crescimento (2 bits). Um campo nunca é dividido entre dois inteiros.
+        
+        int[] larguras = new int[numeroFitas + 1];
+        
+        larguras[0] = bitsEstado + 2;
+        
+        for (int i = 1; i <= numeroFitas; i++) {
+            larguras[i] = bitsSimbolo + 4;
+        }
+        
+        palavras = new int[larguras.length];
+        deslocamentos = new int[larguras.length];
+        
+        int palavra = 0;
+        int deslocamento = 0;
+        
+        for (int i = 0; i < larguras.length; i++) {
+            if (deslocamento + larguras[i] > 64) {
+                palavra++;
+                deslocamento = 0;
+            }
+            palavras[i] = palavra;
+            deslocamentos[i] = deslocamento;
+            deslocamento += larguras[i];
+        }
+        
+        this.largura = palavra + 1;
+        this.janela = janela;
+        this.registros = new long[Math.min(janela, CAPACIDADE_INICIAL) * largura];
+        
+    }
+    
+    
+    /**
+     * Obter o número de bits necessários para representar um valor.
+     * 
+     * @param maximo maior valor a ser representado.
+     * 
+     * @return número de bits, no mínimo 1.
+     */
+    private static int getNumeroBits(int maximo) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maximo));
+    }
+    
+    
+    /**
+     * Descartar todos os passos guardados.
+     */
+    public void limpar() {
+        primeiro = 0;
+        quantidade = 0;
+    }
+    
+    
+    /**
+     * Iniciar o registro de um novo passo. Se a janela estiver cheia, o passo
+     * mais antigo é descartado.
+     * 
+     * @param estadoAnterior código do estado da Unidade de Controle antes do
+     * passo.
+     * 
+     * @param aceitaAnterior status de palavra aceita antes do passo.
+     */
+    public void iniciar(int estadoAnterior, boolean aceitaAnterior) {
+        
+        int capacidade = registros.length / largura;
+        
+        if (quantidade == capacidade) {
+            if (capacidade < janela) {
+                expandir(capacidade);
+            } else {
+                primeiro = primeiro + 1 == capacidade ? 0 : primeiro + 1;
+                quantidade--;
+            }
+            capacidade = registros.length / largura;
+        }
+        
+        int posicao = primeiro + quantidade;
+        
+        if (posicao >= capacidade) {
+            posicao -= capacidade;
+        }
+        
+        atual = posicao * largura;
+        
+        for (int i = 0; i < largura; i++) {
+            registros[atual + i] = 0;
+        }
+        
+        gravar(0, ((long) estadoAnterior << 2) | (aceitaAnterior ? BIT_ACEITA : 0));
+        
+        quantidade++;
+        
+    }
+    
+    
+    /**
+     * Dobrar a capacidade do buffer, limitada à janela, desfazendo a volta do
+     * buffer circular.
+     * 
+     * @param capacidade capacidade atual, em passos.
+     */
+    private void expandir(int capacidade) {
+        
+        int novaCapacidade = (int) Math.min((long) capacidade * 2, janela);
+        
+        long[] novo = new long[novaCapacidade * largura];
+        
+        int inicio = primeiro * largura;
+        int trecho = registros.length - inicio;
+        
+        System.arraycopy(registros, inicio, novo, 0, trecho);
+        System.arraycopy(registros, 0, novo, trecho, inicio);
+        
+        registros = novo;
+        primeiro = 0;
+        
+    }
+    
+    
+    /**
+     * Registrar o que o passo iniciado fez em uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param simboloAnterior código do símbolo sobrescrito.
+     * 
+     * @param movimento deslocamento da Cabeça de Leitura/Escrita (-1, 0 ou 1).
+     * 
+     * @param crescimento lado em que a fita cresceu: {@link #SEM_CRESCIMENTO},
+     * {@link #CRESCIMENTO_ESQUERDA} ou {@link #CRESCIMENTO_DIREITA}.
+     */
+    public void registrarFita(int fita, int simboloAnterior, int movimento,
+    int crescimento) {
+        gravar(fita + 1, ((long) simboloAnterior << 4) | ((movimento + 1) << 2) |
+        crescimento);
+    }
+    
+    
+    /**
+     * Registrar que a máquina parou no passo iniciado.
+     */
+    public void registrarParada() {
+        registros[atual + palavras[0]] |= (long) BIT_PAROU << deslocamentos[0];
+    }
+    
+    
+    /**
+     * Gravar um campo no registro atual, que deve estar zerado.
+     * 
+     * @param campo índice do campo.
+     * 
+     * @param valor valor do campo.
+     */
+    private void gravar(int campo, long valor) {
+        registros[atual + palavras[campo]] |= valor << deslocamentos[campo];
+    }
+    
+    
+    /**
+     * Ler um campo do registro atual.
+     * 
+     * @param campo índice do campo.
+     * 
+     * @return valor do campo.
+     */
+    private long ler(int campo) {
+        return registros[atual + palavras[campo]] >>> deslocamentos[campo];
+    }
+    
+    
+    /**
+     * Retirar o passo mais recente do diário. Os seus campos podem então ser
+     * lidos pelos métodos de consulta, até o início de um novo passo.
+     * 
+     * @return Se true, o passo foi retirado. Se false, não há passos guardados.
+     */
+    public boolean desfazer() {
+        if (quantidade == 0) return false;
+        quantidade--;
+        int capacidade = registros.length / largura;
+        int posicao = primeiro + quantidade;
+        atual = (posicao >= capacidade ? posicao - capacidade : posicao) * largura;
+        return true;
+    }
+    
+    
+    /**
+     * Obter o código do estado da Unidade de Controle antes do passo retirado.
+     * 
+     * @return código do estado.
+     */
+    public int getEstadoAnterior() {
+        return (int) ((ler(0) >>> 2) & ((1L << bitsEstado) - 1));
+    }
+    
+    
+    /**
+     * Obter o status de palavra aceita antes do passo retirado.
+     * 
+     * @return Se true, a palavra estava aceita. Se false, não.
+     */
+    public boolean isAceitaAnterior() {
+        return (ler(0) & BIT_ACEITA) != 0;
+    }
+    
+    
+    /**
+     * Verificar se a máquina parou no passo retirado.
+     * 
+     * @return Se true, a máquina parou. Se false, continuou em execução.
+     */
+    public boolean isParou() {
+        return (ler(0) & BIT_PAROU) != 0;
+    }
+    
+    
+    /**
+     * Obter o código do símbolo sobrescrito em uma fita no passo retirado.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return código do símbolo.
+     */
+    public int getSimboloAnterior(int fita) {
+        return (int) ((ler(fita + 1) >>> 4) & ((1L << bitsSimbolo) - 1));
+    }
+    
+    
+    /**
+     * Obter o deslocamento da Cabeça de Leitura/Escrita de uma fita no passo
+     * retirado.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return deslocamento (-1, 0 ou 1).
+     */
+    public int getMovimento(int fita) {
+        return (int) ((ler(fita + 1) >>> 2) & 3) - 1;
+    }
+    
+    
+    /**
+     * Obter o lado em que uma fita cresceu no passo retirado.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return {@link #SEM_CRESCIMENTO}, {@link #CRESCIMENTO_ESQUERDA} ou
+     * {@link #CRESCIMENTO_DIREITA}.
+     */
+    public int getCrescimento(int fita) {
+        return (int) (ler(fita + 1) & 3);
+    }
+    
+    
+    /**
+     * Obter o número de passos guardados, isto é, de passos que ainda podem
+     * ser desfeitos.
+     * 
+     * @return número de passos guardados.
+     */
+    public int getQuantidade() {
+        return quantidade;
+    }
+    
+    
+    /**
+     * Obter o número máximo de passos que podem ser desfeitos.
+     * 
+     * @return janela do diário, em passos.
+     */
+    public int getJanela() {
+        return janela;
+    }
+    
+    
+    /**
+     * Obter o número de inteiros de 64 bits ocupados por um passo.
+     * 
+     * @return largura de um registro.
+     */
+    public int getLargura() {
+        return largura;
+    }
+
+
+}
@@ -0,0 +1,287 @@
+package turing.classes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Executor de lotes de palavras de entrada para um mesmo programa de Máquina de
+ * Turing. O programa é compilado uma única vez para uma {@link TabelaTransicao},
+ * que é imutável e compartilhada por todas as execuções, enquanto o estado de
+ * cada execução (fitas, cursores e estado atual) é guardado em um
+ * {@link ContextoExecucao}. Os contextos são mantidos em um pool e reiniciados
+ * a cada palavra, sem alocar novas fitas. Com isso as palavras podem ser
+ * processadas em paralelo, em um {@link ForkJoinPool}, sem sincronização além
+ * da retirada e da devolução dos contextos ao pool.
+ * 
+ * <br><br>
+ * 
+ * As palavras são lidas em blocos de {@link #TAMANHO_BLOCO} palavras. Cada bloco
+ * é processado em paralelo e os seus resultados são entregues na ordem das
+ * palavras de entrada, antes de o bloco seguinte ser lido. Assim, o consumo de
+ * memória não depende do número de palavras do lote.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public class ExecutorLote {
+    
+    
+    /**Número de palavras lidas e processadas de cada vez.*/
+    public static final int TAMANHO_BLOCO = 4096;
+    
+    /**Número mínimo de palavras processadas por uma mesma tarefa.*/
+    private static final int LIMIAR_DIVISAO = 16;
+    
+    /**Tabela de transição compartilhada pelas execuções.*/
+    private final TabelaTransicao tabela;
+    
+    /**Pool de threads em que as palavras são processadas.*/
+    private final ForkJoinPool pool;
+    
+    /**Número máximo de passos de cada execução.*/
+    private final long limitePassos;
+    
+    /**Tempo máximo de cada execução, em milissegundos.*/
+    private final long limiteTempo;
+    
+    /**Status de detecção de ciclos nas execuções.*/
+    private final boolean detectarCiclos;
+    
+    /**Contextos de execução livres, reaproveitados entre as palavras.*/
+    private final Queue<ContextoExecucao> contextos;
+    
+    
+    /**
+     * Constructor padrão. Compila a configuração para uma tabela de transição e
+     * processa as palavras no pool comum do {@link ForkJoinPool}.
+     * 
+     * @param config configuração da máquina de Turing.
+     * 
+     * @param limitePassos número máximo de passos de cada execução. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @throws Exception erro na compilação da configuração.
+     */
+    public ExecutorLote(ConfigMaqTuring config, long limitePassos) throws Exception {
+        this(new TabelaTransicao(config), ForkJoinPool.commonPool(), limitePassos, 0);
+    }
+    
+    
+    /**
+     * Constructor para uma tabela de transição já compilada.
+     * 
+     * @param tabela tabela de transição.
+     * 
+     * @param pool pool de threads em que as palavras são processadas.
+     * 
+     * @param limitePassos número máximo de passos de cada execução. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de cada execução, em milissegundos. Se
+     * menor ou igual a zero, não há limite.
+     */
+    public ExecutorLote(TabelaTransicao tabela, ForkJoinPool pool, long limitePassos,
+    long limiteTempo) {
+        this(tabela, pool, limitePassos, limiteTempo, false);
+    }
+    
+    
+    /**
+     * Constructor para uma tabela de transição já compilada, com detecção de
+     * ciclos opcional. Com a detecção ativada, as execuções que repetem uma
+     * configuração terminam com o status {@link StatusExecucao#CICLO}, sem
+     * consumir o limite de passos.
+     * 
+     * @param tabela tabela de transição.
+     * 
+     * @param pool pool de threads em que as palavras são processadas.
+     * 
+     * @param limitePassos número máximo de passos de cada execução. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de cada execução, em milissegundos. Se
+     * menor ou igual a zero, não há limite.
+     * 
+     * @param detectarCiclos Se true, os ciclos são detectados. Se false, não.
+     */
+    public ExecutorLote(TabelaTransicao tabela, ForkJoinPool pool, long limitePassos,
+    long limiteTempo, boolean detectarCiclos) {
+        this.tabela = tabela;
+        this.pool = pool;
+        this.limitePassos = limitePassos;
+        this.limiteTempo = limiteTempo;
+        this.detectarCiclos = detectarCiclos;
+        this.contextos = new ConcurrentLinkedQueue<>();
+    }
+    
+    
+    /**
+     * Processar uma palavra de entrada.
+     * 
+     * @param palavra palavra de entrada.
+     * 
+     * @return Resultado da execução.
+     */
+    public ResultadoExecucao executar(String palavra) {
+        ContextoExecucao contexto = obterContexto();
+        try {
+            contexto.reiniciar(palavra);
+            return contexto.executar(limitePassos, limiteTempo);
+        } finally {
+            contextos.offer(contexto);
+        }
+    }
+    
+    
+    /**
+     * Retirar um contexto de execução livre do pool, ou criar um novo, caso
+     * não haja contextos livres. O número de contextos criados é limitado pelo
+     * número de execuções simultâneas.
+     * 
+     * @return contexto de execução.
+     */
+    private ContextoExecucao obterContexto() {
+        ContextoExecucao contexto = contextos.poll();
+        if (contexto == null) {
+            contexto = new ContextoExecucao(tabela);
+            contexto.setDetectorCiclos(detectarCiclos);
+        }
+        return contexto;
+    }
+    
+    
+    /**
+     * Processar um lote de palavras de entrada. Os resultados são entregues ao
+     * consumidor na ordem das palavras, sempre na thread que chamou este método.
+     * 
+     * @param palavras palavras de entrada.
+     * 
+     * @param consumidor consumidor dos resultados.
+     */
+    public void executar(Stream<String> palavras, Consumer<ResultadoExecucao> consumidor) {
+        
+        Iterator<String> iterator = palavras.iterator();
+        
+        String[] bloco = new String[TAMANHO_BLOCO];
+        ResultadoExecucao[] resultados = new ResultadoExecucao[TAMANHO_BLOCO];
+        
+        while (iterator.hasNext()) {
+            
+            int comprimento = 0;
+            
+            while (comprimento < TAMANHO_BLOCO && iterator.hasNext()) {
+                bloco[comprimento++] = iterator.next();
+            }
+            
+            pool.invoke(new TarefaBloco(bloco, resultados, 0, comprimento));
+            
+            for (int i = 0; i < comprimento; i++) {
+                consumidor.accept(resultados[i]);
+            }
+            
+            Arrays.fill(resultados, 0, comprimento, null);
+            
+        }
+        
+    }
+    
+    
+    /**
+     * Processar uma lista de palavras de entrada.
+     * 
+     * @param palavras palavras de entrada.
+     * 
+     * @return Resultados das execuções, na ordem das palavras.
+     */
+    public List<ResultadoExecucao> executar(List<String> palavras) {
+        List<ResultadoExecucao> resultados = new ArrayList<>(palavras.size());
+        executar(palavras.stream(), resultados::add);
+        return resultados;
+    }
+    
+    
+    /**
+     * Obter a tabela de transição compartilhada pelas execuções.
+     * 
+     * @return tabela de transição.
+     */
+    public TabelaTransicao getTabelaTransicao() {
+        return tabela;
+    }
+    
+    
+    /**
+     * Tarefa que processa um intervalo de um bloco de palavras, dividindo-o ao
+     * meio enquanto ele for maior que o limiar de divisão.
+     */
+    private class TarefaBloco extends RecursiveAction {
+        
+        
+        /**Bloco de palavras.*/
+        private final String[] palavras;
+        
+        /**Resultados, nas mesmas posições das palavras.*/
+        private final ResultadoExecucao[] resultados;
+        
+        /**Primeira posição do intervalo.*/
+        private final int inicio;
+        
+        /**Posição seguinte à última do intervalo.*/
+        private final int fim;
+        
+        
+        /**
+         * Constructor padrão.
+         * 
+         * @param palavras bloco de palavras.
+         * 
+         * @param resultados resultados, nas mesmas posições das palavras.
+         * 
+         * @param inicio primeira posição do intervalo.
+         * 
+         * @param fim posição seguinte à última do intervalo.
+         */
+        TarefaBloco(String[] palavras, ResultadoExecucao[] resultados, int inicio,
+        int fim) {
+            this.palavras = palavras;
+            this.resultados = resultados;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+        
+        
+        @Override
+        protected void compute() {
+            if (fim - inicio <= LIMIAR_DIVISAO) {
+                ContextoExecucao contexto = obterContexto();
+                try {
+                    for (int i = inicio; i < fim; i++) {
+                        contexto.reiniciar(palavras[i]);
+                        resultados[i] = contexto.executar(limitePassos, limiteTempo);
+                    }
+                } finally {
+                    contextos.offer(contexto);
+                }
+            } else {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(
+                    new TarefaBloco(palavras, resultados, inicio, meio),
+                    new TarefaBloco(palavras, resultados, meio, fim)
+                );
+            }
+        }
+        
+        
+    }
+
+
+}
@@ -1,6 +1,9 @@
 package turing.classes;
 
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Fita da máquina de Turing. Uma fita é um arranjo de células e pode ser
@@ -224,6 +227,25 @@ import java.util.Arrays;
  * células da fita. O arranjo real vai crescendo conforme necessário para o 
  * processamento do programa incrito na função de transição.
  * 
+ * <br><br>
+ * 
+ * O número de células da fita em expansão, que é o que se vê na simulação, é
+ * independente da capacidade do arranjo real. Quando a reserva de um lado se
+ * esgota, o arranjo é realocado com uma nova reserva do tamanho da fita neste
+ * lado, mantendo a reserva do outro, de forma que as próximas expansões em
+ * qualquer sentido não exigem cópias.
+ * 
+ * <br><br>
+ * 
+ * As células não guardam referências para objetos {@link Simbolo}, mas sim o
+ * código de cada símbolo, que é a sua posição no alfabeto da fita no momento
+ * da criação da fita. Enquanto o alfabeto tiver até 256 símbolos, cada célula
+ * ocupa um único byte, e acima disso, dois bytes. Símbolos gravados na fita
+ * que não pertencem ao alfabeto recebem códigos após os do alfabeto. Os métodos
+ * {@link #ler(int)} e {@link #escrever(int, Simbolo)} convertem entre códigos
+ * e símbolos, enquanto {@link #lerCodigo(int)} e {@link #escreverCodigo(int, int)}
+ * acessam os códigos diretamente.
+ * 
  * @author Leandro Ap. de Almeida
  * 
  * @since 1.0
@@ -232,10 +254,16 @@ public final class Fita {
     
     
     /**Limite máximo de células da fita*/
-    private final int NUMERO_MAX_CELULAS = Integer.MAX_VALUE;
+    private static final int NUMERO_MAX_CELULAS = Integer.MAX_VALUE;
+    
+    /**
+     * Posição inicial na fita (ao centro dela), que é o endereço virtual da
+     * primeira célula de uma fita infinita à esquerda.
+     */
+    public static final int POSICAO_INICIAL = NUMERO_MAX_CELULAS / 2;
     
-    /**Posição inicial na fita (ao centro dela).*/
-    private final int POSICAO_INICIAL = NUMERO_MAX_CELULAS / 2;
+    /**Maior código de símbolo que cabe em uma célula de um byte.*/
+    private static final int CODIGO_MAX_BYTE = 0xFF;
     
     /**Alfabeto dos símbolos que podem ser gravados na fita.*/
     private final AlfabetoFita alfabetoFita;
@@ -243,8 +271,30 @@ public final class Fita {
     /**Indicador de que a fita é infinita à esquerda.*/
     private final boolean infinitaEsquerda;
     
-    /**Arranjo de células da fita.*/
-    private Simbolo[] celulas;
+    /**Símbolos da fita, indexados pelo código do símbolo.*/
+    private final List<Simbolo> simbolos;
+    
+    /**Código do símbolo de branco.*/
+    private final int branco;
+    
+    /**Arranjo de células da fita, com códigos de um byte.*/
+    private byte[] celulas;
+    
+    /**
+     * Arranjo de células da fita, com códigos de dois bytes. Só é alocado
+     * quando algum código não cabe em um byte, e neste caso substitui o
+     * arranjo {@link #celulas}.
+     */
+    private short[] celulasLargas;
+    
+    /**
+     * Número de células da fita em expansão. A capacidade do arranjo pode ser
+     * maior, com células de reserva em branco em ambas as extremidades.
+     */
+    private int comprimento;
+    
+    /**Posição no arranjo da primeira célula da fita em expansão.*/
+    private int inicio;
     
     /**
      * Célula pivô. Ela estabelece o vínculo entre um endereço virtual, que é
@@ -253,6 +303,15 @@ public final class Fita {
      * uma posição inicialmente definida de um arranjo.
      */
     private int celulaPivo;
+    
+    /**Caracteres dos símbolos, indexados pelo código, usados nas cópias em lote.*/
+    private char[] caracteres;
+    
+    /**Visão somente leitura das células, criada na primeira consulta.*/
+    private VisaoFita visao;
+    
+    /**Índice de densidade das células, criado na primeira consulta.*/
+    private DensidadeFita densidade;
 
     
     /**
@@ -274,10 +333,20 @@ public final class Fita {
      */
     public Fita(AlfabetoFita alfabetoFita, boolean infinitaEsquerda, int tamanhoInicial,
     int celulaPivo) {
-        int numeroCelulas = tamanhoInicial;
-        this.celulas = new Simbolo[numeroCelulas];        
         this.alfabetoFita = alfabetoFita;
         this.infinitaEsquerda = infinitaEsquerda;
+        this.simbolos = new ArrayList<>(alfabetoFita.getComprimento());
+        for (Simbolo simbolo : alfabetoFita) {
+            this.simbolos.add(simbolo);
+        }
+        this.branco = simbolos.indexOf(alfabetoFita.getSimboloBranco());
+        this.comprimento = tamanhoInicial;
+        this.inicio = 0;
+        if (simbolos.size() - 1 > CODIGO_MAX_BYTE) {
+            this.celulasLargas = new short[tamanhoInicial];
+        } else {
+            this.celulas = new byte[tamanhoInicial];
+        }
         if (infinitaEsquerda) {
             if (celulaPivo >= 0 && celulaPivo < tamanhoInicial) {
                 this.celulaPivo = celulaPivo;
@@ -291,6 +360,44 @@ public final class Fita {
     }
     
     
+    /**
+     * Constructor de cópia. As células e os símbolos são copiados, e o índice
+     * de densidade também, se já tiver sido criado na fita original.
+     * 
+     * @param fita fita copiada.
+     */
+    private Fita(Fita fita) {
+        this.alfabetoFita = fita.alfabetoFita;
+        this.infinitaEsquerda = fita.infinitaEsquerda;
+        this.simbolos = new ArrayList<>(fita.simbolos);
+        this.branco = fita.branco;
+        this.comprimento = fita.comprimento;
+        this.inicio = fita.inicio;
+        this.celulaPivo = fita.celulaPivo;
+        if (fita.celulasLargas != null) {
+            this.celulasLargas = fita.celulasLargas.clone();
+        } else {
+            this.celulas = fita.celulas.clone();
+        }
+        if (fita.densidade != null) {
+            this.densidade = new DensidadeFita(this, fita.densidade);
+        }
+    }
+    
+    
+    /**
+     * Obter uma cópia independente da fita, que não é afetada pelas gravações
+     * posteriores nesta fita. O arranjo é copiado com a mesma capacidade, logo
+     * o custo é o de uma cópia de memória, e o índice de densidade, se existir,
+     * é copiado sem ser reconstruído.
+     * 
+     * @return cópia da fita.
+     */
+    public Fita copiar() {
+        return new Fita(this);
+    }
+    
+    
     /**
      * Inicializa a fita com a cadeia de entrada, a partir do endereço virtual
      * 1.073.741.824. Todas as demais células da fita são preenchidas com branco.
@@ -323,6 +430,22 @@ public final class Fita {
      * escrito.
      */
     public boolean escrever(int celula, Simbolo simbolo) {
+        return escreverCodigo(celula, getCodigo(simbolo));
+    }
+    
+    
+    /**
+     * Escrever o código de um símbolo em uma célula da fita. Caso a célula não
+     * exista, a fita é redimensionada como em {@link #escrever(int, Simbolo)}.
+     * 
+     * @param celula endereço virtual da célula.
+     * 
+     * @param codigo código do símbolo a escrever.
+     * 
+     * @return Se true, o símbolo foi escrito. Se false, o símbolo não foi
+     * escrito.
+     */
+    public boolean escreverCodigo(int celula, int codigo) {
         
         int indice = celulaPivo;
         int deslocamento = 0;
@@ -337,8 +460,8 @@ public final class Fita {
             }
         }
 
-        if (indice >= 0 && indice < celulas.length) {
-            celulas[indice] = simbolo;
+        if (indice >= 0 && indice < comprimento) {
+            gravar(indice, codigo);
             return true;
         } else {
             
@@ -348,19 +471,11 @@ public final class Fita {
                     
                     int num = deslocamento - celulaPivo;
                     
-                    Simbolo[] celulasTmp = new Simbolo[celulas.length + num];
-                    
-                    for (int i = 0; i < celulasTmp.length; i++) {
-                        celulasTmp[i] = alfabetoFita.getSimboloBranco();
-                    }
-                    
-                    System.arraycopy(celulas, 0, celulasTmp, num, celulas.length);
+                    realocar(num, 0);
                     
                     celulaPivo += num;
                     
-                    celulas = celulasTmp;
-                    
-                    celulas[num - 1] = simbolo;
+                    gravar(0, codigo);
                     
                     return true;
                     
@@ -370,15 +485,9 @@ public final class Fita {
                 
             } else {
                 
-                int indiceAtual = celulas.length;
-                
-                celulas = Arrays.copyOf(celulas, celulas.length + (indice - indiceAtual));
-                
-                for (int i = indiceAtual; i < celulas.length; i++) {
-                    celulas[i] = alfabetoFita.getSimboloBranco();  
-                }
+                realocar(0, indice - comprimento + 1);
                 
-                celulas[indiceAtual] = simbolo;
+                gravar(indice, codigo);
                 
                 return true;
                 
@@ -399,6 +508,21 @@ public final class Fita {
      * @return Símbolo lido, ou null, caso o índice da célula esteja fora da faixa.
      */
     public Simbolo ler(int celula) {
+        int codigo = lerCodigo(celula);
+        return codigo >= 0 ? simbolos.get(codigo) : null;
+    }
+    
+    
+    /**
+     * Ler o código do símbolo em uma célula da fita. Caso a célula não exista,
+     * a fita é redimensionada como em {@link #ler(int)}.
+     * 
+     * @param celula endereço virtual da célula.
+     * 
+     * @return Código do símbolo lido, ou -1, caso o índice da célula esteja 
+     * fora da faixa.
+     */
+    public int lerCodigo(int celula) {
         
         int indice = celulaPivo;
         int deslocamento = 0;
@@ -413,8 +537,8 @@ public final class Fita {
             }
         }
 
-        if (indice >= 0 && indice < celulas.length) {
-            return celulas[indice];
+        if (indice >= 0 && indice < comprimento) {
+            return codigo(indice);
         } else {
             
             if (indice < 0) {
@@ -423,35 +547,21 @@ public final class Fita {
                     
                     int num = deslocamento - celulaPivo;
                     
-                    Simbolo[] celulasTmp = new Simbolo[celulas.length + num];
-                    
-                    for (int i = 0; i < celulasTmp.length; i++) {
-                        celulasTmp[i] = alfabetoFita.getSimboloBranco();
-                    }
-                    
-                    System.arraycopy(celulas, 0, celulasTmp, num, celulas.length);
+                    realocar(num, 0);
                     
                     celulaPivo += num;
                     
-                    celulas = celulasTmp;
-                    
-                    return celulas[0];
+                    return codigo(0);
                     
                 } else {
-                    return null;
+                    return -1;
                 }
                 
             } else {
                 
-                int indiceAtual = celulas.length;
+                realocar(0, indice - comprimento + 1);
                 
-                celulas = Arrays.copyOf(celulas, celulas.length + (indice - indiceAtual));
-                
-                for (int i = indiceAtual; i < celulas.length; i++) {
-                    celulas[i] = alfabetoFita.getSimboloBranco();  
-                }
-                
-                return celulas[indiceAtual];
+                return codigo(indice);
                 
             }
             
@@ -474,90 +584,217 @@ public final class Fita {
     public boolean redimensionar(int qtdEsquerda, int qtdDireita) {
         
         if (qtdEsquerda >= 0 && qtdDireita >= 0) {
-        
-            Simbolo[] celulasTmp = new Simbolo[celulas.length + qtdDireita +
-            qtdEsquerda];
-
-            boolean deslocou =  false;
-
-            if (qtdEsquerda > 0) {
-                System.arraycopy(celulas, 0, celulasTmp, qtdEsquerda , celulas.length);
-                for (int i = 0; i < qtdEsquerda; i++) {
-                    celulasTmp[i] = alfabetoFita.getSimboloBranco();
-                }
-                celulaPivo = celulaPivo + qtdEsquerda;
-                deslocou = true;
-            } 
-
-            if (qtdDireita > 0) {
-                if (!deslocou) {
-                    System.arraycopy(celulas, 0, celulasTmp, 0 , celulas.length);
-                }
-                for (int i = celulas.length; i < celulasTmp.length; i++) {
-                    celulasTmp[i] = alfabetoFita.getSimboloBranco();
-                }
-            }
-
-            celulas = celulasTmp;
-            
+            realocar(qtdEsquerda, qtdDireita);
+            celulaPivo = celulaPivo + qtdEsquerda;
             return true;
-        
         } else {
-            
             return false;
-            
         }
 
     }
     
     
     public boolean redimensionar(int posicao, int qtdEsquerda, int qtdDireita) {
+        return redimensionar(qtdEsquerda, qtdDireita);
+    }
+    
+    
+    /**
+     * Marcar todas as células da fita com marcador de branco.
+     */
+    public void limpar() {
+        if (celulasLargas != null) {
+            Arrays.fill(celulasLargas, (short) branco);
+        } else {
+            Arrays.fill(celulas, (byte) branco);
+        }
+        if (densidade != null) {
+            densidade.reconstruir();
+        }
+    }
+    
+    
+    /**
+     * Obter o código de um símbolo nesta fita. Caso o símbolo não pertença ao
+     * alfabeto da fita, ele recebe um novo código.
+     * 
+     * @param simbolo símbolo.
+     * 
+     * @return código do símbolo.
+     */
+    public int getCodigo(Simbolo simbolo) {
+        for (int i = 0; i < simbolos.size(); i++) {
+            if (simbolos.get(i) == simbolo) {
+                return i;
+            }
+        }
+        int codigo = simbolos.indexOf(simbolo);
+        if (codigo < 0) {
+            simbolos.add(simbolo);
+            codigo = simbolos.size() - 1;
+        }
+        return codigo;
+    }
+    
+    
+    /**
+     * Obter o símbolo relativo a um código nesta fita.
+     * 
+     * @param codigo código do símbolo.
+     * 
+     * @return símbolo relativo ao código, ou null, caso o código seja inválido.
+     */
+    public Simbolo getSimbolo(int codigo) {
+        if (codigo >= 0 && codigo < simbolos.size()) {
+            return simbolos.get(codigo);
+        } else {
+            return null;
+        }
+    }
+    
+    
+    /**
+     * Obter o código do símbolo de branco.
+     * 
+     * @return código do símbolo de branco.
+     */
+    public int getCodigoBranco() {
+        return branco;
+    }
+    
+    
+    /**
+     * Obter o código gravado em uma célula da fita em expansão.
+     * 
+     * @param indice endereço absoluto da célula.
+     * 
+     * @return código gravado na célula.
+     */
+    private int codigo(int indice) {
+        if (celulasLargas != null) {
+            return celulasLargas[inicio + indice];
+        } else {
+            return celulas[inicio + indice] & CODIGO_MAX_BYTE;
+        }
+    }
+    
+    
+    /**
+     * Gravar um código em uma célula da fita em expansão. Caso o código não
+     * caiba em um byte, o arranjo passa a ter células de dois bytes.
+     * 
+     * @param indice endereço absoluto da célula.
+     * 
+     * @param codigo código a ser gravado.
+     */
+    private void gravar(int indice, int codigo) {
+        if (densidade != null) {
+            densidade.atualizar(inicio + indice, codigo(indice), codigo);
+        }
+        if (celulasLargas != null) {
+            celulasLargas[inicio + indice] = (short) codigo;
+        } else if (codigo <= CODIGO_MAX_BYTE) {
+            celulas[inicio + indice] = (byte) codigo;
+        } else {
+            celulasLargas = new short[celulas.length];
+            for (int i = 0; i < celulas.length; i++) {
+                celulasLargas[i] = (short) (celulas[i] & CODIGO_MAX_BYTE);
+            }
+            celulas = null;
+            celulasLargas[inicio + indice] = (short) codigo;
+        }
+    }
+    
+    
+    /**
+     * Adicionar células com o símbolo de branco nas extremidades da fita em
+     * expansão. A célula pivô não é alterada.
+     * 
+     * <br><br>
+     * 
+     * Enquanto houver células de reserva no arranjo, a fita apenas avança sobre
+     * elas. Quando a reserva de um lado se esgota, o arranjo é copiado para um
+     * novo, em que o lado esgotado recebe uma nova reserva do tamanho da fita,
+     * e o outro lado mantém a reserva que ainda tinha. Assim, uma Cabeça de
+     * Leitura/Escrita que percorre a fita em um sentido provoca apenas um
+     * número logarítmico de cópias do arranjo, e uma que vai e volta entre as
+     * duas extremidades também, pois cada cópia é precedida do consumo de uma
+     * reserva proporcional à fita: o custo amortizado de cada nova célula é
+     * constante. A nova reserva é calculada a partir do comprimento, e não da
+     * capacidade anterior, logo a capacidade nunca passa de três vezes o
+     * comprimento da fita.
+     * 
+     * @param qtdEsquerda quantidade de células a adicionar à esquerda.
+     * 
+     * @param qtdDireita quantidade de células a adicionar à direita.
+     */
+    private void realocar(int qtdEsquerda, int qtdDireita) {
         
-        if (qtdEsquerda >= 0 && qtdDireita >= 0) {
+        int capacidade = celulasLargas != null ? celulasLargas.length : celulas.length;
         
-            Simbolo[] celulasTmp = new Simbolo[celulas.length + qtdDireita +
-            qtdEsquerda];
-
-            boolean deslocou =  false;
-
-            if (qtdEsquerda > 0) {
-                System.arraycopy(celulas, 0, celulasTmp, qtdEsquerda , celulas.length);
-                for (int i = 0; i < qtdEsquerda; i++) {
-                    celulasTmp[i] = alfabetoFita.getSimboloBranco();
-                }
-                celulaPivo = celulaPivo + qtdEsquerda;
-                deslocou = true;
-            } 
-
-            if (qtdDireita > 0) {
-                if (!deslocou) {
-                    System.arraycopy(celulas, 0, celulasTmp, 0 , celulas.length);
-                }
-                for (int i = celulas.length; i < celulasTmp.length; i++) {
-                    celulasTmp[i] = alfabetoFita.getSimboloBranco();
-                }
-            }
+        int novoComprimento = comprimento + qtdEsquerda + qtdDireita;
+        
+        if (qtdEsquerda <= inicio && inicio + comprimento + qtdDireita <= capacidade) {
+            inicio -= qtdEsquerda;
+            comprimento = novoComprimento;
+            return;
+        }
+        
+        // A reserva que sobra em cada lado é mantida, e os lados que se
+        // esgotaram recebem, juntos, uma nova reserva do tamanho da fita.
+        
+        long sobraEsquerda = (long) inicio - qtdEsquerda;
+        long sobraDireita = (long) capacidade - inicio - comprimento - qtdDireita;
+        
+        int ladosEsgotados = (sobraEsquerda < 0 ? 1 : 0) + (sobraDireita < 0 ? 1 : 0);
+        
+        long reservaEsquerda = sobraEsquerda < 0 ? novoComprimento / ladosEsgotados
+        : sobraEsquerda;
+        long reservaDireita = sobraDireita < 0 ? novoComprimento / ladosEsgotados
+        : sobraDireita;
+        
+        long excesso = novoComprimento + reservaEsquerda + reservaDireita
+        - (Integer.MAX_VALUE - 8);
+        
+        if (excesso > 0) {
+            long corte = Math.min(excesso, reservaDireita);
+            reservaDireita -= corte;
+            reservaEsquerda -= Math.min(excesso - corte, reservaEsquerda);
+        }
+        
+        int novaCapacidade = (int) (novoComprimento + reservaEsquerda + reservaDireita);
+        
+        int destino = (int) reservaEsquerda + qtdEsquerda;
 
+        if (celulasLargas != null) {
+            short[] celulasTmp = new short[novaCapacidade];
+            Arrays.fill(celulasTmp, (short) branco);
+            System.arraycopy(celulasLargas, inicio, celulasTmp, destino, comprimento);
+            celulasLargas = celulasTmp;
+        } else {
+            byte[] celulasTmp = new byte[novaCapacidade];
+            Arrays.fill(celulasTmp, (byte) branco);
+            System.arraycopy(celulas, inicio, celulasTmp, destino, comprimento);
             celulas = celulasTmp;
-            
-            return true;
+        }
         
-        } else {
-            
-            return false;
-            
+        inicio = (int) reservaEsquerda;
+        comprimento = novoComprimento;
+        
+        if (densidade != null) {
+            densidade.reconstruir();
         }
-
+        
     }
     
     
     /**
-     * Marcar todas as células da fita com marcador de branco.
+     * Obter a capacidade do arranjo, incluindo as células de reserva.
+     * 
+     * @return capacidade do arranjo em células.
      */
-    public void limpar() {
-        for (int i = 0; i < celulas.length; i++) {
-            celulas[i] = alfabetoFita.getSimboloBranco();
-        }
+    public int getCapacidade() {
+        return celulasLargas != null ? celulasLargas.length : celulas.length;
     }
     
     
@@ -620,17 +857,182 @@ public final class Fita {
      * @return células da fita. 
      */
     public Simbolo[] getCelulas() {
-        return celulas.clone();
+        Simbolo[] copia = new Simbolo[comprimento];
+        for (int i = 0; i < comprimento; i++) {
+            copia[i] = simbolos.get(codigo(i));
+        }
+        return copia;
     }
     
     
+    /**
+     * Obter o símbolo gravado em uma célula da fita, sem copiar as demais
+     * células, como faz {@link #getCelulas()}.
+     * 
+     * @param indice índice da célula, entre 0 e o comprimento da fita menos 1,
+     * como em {@link #getCelulaPivo()}.
+     * 
+     * @return símbolo gravado na célula.
+     * 
+     * @throws IndexOutOfBoundsException índice fora da fita.
+     */
+    public Simbolo getCelula(int indice) {
+        return simbolos.get(codigo(Objects.checkIndex(indice, comprimento)));
+    }
+    
+    
+    /**
+     * Obter uma visão somente leitura das células da fita, que não copia as
+     * células. Veja {@link VisaoFita}.
+     * 
+     * @return visão da fita inteira.
+     */
+    public VisaoFita getVisao() {
+        if (visao == null) {
+            visao = new VisaoFita(this, 0, -1);
+        }
+        return visao;
+    }
+    
+    
+    /**
+     * Obter o índice de densidade das células da fita, que é mantido
+     * atualizado pela própria fita a partir desta chamada. Veja
+     * {@link DensidadeFita}.
+     * 
+     * @return índice de densidade.
+     */
+    public DensidadeFita getDensidade() {
+        if (densidade == null) {
+            densidade = new DensidadeFita(this);
+        }
+        return densidade;
+    }
+    
+    
+    /**
+     * Obter o código do símbolo gravado em uma posição do arranjo da fita,
+     * inclusive nas células de reserva. Usado por {@link DensidadeFita}.
+     * 
+     * @param posicao posição no arranjo.
+     * 
+     * @return código do símbolo.
+     */
+    int getCodigoPosicao(int posicao) {
+        if (celulasLargas != null) {
+            return celulasLargas[posicao];
+        } else {
+            return celulas[posicao] & CODIGO_MAX_BYTE;
+        }
+    }
+    
+    
+    /**
+     * Obter a posição no arranjo da fita de uma célula. Usado por
+     * {@link DensidadeFita}.
+     * 
+     * @param indice índice da célula.
+     * 
+     * @return posição no arranjo.
+     */
+    int getPosicao(int indice) {
+        return inicio + indice;
+    }
+    
+    
+    /**
+     * Obter o número de códigos de símbolos da fita, inclusive os atribuídos a
+     * símbolos fora do alfabeto.
+     * 
+     * @return número de códigos.
+     */
+    public int getNumeroCodigos() {
+        return simbolos.size();
+    }
+    
+    
+    /**
+     * Obter o código do símbolo gravado em uma célula, sem verificar o índice.
+     * Usado por {@link VisaoFita}.
+     * 
+     * @param indice índice da célula.
+     * 
+     * @return código do símbolo.
+     */
+    int getCodigoCelula(int indice) {
+        return codigo(indice);
+    }
+    
+    
+    /**
+     * Copiar os caracteres de um trecho de células para um arranjo, sem
+     * verificar os índices. Usado por {@link VisaoFita}.
+     * 
+     * @param indice índice da primeira célula.
+     * 
+     * @param destino arranjo de destino, preenchido a partir da posição 0.
+     * 
+     * @param quantidade número de células copiadas.
+     */
+    void copiarCaracteres(int indice, char[] destino, int quantidade) {
+        
+        if (caracteres == null || caracteres.length != simbolos.size()) {
+            caracteres = new char[simbolos.size()];
+            for (int i = 0; i < caracteres.length; i++) {
+                caracteres[i] = simbolos.get(i).getCaracter();
+            }
+        }
+        
+        int origem = inicio + indice;
+        
+        if (celulasLargas != null) {
+            for (int i = 0; i < quantidade; i++) {
+                destino[i] = caracteres[celulasLargas[origem + i]];
+            }
+        } else {
+            for (int i = 0; i < quantidade; i++) {
+                destino[i] = caracteres[celulas[origem + i] & CODIGO_MAX_BYTE];
+            }
+        }
+        
+    }
+
+    
+    /**
+     * Copiar os códigos de um trecho de células para um arranjo de bytes, sem
+     * verificar os índices. Usado por {@link VisaoFita}.
+     * 
+     * @param indice índice da primeira célula.
+     * 
+     * @param destino arranjo de destino.
+     * 
+     * @param posicao posição do arranjo de destino em que a cópia começa.
+     * 
+     * @param quantidade número de células copiadas.
+     */
+    void copiarCodigos(int indice, byte[] destino, int posicao, int quantidade) {
+        
+        int origem = inicio + indice;
+        
+        if (celulasLargas != null) {
+            for (int i = 0; i < quantidade; i++) {
+                destino[posicao + i] = (byte) Math.min(celulasLargas[origem + i],
+                CODIGO_MAX_BYTE);
+            }
+        } else {
+            System.arraycopy(celulas, origem, destino, posicao, quantidade);
+        }
+        
+    }
+
+    
     /**
      * Obter o número de células da fita em expansão.
      * 
      * @return número de células da fita em expansão.
      */
     public int getComprimento() {
-        return celulas.length;
+        return comprimento;
     }
 
     
@@ -115,6 +115,14 @@ public class FuncaoTransicao implements Iterable<Transicao> {
     
     /**Transições da função de transição.*/
     private final List<Transicao> transicoes;
+    
+    /**
+     * Índice das transições, uma tabela hash de endereçamento aberto que mapeia
+     * o código hash do estado inicial e dos símbolos lidos para a posição da
+     * transição na lista mais 1 (0 indica posição livre). Se null, o índice
+     * deve ser reconstruído na próxima consulta.
+     */
+    private int[] indice;
 
     
     /**
@@ -122,6 +130,7 @@ public class FuncaoTransicao implements Iterable<Transicao> {
      */
     public FuncaoTransicao() {
         transicoes = new ArrayList<>();
+        indice = null;
     }
 
 
@@ -136,6 +145,7 @@ public class FuncaoTransicao implements Iterable<Transicao> {
     public boolean adicionarTransicao(Transicao transicao) {
         if (!transicoes.contains(transicao)) {
             transicoes.add(transicao);
+            indice = null;
             return true;
         } else {
             return false;
@@ -152,7 +162,12 @@ public class FuncaoTransicao implements Iterable<Transicao> {
      * foi removida.
      */
     public boolean removerTransicao(Transicao transicao) {
-        return transicoes.remove(transicao);
+        if (transicoes.remove(transicao)) {
+            indice = null;
+            return true;
+        } else {
+            return false;
+        }
     }
     
     
@@ -169,6 +184,7 @@ public class FuncaoTransicao implements Iterable<Transicao> {
             Transicao transicaoAux = transicoes.get(indice);
             transicoes.set(indice, transicoes.get(indice-1));
             transicoes.set(indice - 1, transicaoAux);
+            this.indice = null;
             return true;
         } else {
             return false;
@@ -189,6 +205,7 @@ public class FuncaoTransicao implements Iterable<Transicao> {
             Transicao transicaoAux = transicoes.get(indice);
             transicoes.set(indice, transicoes.get(indice+1));
             transicoes.set(indice + 1, transicaoAux);
+            this.indice = null;
             return true;
         } else {
             return false;
@@ -249,6 +266,7 @@ public class FuncaoTransicao implements Iterable<Transicao> {
      */
     public void esvaziar() {
         transicoes.clear();
+        indice = null;
     }
     
     
@@ -256,6 +274,17 @@ public class FuncaoTransicao implements Iterable<Transicao> {
      * Obter o índice de uma transição, identificada pelo estado atual e os
      * símbolos lidos da fita.
      * 
+     * <br><br>
+     * 
+     * A busca é feita por meio de um índice em tabela hash, com custo constante,
+     * reconstruído sempre que a lista de transições é alterada. A consulta não
+     * aloca objetos, pois o código hash é calculado diretamente sobre o rótulo
+     * do estado e os caracteres lidos. Como os rótulos
+     * dos estados e os caracteres dos símbolos podem ser alterados fora desta
+     * classe, a transição encontrada é conferida antes de ser retornada, e caso
+     * ela não confira, ou não seja encontrada, o índice é reconstruído e a busca
+     * é refeita na lista.
+     * 
      * @param estado estado atual.
      * 
      * @param simbolos símbolos lidos da fita.
@@ -263,28 +292,137 @@ public class FuncaoTransicao implements Iterable<Transicao> {
      * @return Índice da transição na lista. 
      */
     public int indiceDe(Estado estado, char... simbolos) {
-        int indiceTransicao = -1;
-        boolean erro;
+        
+        if (indice == null) {
+            indexar();
+        }
+        
+        int mascara = indice.length - 1;
+        
+        for (int i = getHash(estado.getRotulo(), simbolos) & mascara; indice[i] != 0;
+        i = (i + 1) & mascara) {
+            int indiceTransicao = indice[i] - 1;
+            if (indiceTransicao < transicoes.size() && confere(indiceTransicao,
+            estado, simbolos)) {
+                return indiceTransicao;
+            }
+        }
+        
+        int indiceLista = pesquisar(estado, simbolos);
+        
+        if (indiceLista >= 0) {
+            indexar();
+        }
+        
+        return indiceLista;
+        
+    }
+    
+    
+    /**
+     * Pesquisar sequencialmente na lista a transição identificada pelo estado
+     * atual e os símbolos lidos da fita.
+     * 
+     * @param estado estado atual.
+     * 
+     * @param simbolos símbolos lidos da fita.
+     * 
+     * @return Índice da transição na lista, ou -1, caso não seja encontrada.
+     */
+    private int pesquisar(Estado estado, char... simbolos) {
         for (int i = 0; i < transicoes.size(); i++) {
-            Transicao transicao2 = transicoes.get(i);
-            if (transicao2.getEstadoInicial().equals(estado)) {
-                if (simbolos.length == transicao2.getParametrosFita().size()) {
-                    erro = false;
-                    for (int j = 0; j < simbolos.length; j++) {
-                        if (simbolos[j] != transicao2.getParametrosFita()
-                        .get(j).getSimboloLido().getCaracter()) {
-                            erro = true;
-                            break;
-                        }
-                    }
-                    if (!erro) {
-                        indiceTransicao = i;
-                        break;
+            if (confere(i, estado, simbolos)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    
+    /**
+     * Verificar se a transição no índice especificado é identificada pelo 
+     * estado atual e os símbolos lidos da fita.
+     * 
+     * @param i índice da transição.
+     * 
+     * @param estado estado atual.
+     * 
+     * @param simbolos símbolos lidos da fita.
+     * 
+     * @return Se true, a transição confere. Se false, a transição não confere.
+     */
+    private boolean confere(int i, Estado estado, char... simbolos) {
+        Transicao transicao = transicoes.get(i);
+        if (transicao.getEstadoInicial().equals(estado)) {
+            List<ParametrosFita> parametros = transicao.getParametrosFita();
+            if (simbolos.length == parametros.size()) {
+                for (int j = 0; j < simbolos.length; j++) {
+                    if (simbolos[j] != parametros.get(j).getSimboloLido().getCaracter()) {
+                        return false;
                     }
                 }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    
+    /**
+     * Reconstruir o índice das transições. As transições são inseridas na ordem
+     * da lista e a consulta percorre as colisões na ordem de inserção, logo, em
+     * caso de chaves repetidas, prevalece a primeira transição na lista, como
+     * na pesquisa sequencial.
+     */
+    private void indexar() {
+        int capacidade = Integer.highestOneBit(Math.max(transicoes.size(), 1) * 2) * 2;
+        int mascara = capacidade - 1;
+        indice = new int[capacidade];
+        for (int i = 0; i < transicoes.size(); i++) {
+            Transicao transicao = transicoes.get(i);
+            List<ParametrosFita> parametros = transicao.getParametrosFita();
+            int hash = transicao.getEstadoInicial().getRotulo().hashCode();
+            for (int j = 0; j < parametros.size(); j++) {
+                hash = 31 * hash + parametros.get(j).getSimboloLido().getCaracter();
+            }
+            int posicao = misturar(hash) & mascara;
+            while (indice[posicao] != 0) {
+                posicao = (posicao + 1) & mascara;
             }
+            indice[posicao] = i + 1;
         }
-        return indiceTransicao;
+    }
+    
+    
+    /**
+     * Obter o código hash do índice para o rótulo do estado e os símbolos lidos.
+     * 
+     * @param rotulo rótulo do estado.
+     * 
+     * @param simbolos símbolos lidos da fita.
+     * 
+     * @return código hash do índice.
+     */
+    private static int getHash(String rotulo, char[] simbolos) {
+        int hash = rotulo.hashCode();
+        for (int j = 0; j < simbolos.length; j++) {
+            hash = 31 * hash + simbolos[j];
+        }
+        return misturar(hash);
+    }
+    
+    
+    /**
+     * Espalhar os bits do código hash, para que os bits menos significativos,
+     * usados como posição na tabela, dependam de todos os demais.
+     * 
+     * @param hash código hash.
+     * 
+     * @return código hash espalhado.
+     */
+    private static int misturar(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
     }
 
     
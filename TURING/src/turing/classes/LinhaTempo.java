@@ -0,0 +1,272 @@
+package turing.classes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Linha do tempo de uma execução de um programa compilado. A configuração
+ * completa de um {@link ContextoExecucao} (fitas, cursores e estado atual) é
+ * guardada em marcos, a cada {@link #getIntervalo()} passos. Para ir a um passo
+ * qualquer, o contexto parte do marco mais próximo anterior ao passo e executa
+ * apenas os passos que faltam, logo o custo de ir a qualquer passo da execução
+ * é limitado pelo intervalo entre os marcos, e não pelo número do passo.
+ * 
+ * <br><br>
+ * 
+ * A memória ocupada pelos marcos é limitada pelo número de marcos e pelo número
+ * total de células guardadas. Quando um dos limites é ultrapassado, o intervalo
+ * é dobrado e são descartados os marcos cuja distância ao primeiro marco não é
+ * múltipla do novo intervalo. Assim, os marcos ficam sempre igualmente
+ * espaçados, a uma potência de 2 de passos, e o intervalo cresce com a duração
+ * da execução. O primeiro marco, normalmente o do passo 0, nunca é descartado.
+ * O intervalo também é dobrado enquanto for menor que o número de células de
+ * um marco, logo a cópia das fitas custa, em média, menos de uma célula por
+ * passo executado.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class LinhaTempo {
+    
+    
+    /**Intervalo inicial entre os marcos, em passos.*/
+    public static final long INTERVALO_INICIAL = 1024;
+    
+    /**Número máximo padrão de marcos.*/
+    public static final int LIMITE_MARCOS_PADRAO = 1024;
+    
+    /**Número máximo padrão de células guardadas no conjunto dos marcos.*/
+    public static final long LIMITE_CELULAS_PADRAO = 1 << 24;
+    
+    /**Tabela de transição executada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Número máximo de marcos.*/
+    private final int limiteMarcos;
+    
+    /**Número máximo de células guardadas no conjunto dos marcos.*/
+    private final long limiteCelulas;
+    
+    /**Marcos, em ordem crescente de passo.*/
+    private final List<ContextoExecucao> marcos;
+    
+    /**Contextos de marcos descartados, reaproveitados nos novos marcos.*/
+    private final Deque<ContextoExecucao> livres;
+    
+    /**Intervalo atual entre os marcos, em passos.*/
+    private long intervalo;
+    
+    /**Número de células guardadas no conjunto dos marcos.*/
+    private long celulas;
+    
+    /**Passo em que o próximo marco deve ser guardado.*/
+    private long proximoMarco;
+    
+    
+    /**
+     * Constructor padrão, com os limites padrão de memória.
+     * 
+     * @param tabela tabela de transição executada.
+     */
+    public LinhaTempo(TabelaTransicao tabela) {
+        this(tabela, LIMITE_MARCOS_PADRAO, LIMITE_CELULAS_PADRAO);
+    }
+    
+    
+    /**
+     * Constructor com limites de memória.
+     * 
+     * @param tabela tabela de transição executada.
+     * 
+     * @param limiteMarcos número máximo de marcos, no mínimo 2.
+     * 
+     * @param limiteCelulas número máximo de células guardadas no conjunto dos
+     * marcos.
+     * 
+     * @throws IllegalArgumentException limite de marcos menor que 2.
+     */
+    public LinhaTempo(TabelaTransicao tabela, int limiteMarcos, long limiteCelulas) {
+        if (limiteMarcos < 2) {
+            throw new IllegalArgumentException("A linha do tempo deve comportar ao"
+            + " menos dois marcos.");
+        }
+        this.tabela = tabela;
+        this.limiteMarcos = limiteMarcos;
+        this.limiteCelulas = limiteCelulas;
+        this.marcos = new ArrayList<>();
+        this.livres = new ArrayDeque<>();
+        this.intervalo = INTERVALO_INICIAL;
+    }
+    
+    
+    /**
+     * Descartar os marcos e guardar a configuração atual de um contexto como o
+     * primeiro marco. Normalmente, o contexto acabou de ser reiniciado, e o
+     * primeiro marco é o do passo 0.
+     * 
+     * @param contexto contexto em execução.
+     */
+    public void reiniciar(ContextoExecucao contexto) {
+        for (ContextoExecucao marco : marcos) {
+            livres.push(marco);
+        }
+        marcos.clear();
+        celulas = 0;
+        intervalo = INTERVALO_INICIAL;
+        guardar(contexto);
+        proximoMarco = contexto.getNumeroPassos() + intervalo;
+    }
+    
+    
+    /**
+     * Obter o passo em que o próximo marco deve ser guardado.
+     * 
+     * @return número do passo.
+     */
+    public long getProximoMarco() {
+        return proximoMarco;
+    }
+    
+    
+    /**
+     * Registrar a configuração atual de um contexto, caso ela esteja no passo
+     * do próximo marco. Os passos anteriores ao último marco já estão cobertos
+     * pelos marcos, e não são guardados de novo.
+     * 
+     * @param contexto contexto em execução.
+     */
+    public void registrar(ContextoExecucao contexto) {
+        
+        if (contexto.getNumeroPassos() != proximoMarco) return;
+        
+        guardar(contexto);
+        
+        // O intervalo também é dobrado enquanto for menor que o marco, para que
+        // o custo das cópias não supere o da execução dos passos.
+        
+        long tamanho = getCelulas(marcos.get(marcos.size() - 1));
+        
+        while (marcos.size() > limiteMarcos || (celulas > limiteCelulas &&
+        marcos.size() > 1) || intervalo < tamanho) {
+            desbastar();
+        }
+        
+        proximoMarco = getUltimoMarco() + intervalo;
+        
+    }
+    
+    
+    /**
+     * Guardar uma cópia da configuração de um contexto como o último marco.
+     * 
+     * @param contexto contexto a ser copiado.
+     */
+    private void guardar(ContextoExecucao contexto) {
+        ContextoExecucao marco = livres.isEmpty() ? new ContextoExecucao(tabela) :
+        livres.pop();
+        marco.copiar(contexto);
+        marcos.add(marco);
+        celulas += getCelulas(marco);
+    }
+    
+    
+    /**
+     * Dobrar o intervalo entre os marcos e descartar os marcos cuja distância
+     * ao primeiro marco não é múltipla do novo intervalo.
+     */
+    private void desbastar() {
+        
+        intervalo <<= 1;
+        
+        long origem = marcos.get(0).getNumeroPassos();
+        
+        int j = 0;
+        
+        for (int i = 0; i < marcos.size(); i++) {
+            ContextoExecucao marco = marcos.get(i);
+            if ((marco.getNumeroPassos() - origem) % intervalo == 0) {
+                marcos.set(j++, marco);
+            } else {
+                celulas -= getCelulas(marco);
+                livres.push(marco);
+            }
+        }
+        
+        marcos.subList(j, marcos.size()).clear();
+        
+    }
+    
+    
+    /**
+     * Obter o número de células visíveis guardadas em um marco.
+     * 
+     * @param marco marco.
+     * 
+     * @return número de células.
+     */
+    private static long getCelulas(ContextoExecucao marco) {
+        long total = 0;
+        for (int i = 0; i < marco.getNumeroFitas(); i++) {
+            total += marco.getComprimento(i);
+        }
+        return total;
+    }
+    
+    
+    /**
+     * Obter o marco mais próximo anterior ou igual a um passo.
+     * 
+     * @param passo número do passo.
+     * 
+     * @return marco encontrado, ou o primeiro marco, caso o passo seja anterior
+     * a todos os marcos.
+     */
+    public ContextoExecucao getMarco(long passo) {
+        int inicio = 0;
+        int fim = marcos.size() - 1;
+        while (inicio < fim) {
+            int meio = (inicio + fim + 1) >>> 1;
+            if (marcos.get(meio).getNumeroPassos() <= passo) {
+                inicio = meio;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return marcos.get(inicio);
+    }
+    
+    
+    /**
+     * Obter o intervalo atual entre os marcos.
+     * 
+     * @return intervalo, em passos.
+     */
+    public long getIntervalo() {
+        return intervalo;
+    }
+    
+    
+    /**
+     * Obter o número de marcos guardados.
+     * 
+     * @return número de marcos.
+     */
+    public int getNumeroMarcos() {
+        return marcos.size();
+    }
+    
+    
+    /**
+     * Obter o último passo guardado em um marco.
+     * 
+     * @return número do passo.
+     */
+    public long getUltimoMarco() {
+        return marcos.get(marcos.size() - 1).getNumeroPassos();
+    }
+
+
+}
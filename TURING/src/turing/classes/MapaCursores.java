@@ -0,0 +1,118 @@
+package turing.classes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Adaptador somente leitura que apresenta um arranjo de cursores como um
+ * {@link java.util.Map}, onde a chave é o índice da fita e o valor é a posição
+ * do cursor naquela fita.
+ * 
+ * <br><br>
+ * 
+ * O arranjo não é copiado, logo as alterações feitas pela máquina de Turing
+ * são vistas imediatamente através do mapa. Com isso a máquina mantém os
+ * cursores em inteiros primitivos no laço de execução, sem alocar objetos a cada
+ * passo, e o mapa existe apenas para manter a compatibilidade com os clientes
+ * de {@link MaquinaTuring#getCursores()} e de {@link OuvinteEtapaSimulacao}.
+ * Os clientes que conhecem esta classe podem ler os cursores diretamente por
+ * meio do método {@link #getCursor(int)}.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class MapaCursores extends AbstractMap<Integer, Integer> {
+    
+    
+    /**Arranjo de cursores, um para cada fita.*/
+    private final int[] cursores;
+    
+    /**Conjunto das entradas do mapa, criado na primeira consulta.*/
+    private Set<Entry<Integer, Integer>> entradas;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param cursores arranjo de cursores, um para cada fita.
+     */
+    public MapaCursores(int[] cursores) {
+        this.cursores = cursores;
+    }
+    
+    
+    /**
+     * Obter o cursor de uma fita sem conversão para {@link Integer}.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return cursor da fita.
+     */
+    public int getCursor(int fita) {
+        return cursores[fita];
+    }
+    
+    
+    @Override
+    public int size() {
+        return cursores.length;
+    }
+    
+    
+    @Override
+    public boolean containsKey(Object chave) {
+        return chave instanceof Integer fita && fita >= 0 && fita < cursores.length;
+    }
+    
+    
+    @Override
+    public Integer get(Object chave) {
+        if (containsKey(chave)) {
+            return cursores[(Integer) chave];
+        } else {
+            return null;
+        }
+    }
+    
+    
+    @Override
+    public Set<Entry<Integer, Integer>> entrySet() {
+        if (entradas == null) {
+            entradas = new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return cursores.length;
+                }
+                @Override
+                public Iterator<Entry<Integer, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int fita = 0;
+                        @Override
+                        public boolean hasNext() {
+                            return fita < cursores.length;
+                        }
+                        @Override
+                        public Entry<Integer, Integer> next() {
+                            if (fita >= cursores.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<Integer, Integer> entrada = new SimpleImmutableEntry<>(
+                                fita,
+                                cursores[fita]
+                            );
+                            fita++;
+                            return entrada;
+                        }
+                    };
+                }
+            };
+        }
+        return entradas;
+    }
+
+
+}
@@ -0,0 +1,1255 @@
+package turing.classes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static turing.classes.Constantes.TAMANHO_FITA;
+
+/**
+ * Máquina de Turing de uma fita executada por blocos (macro máquina). A fita é
+ * dividida em blocos de tamanho fixo, e o resultado de executar a máquina dentro
+ * de um bloco, a partir de um estado e de uma posição da Cabeça de
+ * Leitura/Escrita, é guardado em cache. Quando a mesma configuração se repete,
+ * o bloco inteiro é processado em um único macro passo, com o número exato de
+ * passos que a máquina original executaria.
+ * 
+ * <br><br>
+ * 
+ * Os blocos são codificados em um número inteiro de 64 bits, e a fita é mantida
+ * em duas pilhas de sequências de blocos iguais (uma à esquerda e outra à
+ * direita do bloco atual). Assim, quando a cabeça atravessa uma sequência de
+ * <i>n</i> blocos iguais sempre no mesmo estado, como nas varreduras de
+ * máquinas aritméticas e de castores ocupados, a sequência inteira é processada
+ * de uma só vez, e o custo deixa de depender do número de passos.
+ * 
+ * <br><br>
+ * 
+ * O estado final, o número de passos, o conteúdo da fita e as suas dimensões
+ * são os mesmos de uma {@link MaquinaMultifitas} com uma fita. Apenas máquinas
+ * com uma fita são suportadas.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public class MaquinaBlocos implements MaquinaTuring {
+    
+    
+    /**Tamanho padrão dos blocos, em células.*/
+    public static final int TAMANHO_BLOCO_PADRAO = 8;
+    
+    /**Número máximo de passos simulados dentro de um bloco em um macro passo.*/
+    private static final int LIMITE_PASSOS_BLOCO = 1 << 16;
+    
+    /**Número máximo de configurações guardadas no cache.*/
+    private static final int LIMITE_CACHE = 1 << 22;
+    
+    /**Número de macro passos entre duas consultas ao relógio.*/
+    private static final int INTERVALO_RELOGIO = 1024;
+    
+    /**Índice de transição não definido.*/
+    private static final int INDEFINIDO_INDICE = -1;
+    
+    /**O macro passo terminou com a cabeça fora do bloco.*/
+    private static final byte SAIDA = 0;
+    
+    /**O macro passo terminou em um estado terminal.*/
+    private static final byte ACEITA = 1;
+    
+    /**O macro passo terminou sem transição definida.*/
+    private static final byte REJEITA = 2;
+    
+    /**O macro passo atingiu o limite de passos sem terminar.*/
+    private static final byte INCOMPLETO = 3;
+    
+    /**Tabela de transição compilada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Ouvintes da simulação da máquina de Turing.*/
+    private final List<OuvinteEtapaSimulacao> ouvintes;
+    
+    /**Número de células de um bloco.*/
+    private final int tamanhoBloco;
+    
+    /**Número de bits de uma célula no código do bloco.*/
+    private final int bits;
+    
+    /**Máscara dos bits de uma célula.*/
+    private final long mascara;
+    
+    /**Código de um bloco preenchido com brancos.*/
+    private final long blocoBranco;
+    
+    /**Cursor da fita, em endereço virtual, como mapa.*/
+    private final MapaCursores mapaCursores;
+    
+    /**Índice absoluto do cursor da fita, como mapa, para os ouvintes.*/
+    private final MapaCursores mapaIndicesAbsolutos;
+    
+    /**Arranjo do cursor da fita, em endereço virtual.*/
+    private final int[] enderecos;
+    
+    /**Arranjo do índice absoluto do cursor da fita.*/
+    private final int[] indicesAbsolutos;
+    
+    /**Cache: código do bloco de cada configuração.*/
+    private long[] cacheBlocos;
+    
+    /**Cache: estado e posição de cada configuração, mais 1 (0 indica livre).*/
+    private int[] cacheChaves;
+    
+    /**Cache: código do bloco resultante.*/
+    private long[] cacheNovosBlocos;
+    
+    /**Cache: código do estado resultante.*/
+    private int[] cacheEstados;
+    
+    /**Cache: posição final da cabeça, relativa ao bloco.*/
+    private int[] cachePosicoes;
+    
+    /**Cache: menor posição da cabeça durante o macro passo.*/
+    private int[] cacheMinimos;
+    
+    /**Cache: maior posição da cabeça durante o macro passo.*/
+    private int[] cacheMaximos;
+    
+    /**Cache: índice da última transição executada.*/
+    private int[] cacheIndices;
+    
+    /**Cache: número de passos do macro passo.*/
+    private long[] cachePassos;
+    
+    /**Cache: tipo de término do macro passo.*/
+    private byte[] cacheTipos;
+    
+    /**Número de configurações guardadas no cache.*/
+    private int tamanhoCache;
+    
+    /**Sequências de blocos à esquerda do bloco atual (topo mais próximo).*/
+    private long[] blocosEsquerda;
+    
+    /**Número de repetições de cada sequência à esquerda.*/
+    private long[] repeticoesEsquerda;
+    
+    /**Número de sequências à esquerda.*/
+    private int topoEsquerda;
+    
+    /**Sequências de blocos à direita do bloco atual (topo mais próximo).*/
+    private long[] blocosDireita;
+    
+    /**Número de repetições de cada sequência à direita.*/
+    private long[] repeticoesDireita;
+    
+    /**Número de sequências à direita.*/
+    private int topoDireita;
+    
+    /**Código do bloco atual.*/
+    private long bloco;
+    
+    /**Posição da cabeça no bloco atual.*/
+    private int posicao;
+    
+    /**Índice do bloco atual, relativo ao bloco da célula inicial.*/
+    private long indiceBloco;
+    
+    /**Menor célula visitada pela cabeça, relativa à célula inicial.*/
+    private long menorCelula;
+    
+    /**Maior célula visitada pela cabeça, relativa à célula inicial.*/
+    private long maiorCelula;
+    
+    /**Número inicial de células da fita.*/
+    private int tamanhoInicial;
+    
+    /**Código do estado atual apontado pela Unidade de Controle.*/
+    private int estadoAtual;
+    
+    /**Palavra de entrada a ser processada.*/
+    private String palavra;
+    
+    /**Status de excução da simulação.*/
+    private boolean emExecucao;
+    
+    /**Status de palavra aceita/rejeitada pela máquina*/
+    private boolean aceita;
+    
+    /**Número de passos executados na simulação.*/
+    private long numeroPassos;
+    
+    /**Índice da transição atual.*/
+    private int indiceTransicao;
+    
+    /**Resultado do último macro passo simulado: código do bloco.*/
+    private long resultadoBloco;
+    
+    /**Resultado do último macro passo simulado: código do estado.*/
+    private int resultadoEstado;
+    
+    /**Resultado do último macro passo simulado: posição da cabeça.*/
+    private int resultadoPosicao;
+    
+    /**Resultado do último macro passo simulado: menor posição da cabeça.*/
+    private int resultadoMinimo;
+    
+    /**Resultado do último macro passo simulado: maior posição da cabeça.*/
+    private int resultadoMaximo;
+    
+    /**Resultado do último macro passo simulado: índice da última transição.*/
+    private int resultadoIndice;
+    
+    /**Resultado do último macro passo simulado: número de passos.*/
+    private long resultadoPassos;
+    
+    /**Resultado do último macro passo simulado: tipo de término.*/
+    private byte resultadoTipo;
+    
+    
+    /**
+     * Constructor padrão. Compila os parâmetros da máquina de Turing para uma
+     * tabela de transição e usa blocos de {@link #TAMANHO_BLOCO_PADRAO} células,
+     * ou menos, caso o alfabeto não permita.
+     * 
+     * @param alfabetoFita alfabeto da fita.
+     * 
+     * @param conjuntoEstados conjunto dos estados.
+     * 
+     * @param funcaoTransicao função de transição.
+     * 
+     * @param numeroFitas número de fitas da máquina.
+     * 
+     * @throws Exception erro na definição dos parâmetros, ou máquina com mais
+     * de uma fita.
+     */
+    public MaquinaBlocos(AlfabetoFita alfabetoFita, ConjuntoEstados conjuntoEstados,
+    FuncaoTransicao funcaoTransicao, int numeroFitas) throws Exception {
+        this(new TabelaTransicao(alfabetoFita, conjuntoEstados, funcaoTransicao,
+        numeroFitas), 0);
+    }
+    
+    
+    /**
+     * Constructor para uma tabela de transição já compilada.
+     * 
+     * @param tabela tabela de transição.
+     * 
+     * @param tamanhoBloco número de células de um bloco. Se menor ou igual a
+     * zero, é usado o tamanho padrão.
+     * 
+     * @throws Exception máquina com mais de uma fita, ou bloco que não cabe em
+     * 64 bits.
+     */
+    public MaquinaBlocos(TabelaTransicao tabela, int tamanhoBloco) throws Exception {
+        
+        if (tabela.getNumeroFitas() != 1) {
+            throw new Exception(
+                "A execução por blocos suporta apenas máquinas com uma fita."
+            );
+        }
+        
+        this.tabela = tabela;
+        this.ouvintes = new ArrayList<>();
+        this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(tabela.getBase() - 1));
+        this.mascara = (1L << bits) - 1;
+        
+        int maximo = Long.SIZE / bits;
+        
+        if (tamanhoBloco <= 0) {
+            tamanhoBloco = Math.min(TAMANHO_BLOCO_PADRAO, maximo);
+        } else if (tamanhoBloco > maximo) {
+            throw new Exception(
+                "O bloco deve ter no máximo " + maximo + " células para este alfabeto."
+            );
+        }
+        
+        this.tamanhoBloco = tamanhoBloco;
+        
+        long branco = 0;
+        
+        for (int i = 0; i < tamanhoBloco; i++) {
+            branco |= ((long) tabela.getSimboloBranco()) << (i * bits);
+        }
+        
+        this.blocoBranco = branco;
+        this.enderecos = new int[1];
+        this.indicesAbsolutos = new int[1];
+        this.mapaCursores = new MapaCursores(enderecos);
+        this.mapaIndicesAbsolutos = new MapaCursores(indicesAbsolutos);
+        this.blocosEsquerda = new long[16];
+        this.repeticoesEsquerda = new long[16];
+        this.blocosDireita = new long[16];
+        this.repeticoesDireita = new long[16];
+        
+        limparCache(1 << 10);
+        
+    }
+    
+    
+    /**
+     * Carregar a palavra de entrada na fita.
+     * 
+     * @param palavra palavra de entrada.
+     */
+    @Override
+    public void carregarPalavra(String palavra) {
+        this.palavra = palavra;
+        reiniciar();
+    }
+    
+    
+    /**
+     * Reiniciar a simulação de processamento da palavra de entrada. O cache
+     * dos macro passos é mantido, pois ele depende apenas do programa.
+     */
+    @Override
+    public void reiniciar() {
+        
+        aceita = false;
+        
+        for (int i = 0; i < palavra.length(); i++) {
+            Simbolo simbolo = tabela.getAlfabetoFita().getSimbolo(palavra.charAt(i));
+            if (simbolo != null && simbolo.isAuxiliar()) {
+                aceita = true;
+                break;
+            }
+        }
+        
+        int celulasAdicionais = palavra.length() > TAMANHO_FITA ? 10 :
+        TAMANHO_FITA - (palavra.length());
+        
+        tamanhoInicial = Math.max(palavra.length() + celulasAdicionais,
+        palavra.length() + 1);
+        
+        // Monta os blocos da palavra, da direita para a esquerda, empilhando
+        // à direita todos menos o primeiro, que é o bloco atual.
+        
+        topoEsquerda = 0;
+        topoDireita = 0;
+        
+        int numeroBlocos = Math.max(1, (palavra.length() + tamanhoBloco - 1) / tamanhoBloco);
+        
+        for (int j = numeroBlocos - 1; j >= 0; j--) {
+            long codigo = blocoBranco;
+            for (int i = 0; i < tamanhoBloco; i++) {
+                int celula = j * tamanhoBloco + i;
+                if (celula < palavra.length()) {
+                    codigo = gravar(codigo, i, tabela.getCodigo(palavra.charAt(celula)));
+                }
+            }
+            if (j > 0) {
+                empilharDireita(codigo, 1);
+            } else {
+                bloco = codigo;
+            }
+        }
+        
+        posicao = 0;
+        indiceBloco = 0;
+        menorCelula = 0;
+        maiorCelula = 0;
+        estadoAtual = tabela.getEstadoInicial();
+        indiceTransicao = tabela.getIndiceTransicao(getEntrada());
+        numeroPassos = 0;
+        emExecucao = true;
+        
+        notificarOuvintes();
+        
+    }
+    
+    
+    /**
+     * Executar um passo da simulação, como um macro passo limitado a um único
+     * passo, com o mesmo resultado de {@link MaquinaMultifitas#executarPasso()}.
+     */
+    @Override
+    public void executarPasso() {
+        avancar(1, 0);
+        notificarOuvintes();
+    }
+    
+    
+    /**
+     * Executar a simulação até a máquina parar ou até que um dos limites seja
+     * atingido, por meio de macro passos. Os ouvintes são notificados uma
+     * única vez, ao término.
+     * 
+     * @param limitePassos número máximo de passos a executar. Se menor ou igual
+     * a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return Resultado da execução.
+     */
+    @Override
+    public ResultadoExecucao executar(long limitePassos, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        
+        StatusExecucao status = avancar(limitePassos, limiteTempo);
+        
+        notificarOuvintes();
+        
+        int comprimento = (int) Math.min(getFim() - getInicio() + 1, Integer.MAX_VALUE);
+        
+        return new ResultadoExecucao(status, palavra, getEstadoAtual(), numeroPassos,
+        new int[] {comprimento}, System.nanoTime() - inicio);
+        
+    }
+    
+    
+    /**
+     * Avançar a simulação por macro passos, até a máquina parar ou até que um
+     * dos limites seja atingido.
+     * 
+     * @param limitePassos número máximo de passos a executar. Se menor ou igual
+     * a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return Status de término.
+     */
+    private StatusExecucao avancar(long limitePassos, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteTempo);
+        long restante = limitePassos > 0 ? limitePassos : Long.MAX_VALUE;
+        
+        for (long iteracoes = 0; emExecucao; iteracoes++) {
+            
+            if (restante <= 0) {
+                return StatusExecucao.LIMITE_PASSOS;
+            }
+            
+            if (limiteTempo > 0 && (iteracoes & (INTERVALO_RELOGIO - 1)) == 0
+            && System.nanoTime() - inicio >= limiteNanos) {
+                return StatusExecucao.LIMITE_TEMPO;
+            }
+            
+            int estadoAnterior = estadoAtual;
+            long blocoAnterior = bloco;
+            int posicaoAnterior = posicao;
+            
+            if (!consultarCache(estadoAtual, bloco, posicao) || resultadoPassos > restante) {
+                simular(estadoAtual, bloco, posicao, Math.min(restante, LIMITE_PASSOS_BLOCO));
+                if (resultadoTipo != INCOMPLETO) {
+                    guardarCache(estadoAnterior, blocoAnterior, posicaoAnterior);
+                }
+            }
+            
+            aplicarResultado();
+            
+            restante -= resultadoPassos;
+            
+            // Acelera a travessia de uma sequência de blocos iguais, quando o
+            // bloco que acabou de ser processado é igual aos seguintes e o
+            // macro passo sai dele no mesmo estado e pelo lado oposto ao da
+            // entrada.
+            
+            if (resultadoTipo == SAIDA && estadoAtual == estadoAnterior
+            && bloco == blocoAnterior && posicao == posicaoAnterior) {
+                restante -= atravessar(restante);
+            }
+            
+        }
+        
+        return aceita ? StatusExecucao.ACEITA : StatusExecucao.REJEITADA;
+        
+    }
+    
+    
+    /**
+     * Simular a máquina dentro de um bloco, a partir de um estado e de uma
+     * posição da cabeça, até que ela saia do bloco, pare, ou atinja o limite
+     * de passos. O resultado é guardado nos campos de resultado.
+     * 
+     * @param estado código do estado.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param inicio posição da cabeça no bloco.
+     * 
+     * @param maximo número máximo de passos.
+     */
+    private void simular(int estado, long codigo, int inicio, long maximo) {
+        
+        int pos = inicio;
+        int minimo = inicio;
+        int maximoPos = inicio;
+        int indice = INDEFINIDO_INDICE;
+        long passos = 0;
+        byte tipo = INCOMPLETO;
+        
+        while (passos < maximo) {
+            
+            int entrada = estado * tabela.getCombinacoes() + ler(codigo, pos);
+            int proximo = tabela.getProximoEstado(entrada);
+            
+            passos++;
+            
+            if (proximo == TabelaTransicao.INDEFINIDO) {
+                tipo = REJEITA;
+                break;
+            }
+            
+            codigo = gravar(codigo, pos, tabela.getSimboloGravado(entrada, 0));
+            pos += tabela.getMovimento(entrada, 0);
+            estado = proximo;
+            indice = tabela.getIndiceTransicao(entrada);
+            
+            if (pos < minimo) minimo = pos;
+            if (pos > maximoPos) maximoPos = pos;
+            
+            if (tabela.isTerminal(estado)) {
+                tipo = ACEITA;
+                break;
+            }
+            
+            if (pos < 0 || pos >= tamanhoBloco) {
+                tipo = SAIDA;
+                break;
+            }
+            
+        }
+        
+        resultadoBloco = codigo;
+        resultadoEstado = estado;
+        resultadoPosicao = pos;
+        resultadoMinimo = minimo;
+        resultadoMaximo = maximoPos;
+        resultadoIndice = indice;
+        resultadoPassos = passos;
+        resultadoTipo = tipo;
+        
+    }
+    
+    
+    /**
+     * Aplicar o resultado do último macro passo à fita e à Unidade de Controle.
+     */
+    private void aplicarResultado() {
+        
+        long base = indiceBloco * tamanhoBloco;
+        
+        menorCelula = Math.min(menorCelula, base + resultadoMinimo);
+        maiorCelula = Math.max(maiorCelula, base + resultadoMaximo);
+        
+        numeroPassos += resultadoPassos;
+        bloco = resultadoBloco;
+        estadoAtual = resultadoEstado;
+        posicao = resultadoPosicao;
+        
+        if (posicao < 0) {
+            empilharDireita(bloco, 1);
+            bloco = desempilharEsquerda();
+            posicao = tamanhoBloco - 1;
+            indiceBloco--;
+        } else if (posicao >= tamanhoBloco) {
+            empilharEsquerda(bloco, 1);
+            bloco = desempilharDireita();
+            posicao = 0;
+            indiceBloco++;
+        }
+        
+        switch (resultadoTipo) {
+            case ACEITA -> {
+                emExecucao = false;
+                aceita = true;
+                if (resultadoIndice != INDEFINIDO_INDICE) {
+                    indiceTransicao = resultadoIndice;
+                }
+            }
+            case REJEITA -> {
+                emExecucao = false;
+                aceita = false;
+                indiceTransicao = INDEFINIDO_INDICE;
+            }
+            default -> indiceTransicao = tabela.getIndiceTransicao(getEntrada());
+        }
+        
+    }
+    
+    
+    /**
+     * Atravessar a sequência de blocos iguais ao bloco atual, aplicando a todos
+     * eles o último macro passo, que sai do bloco no mesmo estado e pelo lado
+     * oposto ao da entrada, até o fim da sequência ou do limite de passos.
+     * 
+     * @param restante número de passos restantes.
+     * 
+     * @return número de passos avançados.
+     */
+    private long atravessar(long restante) {
+        
+        boolean direita = resultadoPosicao >= tamanhoBloco;
+        
+        long repeticoes = direita ? (topoDireita > 0 ? repeticoesDireita[topoDireita - 1] : 0) :
+        (topoEsquerda > 0 ? repeticoesEsquerda[topoEsquerda - 1] : 0);
+        
+        long blocoSeguinte = direita ? (topoDireita > 0 ? blocosDireita[topoDireita - 1] : 0) :
+        (topoEsquerda > 0 ? blocosEsquerda[topoEsquerda - 1] : 0);
+        
+        // O bloco atual e os repetidos da sequência seguinte são processados
+        // juntos, e o próximo bloco diferente passa a ser o bloco atual.
+        
+        if (repeticoes == 0 || blocoSeguinte != bloco) {
+            return 0;
+        }
+        
+        long quantidade = Math.min(repeticoes + 1, restante / resultadoPassos);
+        
+        if (quantidade < 1) {
+            return 0;
+        }
+        
+        long base = indiceBloco * tamanhoBloco;
+        long deslocamento = (quantidade - 1) * tamanhoBloco;
+        
+        if (direita) {
+            maiorCelula = Math.max(maiorCelula, base + deslocamento + resultadoMaximo);
+            menorCelula = Math.min(menorCelula, base + resultadoMinimo);
+            repeticoesDireita[topoDireita - 1] -= quantidade - 1;
+            if (repeticoesDireita[topoDireita - 1] == 0) topoDireita--;
+            empilharEsquerda(resultadoBloco, quantidade);
+            bloco = desempilharDireita();
+            indiceBloco += quantidade;
+        } else {
+            menorCelula = Math.min(menorCelula, base - deslocamento + resultadoMinimo);
+            maiorCelula = Math.max(maiorCelula, base + resultadoMaximo);
+            repeticoesEsquerda[topoEsquerda - 1] -= quantidade - 1;
+            if (repeticoesEsquerda[topoEsquerda - 1] == 0) topoEsquerda--;
+            empilharDireita(resultadoBloco, quantidade);
+            bloco = desempilharEsquerda();
+            indiceBloco -= quantidade;
+        }
+        
+        long passos = quantidade * resultadoPassos;
+        
+        numeroPassos += passos;
+        indiceTransicao = tabela.getIndiceTransicao(getEntrada());
+        
+        return passos;
+        
+    }
+    
+    
+    /**
+     * Ler o código do símbolo em uma posição de um bloco.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param pos posição no bloco.
+     * 
+     * @return código do símbolo.
+     */
+    private int ler(long codigo, int pos) {
+        return (int) ((codigo >>> (pos * bits)) & mascara);
+    }
+    
+    
+    /**
+     * Gravar o código de um símbolo em uma posição de um bloco.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param pos posição no bloco.
+     * 
+     * @param simbolo código do símbolo.
+     * 
+     * @return novo código do bloco.
+     */
+    private long gravar(long codigo, int pos, int simbolo) {
+        int deslocamento = pos * bits;
+        return (codigo & ~(mascara << deslocamento)) | ((long) simbolo << deslocamento);
+    }
+    
+    
+    /**
+     * Obter a entrada da tabela para o estado atual e o símbolo sob a cabeça.
+     * 
+     * @return entrada da tabela de transição.
+     */
+    private int getEntrada() {
+        return estadoAtual * tabela.getCombinacoes() + ler(bloco, posicao);
+    }
+    
+    
+    /**
+     * Empilhar uma sequência de blocos à esquerda do bloco atual, unindo-a à
+     * sequência do topo, caso os blocos sejam iguais.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param repeticoes número de repetições.
+     */
+    private void empilharEsquerda(long codigo, long repeticoes) {
+        if (topoEsquerda > 0 && blocosEsquerda[topoEsquerda - 1] == codigo) {
+            repeticoesEsquerda[topoEsquerda - 1] += repeticoes;
+        } else {
+            if (topoEsquerda == blocosEsquerda.length) {
+                blocosEsquerda = Arrays.copyOf(blocosEsquerda, topoEsquerda * 2);
+                repeticoesEsquerda = Arrays.copyOf(repeticoesEsquerda, topoEsquerda * 2);
+            }
+            blocosEsquerda[topoEsquerda] = codigo;
+            repeticoesEsquerda[topoEsquerda++] = repeticoes;
+        }
+    }
+    
+    
+    /**
+     * Empilhar uma sequência de blocos à direita do bloco atual, unindo-a à
+     * sequência do topo, caso os blocos sejam iguais.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param repeticoes número de repetições.
+     */
+    private void empilharDireita(long codigo, long repeticoes) {
+        if (topoDireita > 0 && blocosDireita[topoDireita - 1] == codigo) {
+            repeticoesDireita[topoDireita - 1] += repeticoes;
+        } else {
+            if (topoDireita == blocosDireita.length) {
+                blocosDireita = Arrays.copyOf(blocosDireita, topoDireita * 2);
+                repeticoesDireita = Arrays.copyOf(repeticoesDireita, topoDireita * 2);
+            }
+            blocosDireita[topoDireita] = codigo;
+            repeticoesDireita[topoDireita++] = repeticoes;
+        }
+    }
+    
+    
+    /**
+     * Retirar um bloco da pilha à esquerda. Além das sequências empilhadas, a
+     * fita contém apenas brancos.
+     * 
+     * @return código do bloco.
+     */
+    private long desempilharEsquerda() {
+        if (topoEsquerda == 0) return blocoBranco;
+        long codigo = blocosEsquerda[topoEsquerda - 1];
+        if (--repeticoesEsquerda[topoEsquerda - 1] == 0) topoEsquerda--;
+        return codigo;
+    }
+    
+    
+    /**
+     * Retirar um bloco da pilha à direita. Além das sequências empilhadas, a
+     * fita contém apenas brancos.
+     * 
+     * @return código do bloco.
+     */
+    private long desempilharDireita() {
+        if (topoDireita == 0) return blocoBranco;
+        long codigo = blocosDireita[topoDireita - 1];
+        if (--repeticoesDireita[topoDireita - 1] == 0) topoDireita--;
+        return codigo;
+    }
+    
+    
+    /**
+     * Esvaziar o cache dos macro passos.
+     * 
+     * @param capacidade capacidade do cache, em potência de 2.
+     */
+    private void limparCache(int capacidade) {
+        cacheBlocos = new long[capacidade];
+        cacheChaves = new int[capacidade];
+        cacheNovosBlocos = new long[capacidade];
+        cacheEstados = new int[capacidade];
+        cachePosicoes = new int[capacidade];
+        cacheMinimos = new int[capacidade];
+        cacheMaximos = new int[capacidade];
+        cacheIndices = new int[capacidade];
+        cachePassos = new long[capacidade];
+        cacheTipos = new byte[capacidade];
+        tamanhoCache = 0;
+    }
+    
+    
+    /**
+     * Calcular a posição inicial de uma configuração no cache.
+     * 
+     * @param chave estado e posição da configuração.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @return posição inicial no cache.
+     */
+    private int getPosicaoCache(int chave, long codigo) {
+        long hash = (codigo ^ ((long) chave << 40) ^ chave) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (cacheChaves.length - 1);
+    }
+    
+    
+    /**
+     * Consultar o cache. Se a configuração for encontrada, o resultado é
+     * copiado para os campos de resultado.
+     * 
+     * @param estado código do estado.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param pos posição da cabeça no bloco.
+     * 
+     * @return Se true, a configuração foi encontrada. Se false, ela não está
+     * no cache.
+     */
+    private boolean consultarCache(int estado, long codigo, int pos) {
+        int chave = estado * tamanhoBloco + pos + 1;
+        int mascaraCache = cacheChaves.length - 1;
+        for (int i = getPosicaoCache(chave, codigo); cacheChaves[i] != 0;
+        i = (i + 1) & mascaraCache) {
+            if (cacheChaves[i] == chave && cacheBlocos[i] == codigo) {
+                resultadoBloco = cacheNovosBlocos[i];
+                resultadoEstado = cacheEstados[i];
+                resultadoPosicao = cachePosicoes[i];
+                resultadoMinimo = cacheMinimos[i];
+                resultadoMaximo = cacheMaximos[i];
+                resultadoIndice = cacheIndices[i];
+                resultadoPassos = cachePassos[i];
+                resultadoTipo = cacheTipos[i];
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    
+    /**
+     * Guardar no cache o resultado do último macro passo simulado. Quando o
+     * cache fica com mais da metade ocupada, a capacidade é dobrada, até o
+     * limite, quando então o cache é esvaziado.
+     * 
+     * @param estado código do estado.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param pos posição da cabeça no bloco.
+     */
+    private void guardarCache(int estado, long codigo, int pos) {
+        
+        if ((tamanhoCache + 1) * 2 > cacheChaves.length) {
+            if (cacheChaves.length >= LIMITE_CACHE) {
+                limparCache(cacheChaves.length);
+            } else {
+                redimensionarCache(cacheChaves.length * 2);
+            }
+        }
+        
+        int chave = estado * tamanhoBloco + pos + 1;
+        int mascaraCache = cacheChaves.length - 1;
+        int i = getPosicaoCache(chave, codigo);
+        
+        while (cacheChaves[i] != 0) {
+            i = (i + 1) & mascaraCache;
+        }
+        
+        cacheChaves[i] = chave;
+        cacheBlocos[i] = codigo;
+        cacheNovosBlocos[i] = resultadoBloco;
+        cacheEstados[i] = resultadoEstado;
+        cachePosicoes[i] = resultadoPosicao;
+        cacheMinimos[i] = resultadoMinimo;
+        cacheMaximos[i] = resultadoMaximo;
+        cacheIndices[i] = resultadoIndice;
+        cachePassos[i] = resultadoPassos;
+        cacheTipos[i] = resultadoTipo;
+        tamanhoCache++;
+        
+    }
+    
+    
+    /**
+     * Redimensionar o cache, reinserindo as configurações guardadas.
+     * 
+     * @param capacidade nova capacidade, em potência de 2.
+     */
+    private void redimensionarCache(int capacidade) {
+        
+        long[] blocos = cacheBlocos;
+        int[] chaves = cacheChaves;
+        long[] novosBlocos = cacheNovosBlocos;
+        int[] estados = cacheEstados;
+        int[] posicoes = cachePosicoes;
+        int[] minimos = cacheMinimos;
+        int[] maximos = cacheMaximos;
+        int[] indices = cacheIndices;
+        long[] passos = cachePassos;
+        byte[] tipos = cacheTipos;
+        
+        limparCache(capacidade);
+        
+        int mascaraCache = capacidade - 1;
+        
+        for (int j = 0; j < chaves.length; j++) {
+            if (chaves[j] != 0) {
+                int i = getPosicaoCache(chaves[j], blocos[j]);
+                while (cacheChaves[i] != 0) {
+                    i = (i + 1) & mascaraCache;
+                }
+                cacheChaves[i] = chaves[j];
+                cacheBlocos[i] = blocos[j];
+                cacheNovosBlocos[i] = novosBlocos[j];
+                cacheEstados[i] = estados[j];
+                cachePosicoes[i] = posicoes[j];
+                cacheMinimos[i] = minimos[j];
+                cacheMaximos[i] = maximos[j];
+                cacheIndices[i] = indices[j];
+                cachePassos[i] = passos[j];
+                cacheTipos[i] = tipos[j];
+                tamanhoCache++;
+            }
+        }
+        
+    }
+    
+    
+    /**
+     * Obter a posição da cabeça, relativa à célula inicial.
+     * 
+     * @return posição da cabeça.
+     */
+    private long getCelula() {
+        return indiceBloco * tamanhoBloco + posicao;
+    }
+    
+    
+    /**
+     * Obter a primeira célula visível da fita, relativa à célula inicial, com
+     * as mesmas regras de crescimento de uma {@link MaquinaMultifitas}.
+     * 
+     * @return primeira célula visível.
+     */
+    private long getInicio() {
+        return Math.min(-1, menorCelula - 1);
+    }
+    
+    
+    /**
+     * Obter a última célula visível da fita, relativa à célula inicial, com
+     * as mesmas regras de crescimento de uma {@link MaquinaMultifitas}. A fita
+     * cresce duas células à direita quando a cabeça passa da última célula
+     * visível, logo a última célula depende da paridade da distância entre a
+     * maior célula visitada e a última célula inicial.
+     * 
+     * @return última célula visível.
+     */
+    private long getFim() {
+        long fim = tamanhoInicial - 2;
+        long distancia = maiorCelula - fim;
+        return distancia <= 0 ? fim : maiorCelula + (distancia & 1);
+    }
+    
+    
+    /**
+     * Notificar os ouvintes sobre a etapa atual da simulação.
+     */
+    private void notificarOuvintes() {
+        
+        if (ouvintes.isEmpty()) return;
+        
+        indicesAbsolutos[0] = getIndiceAbsoluto(0);
+        
+        Fita[] fitas = null;
+        
+        for (OuvinteEtapaSimulacao ouvinte : ouvintes) {
+            // O filtro obtém as fitas apenas se entregar a etapa.
+            if (ouvinte instanceof OuvinteFiltrado filtrado) {
+                filtrado.atualizarEtapaSimulacao(
+                    getEstadoAtual(),
+                    this::getFitas,
+                    mapaIndicesAbsolutos,
+                    indiceTransicao,
+                    getNumeroPassos(),
+                    aceita,
+                    !emExecucao
+                );
+                continue;
+            }
+            if (fitas == null) fitas = getFitas();
+            ouvinte.atualizarEtapaSimulacao(
+                getEstadoAtual(),
+                fitas,
+                mapaIndicesAbsolutos,
+                indiceTransicao,
+                getNumeroPassos(),
+                aceita,
+                !emExecucao
+            );
+        }
+        
+    }
+    
+    
+    /**
+     * Obter o número de fitas da máquina.
+     * 
+     * @return Número de fitas da máquina.
+     */
+    @Override
+    public int getNumeroFitas() {
+        return 1;
+    }
+    
+    
+    /**
+     * Obter a função de transição.
+     * 
+     * @return Função de transição.
+     */
+    @Override
+    public FuncaoTransicao getFuncaoTransicao() {
+        return tabela.getFuncaoTransicao();
+    }
+    
+    
+    /**
+     * Obter o alfabeto da fita.
+     * 
+     * @return Alfabeto da fita.
+     */
+    @Override
+    public AlfabetoFita getAlfabetoFita() {
+        return tabela.getAlfabetoFita();
+    }
+    
+    
+    /**
+     * Obter o conjunto dos estados.
+     * 
+     * @return Conjunto dos estados.
+     */
+    @Override
+    public ConjuntoEstados getConjuntoEstados() {
+        return tabela.getConjuntoEstados();
+    }
+    
+    
+    /**
+     * Obter a tabela de transição executada pela máquina.
+     * 
+     * @return tabela de transição.
+     */
+    public TabelaTransicao getTabelaTransicao() {
+        return tabela;
+    }
+    
+    
+    /**
+     * Obter o número de células de um bloco.
+     * 
+     * @return número de células de um bloco.
+     */
+    public int getTamanhoBloco() {
+        return tamanhoBloco;
+    }
+    
+    
+    /**
+     * Obter a fita da máquina. A fita é montada a partir das sequências de
+     * blocos, logo, para execuções muito longas, em que a fita não cabe na
+     * memória, este método não deve ser chamado.
+     * 
+     * @return Fitas da máquina.
+     */
+    @Override
+    public Fita[] getFitas() {
+        
+        int inicio = (int) getInicio();
+        int fim = (int) getFim();
+        
+        Fita fita = new Fita(tabela.getAlfabetoFita(), true, fim - inicio + 1, -inicio);
+        
+        // Percorre o bloco atual e as sequências das duas pilhas, a partir do
+        // bloco atual para as extremidades.
+        
+        escreverBloco(fita, bloco, indiceBloco, inicio, fim);
+        
+        long indice = indiceBloco;
+        
+        for (int s = topoEsquerda - 1; s >= 0; s--) {
+            for (long r = 0; r < repeticoesEsquerda[s]; r++) {
+                indice--;
+                if ((indice + 1) * tamanhoBloco <= inicio) break;
+                escreverBloco(fita, blocosEsquerda[s], indice, inicio, fim);
+            }
+        }
+        
+        indice = indiceBloco;
+        
+        for (int s = topoDireita - 1; s >= 0; s--) {
+            for (long r = 0; r < repeticoesDireita[s]; r++) {
+                indice++;
+                if (indice * tamanhoBloco > fim) break;
+                escreverBloco(fita, blocosDireita[s], indice, inicio, fim);
+            }
+        }
+        
+        return new Fita[] {fita};
+        
+    }
+    
+    
+    /**
+     * Escrever as células de um bloco em uma fita, dentro das células visíveis.
+     * 
+     * @param fita fita a ser escrita.
+     * 
+     * @param codigo código do bloco.
+     * 
+     * @param indice índice do bloco.
+     * 
+     * @param inicio primeira célula visível.
+     * 
+     * @param fim última célula visível.
+     */
+    private void escreverBloco(Fita fita, long codigo, long indice, int inicio, int fim) {
+        for (int i = 0; i < tamanhoBloco; i++) {
+            long celula = indice * tamanhoBloco + i;
+            int simbolo = ler(codigo, i);
+            if (celula >= inicio && celula <= fim && simbolo != tabela.getSimboloBranco()) {
+                if (simbolo < tabela.getNumeroSimbolos()) {
+                    fita.escreverCodigo(fita.getCelulaInicial() + (int) celula, simbolo);
+                } else {
+                    // Caractere da palavra de entrada fora do alfabeto, que
+                    // nunca é sobrescrito, pois a máquina para ao lê-lo.
+                    fita.escrever(fita.getCelulaInicial() + (int) celula,
+                    new Simbolo(palavra.charAt((int) celula), false));
+                }
+            }
+        }
+    }
+    
+    
+    /**
+     * Obter os cursores para as fitas da máquina, em endereços virtuais.
+     * 
+     * @return Cursores para as fitas da máquina.
+     */
+    @Override
+    public Map<Integer, Integer> getCursores() {
+        enderecos[0] = getCursor(0);
+        return mapaCursores;
+    }
+    
+    
+    /**
+     * Obter o cursor da fita, em endereço virtual.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return cursor da fita, em endereço virtual.
+     */
+    @Override
+    public int getCursor(int fita) {
+        return Fita.POSICAO_INICIAL + (int) getCelula();
+    }
+    
+    
+    /**
+     * Obter o índice absoluto do cursor da fita, relativo às fitas retornadas
+     * por {@link #getFitas()}.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return índice absoluto do cursor da fita.
+     */
+    @Override
+    public int getIndiceAbsoluto(int fita) {
+        return (int) (getCelula() - getInicio());
+    }
+    
+    
+    /**
+     * Obter o estado atual da Unidade de Controle.
+     * 
+     * @return Estado atual da Unidade de Controle.
+     */
+    @Override
+    public Estado getEstadoAtual() {
+        return tabela.getEstado(estadoAtual);
+    }
+    
+    
+    /**
+     * Obter o número de passos da simulação. Caso o número de passos exceda
+     * o limite de um int, retorna {@link Integer#MAX_VALUE}.
+     * 
+     * @return Número de passos da simulação.
+     */
+    @Override
+    public int getNumeroPassos() {
+        return (int) Math.min(numeroPassos, Integer.MAX_VALUE);
+    }
+    
+    
+    /**
+     * Obter o número de passos da simulação, sem limite de faixa.
+     * 
+     * @return Número de passos da simulação.
+     */
+    public long getNumeroPassosLongo() {
+        return numeroPassos;
+    }
+    
+    
+    /**
+     * Obter a palavra de entrada.
+     * 
+     * @return palavra de entrada.
+     */
+    @Override
+    public String getPalavra() {
+        return palavra;
+    }
+    
+    
+    /**
+     * Status de palavra de entrada aceita.
+     * 
+     * @return Se true, a palavra foi aceita. Se false, a palavra foi rejeitada.
+     */
+    @Override
+    public boolean isAceita() {
+        return aceita;
+    }
+    
+    
+    /**
+     * Status de execução da simulação.
+     * 
+     * @return Se true, a simulação está em execução. Se false, a máquina parou.
+     */
+    public boolean isEmExecucao() {
+        return emExecucao;
+    }
+    
+    
+    /**
+     * Adicionar um ouvinte do processo de simulação.
+     * 
+     * @param ouvinte ouvinte a ser adicionado.
+     */
+    @Override
+    public void adicionarOuvinte(OuvinteEtapaSimulacao ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+    
+    
+    /**
+     * Remover um ouvinte do processo de simulação.
+     * 
+     * @param ouvinte ouvinte a ser removido.
+     * 
+     * @return Se true, o ouvinte foi removido. Se false, ele não foi removido.
+     */
+    @Override
+    public boolean removerOuvinte(OuvinteEtapaSimulacao ouvinte) {
+        return ouvintes.removeIf(registrado -> OuvinteFiltrado.isOuvinte(registrado,
+        ouvinte));
+    }
+
+
+}
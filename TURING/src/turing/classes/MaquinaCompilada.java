@@ -0,0 +1,572 @@
+package turing.classes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Máquina de Turing com múltiplas fitas executada sobre uma tabela de transição
+ * densa ({@link TabelaTransicao}). O comportamento é o mesmo de uma
+ * {@link MaquinaMultifitas}, mas o laço de execução não acessa objetos
+ * {@link Estado}, {@link Simbolo}, listas ou mapas: o estado atual, os símbolos
+ * das fitas e os cursores são números inteiros, e cada passo é resolvido com
+ * um único acesso à tabela.
+ * 
+ * <br><br>
+ * 
+ * As fitas são arranjos de códigos de símbolos, que crescem dobrando de
+ * capacidade quando uma Cabeça de Leitura/Escrita ultrapassa uma de suas
+ * extremidades. Os objetos {@link Fita} só são montados quando solicitados,
+ * por meio do método {@link #getFitas()}, ou quando uma etapa é entregue a um
+ * ouvinte. Logo, para simulações longas, a máquina deve ser executada sem
+ * ouvintes, ou com ouvintes filtrados por um {@link OuvinteFiltrado}.
+ * 
+ * <br><br>
+ * 
+ * O estado da execução é mantido em um {@link ContextoExecucao}, separado do
+ * programa ({@link TabelaTransicao}), que é imutável. Esta classe apenas adapta
+ * o contexto à interface {@link MaquinaTuring} e notifica os ouvintes.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public class MaquinaCompilada implements MaquinaTuring {
+    
+    
+    /**Tabela de transição compilada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Contexto da execução atual.*/
+    private final ContextoExecucao contexto;
+    
+    /**Ouvintes da simulação da máquina de Turing.*/
+    private final List<OuvinteEtapaSimulacao> ouvintes;
+    
+    /**Número de fitas da máquina.*/
+    private final int numeroFitas;
+    
+    /**Cursores em endereços virtuais, calculados sob demanda.*/
+    private final int[] enderecos;
+    
+    /**Índices absolutos dos cursores, calculados antes de notificar os ouvintes.*/
+    private final int[] indicesAbsolutos;
+    
+    /**Visão dos cursores em endereços virtuais como mapa.*/
+    private final MapaCursores mapaEnderecos;
+    
+    /**Visão dos índices absolutos dos cursores como mapa, para os ouvintes.*/
+    private final MapaCursores mapaIndicesAbsolutos;
+    
+    /**Fitas montadas, mantidas entre as chamadas de {@link #getFitas()}.*/
+    private final Fita[] fitas;
+    
+    /**Primeira célula de cada fita montada, relativa à célula inicial.*/
+    private final int[] iniciosMontados;
+    
+    /**Última célula de cada fita montada, relativa à célula inicial.*/
+    private final int[] finsMontados;
+    
+    /**Palavra de entrada das fitas montadas.*/
+    private String palavraMontada;
+    
+    
+    /**
+     * Constructor padrão. Compila os parâmetros da máquina de Turing para uma
+     * tabela de transição.
+     * 
+     * @param alfabetoFita alfabeto da fita.
+     * 
+     * @param conjuntoEstados conjunto dos estados.
+     * 
+     * @param funcaoTransicao função de transição.
+     * 
+     * @param numeroFitas número de fitas da máquina.
+     * 
+     * @throws Exception erro na definição dos parâmetros.
+     */
+    public MaquinaCompilada(AlfabetoFita alfabetoFita, ConjuntoEstados conjuntoEstados,
+    FuncaoTransicao funcaoTransicao, int numeroFitas) throws Exception {
+        this(new TabelaTransicao(alfabetoFita, conjuntoEstados, funcaoTransicao,
+        numeroFitas));
+    }
+    
+    
+    /**
+     * Constructor para uma tabela de transição já compilada.
+     * 
+     * @param tabela tabela de transição.
+     */
+    public MaquinaCompilada(TabelaTransicao tabela) {
+        this.tabela = tabela;
+        this.contexto = new ContextoExecucao(tabela);
+        this.numeroFitas = tabela.getNumeroFitas();
+        this.ouvintes = new ArrayList<>();
+        this.enderecos = new int[numeroFitas];
+        this.indicesAbsolutos = new int[numeroFitas];
+        this.mapaEnderecos = new MapaCursores(enderecos);
+        this.mapaIndicesAbsolutos = new MapaCursores(indicesAbsolutos);
+        this.fitas = new Fita[numeroFitas];
+        this.iniciosMontados = new int[numeroFitas];
+        this.finsMontados = new int[numeroFitas];
+    }
+    
+    
+    /**
+     * Carregar a palavra de entrada na primeira fita.
+     * 
+     * @param palavra palavra de entrada.
+     */
+    @Override
+    public void carregarPalavra(String palavra) {
+        contexto.reiniciar(palavra);
+        notificarOuvintes();
+    }
+    
+    
+    /**
+     * Reiniciar a simulação de processamento da palavra de entrada. As fitas
+     * assumem as mesmas dimensões iniciais de uma {@link MaquinaMultifitas}.
+     */
+    @Override
+    public void reiniciar() {
+        contexto.reiniciar(contexto.getPalavra());
+        notificarOuvintes();
+    }
+    
+    
+    /**
+     * Executar um passo da simulação. O roteiro é o mesmo descrito em
+     * {@link MaquinaMultifitas#executarPasso()}, porém a transição é obtida
+     * diretamente da tabela de transição, a partir da entrada calculada no
+     * passo anterior.
+     */
+    @Override
+    public void executarPasso() {
+        contexto.executarPasso();
+        notificarOuvintes();
+    }
+    
+    
+    /**
+     * Executar a simulação até a máquina parar ou até que um dos limites seja
+     * atingido. Os passos são executados em um laço, sem notificar os ouvintes,
+     * que são notificados uma única vez, ao término.
+     * 
+     * @param limitePassos número máximo de passos a executar. Se menor ou igual
+     * a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return Resultado da execução.
+     */
+    @Override
+    public ResultadoExecucao executar(long limitePassos, long limiteTempo) {
+        ResultadoExecucao resultado = contexto.executar(limitePassos, limiteTempo);
+        notificarOuvintes();
+        return resultado;
+    }
+    
+    
+    /**
+     * Desfazer o último passo da simulação, com base no diário do contexto de
+     * execução (veja {@link #setJanelaDiario(int)}).
+     * 
+     * @return Se true, o passo foi desfeito. Se false, o diário está desativado
+     * ou não há passos a desfazer.
+     */
+    @Override
+    public boolean voltarPasso() {
+        if (!contexto.voltarPasso()) return false;
+        notificarOuvintes();
+        return true;
+    }
+    
+    
+    /**
+     * Desfazer vários passos da simulação, sem notificar os ouvintes a cada
+     * passo. Os ouvintes são notificados uma única vez, ao término.
+     * 
+     * @param passos número de passos a desfazer.
+     * 
+     * @return número de passos desfeitos.
+     */
+    @Override
+    public long voltar(long passos) {
+        long desfeitos = contexto.voltar(passos);
+        if (desfeitos > 0) {
+            notificarOuvintes();
+        }
+        return desfeitos;
+    }
+    
+    
+    /**
+     * Ativar ou desativar o diário de passos, que permite desfazer os últimos
+     * passos da simulação. Os passos executados por
+     * {@link #executar(long, long)} também são registrados.
+     * 
+     * @param janela número máximo de passos que podem ser desfeitos. Se menor
+     * ou igual a zero, o diário é desativado.
+     */
+    public void setJanelaDiario(int janela) {
+        contexto.setJanelaDiario(janela);
+    }
+    
+    
+    /**
+     * Ir a um passo qualquer da simulação da palavra atual, por no máximo o
+     * tempo informado. Com a linha do tempo ativada (veja
+     * {@link #setLinhaTempo(boolean)}), a execução parte do marco mais próximo
+     * anterior ao passo. Os ouvintes são notificados uma única vez, sobre a
+     * etapa alcançada.
+     * 
+     * @param passo número do passo.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return número do passo alcançado, menor que o pedido caso a máquina
+     * pare antes ou o tempo se esgote.
+     */
+    @Override
+    public long irParaPasso(long passo, long limiteTempo) {
+        long alcancado = contexto.irParaPasso(passo, limiteTempo);
+        notificarOuvintes();
+        return alcancado;
+    }
+    
+    
+    /**
+     * Ativar ou desativar a linha do tempo da simulação, que guarda marcos da
+     * execução a intervalos regulares, para que {@link #irParaPasso(long)}
+     * alcance qualquer passo sem repetir a simulação desde o início.
+     * 
+     * @param ativa Se true, a linha do tempo é ativada. Se false, é desativada.
+     */
+    public void setLinhaTempo(boolean ativa) {
+        contexto.setLinhaTempo(ativa);
+    }
+    
+    
+    /**
+     * Definir os pontos de parada de {@link #executar(long, long)}. Os passos
+     * continuam sendo executados sem notificar os ouvintes, que são notificados
+     * apenas quando a execução termina ou alcança um ponto de parada.
+     * 
+     * @param pontosParada pontos de parada, compilados para a tabela de
+     * transição desta máquina, ou null, para não haver pontos de parada.
+     */
+    public void setPontosParada(PontosParada pontosParada) {
+        contexto.setPontosParada(pontosParada);
+    }
+    
+    
+    /**
+     * Notificar os ouvintes sobre a etapa atual da simulação.
+     */
+    private void notificarOuvintes() {
+        
+        if (ouvintes.isEmpty()) return;
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            indicesAbsolutos[i] = getIndiceAbsoluto(i);
+        }
+        
+        Fita[] fitas = null;
+        
+        for (OuvinteEtapaSimulacao ouvinte : ouvintes) {
+            // O filtro obtém as fitas apenas se entregar a etapa.
+            if (ouvinte instanceof OuvinteFiltrado filtrado) {
+                filtrado.atualizarEtapaSimulacao(
+                    getEstadoAtual(),
+                    this::getFitas,
+                    mapaIndicesAbsolutos,
+                    contexto.getIndiceTransicao(),
+                    getNumeroPassos(),
+                    contexto.isAceita(),
+                    !contexto.isEmExecucao()
+                );
+                continue;
+            }
+            if (fitas == null) fitas = getFitas();
+            ouvinte.atualizarEtapaSimulacao(
+                getEstadoAtual(),
+                fitas,
+                mapaIndicesAbsolutos,
+                contexto.getIndiceTransicao(),
+                getNumeroPassos(),
+                contexto.isAceita(),
+                !contexto.isEmExecucao()
+            );
+        }
+        
+    }
+    
+    
+    /**
+     * Obter o número de fitas da máquina.
+     * 
+     * @return Número de fitas da máquina.
+     */
+    @Override
+    public int getNumeroFitas() {
+        return numeroFitas;
+    }
+    
+    
+    /**
+     * Obter a função de transição.
+     * 
+     * @return Função de transição.
+     */
+    @Override
+    public FuncaoTransicao getFuncaoTransicao() {
+        return tabela.getFuncaoTransicao();
+    }
+    
+    
+    /**
+     * Obter o alfabeto da fita.
+     * 
+     * @return Alfabeto da fita.
+     */
+    @Override
+    public AlfabetoFita getAlfabetoFita() {
+        return tabela.getAlfabetoFita();
+    }
+    
+    
+    /**
+     * Obter o conjunto dos estados.
+     * 
+     * @return Conjunto dos estados.
+     */
+    @Override
+    public ConjuntoEstados getConjuntoEstados() {
+        return tabela.getConjuntoEstados();
+    }
+    
+    
+    /**
+     * Obter o contexto da execução atual.
+     * 
+     * @return contexto da execução.
+     */
+    public ContextoExecucao getContextoExecucao() {
+        return contexto;
+    }
+    
+    
+    /**
+     * Obter a tabela de transição executada pela máquina.
+     * 
+     * @return tabela de transição.
+     */
+    public TabelaTransicao getTabelaTransicao() {
+        return tabela;
+    }
+    
+    
+    /**
+     * Obter as fitas da máquina. As fitas são montadas a partir dos arranjos
+     * de códigos, cada uma com as células visíveis do seu próprio
+     * processamento, como em uma {@link MaquinaMultifitas}.
+     * 
+     * <br><br>
+     * 
+     * As fitas montadas são mantidas pela máquina, e as chamadas seguintes
+     * apenas as estendem e regravam as células alteradas. Assim, os índices
+     * de densidade das fitas são atualizados célula a célula, e não
+     * reconstruídos a cada chamada. As fitas só são montadas de novo quando
+     * a palavra de entrada é carregada ou quando encolhem, ao desfazer passos.
+     * 
+     * @return Fitas da máquina.
+     */
+    @Override
+    public Fita[] getFitas() {
+        
+        if (contexto.getPalavra() != palavraMontada) {
+            Arrays.fill(fitas, null);
+            palavraMontada = contexto.getPalavra();
+        }
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            
+            int inicio = contexto.getInicio(i);
+            int fim = contexto.getFim(i);
+            
+            boolean nova = fitas[i] == null || inicio > iniciosMontados[i]
+            || fim < finsMontados[i];
+            
+            if (nova) {
+                fitas[i] = new Fita(tabela.getAlfabetoFita(), true,
+                fim - inicio + 1, -inicio);
+            } else {
+                fitas[i].redimensionar(iniciosMontados[i] - inicio,
+                fim - finsMontados[i]);
+            }
+            
+            for (int j = inicio; j <= fim; j++) {
+                int codigo = contexto.getCodigo(i, j);
+                int celula = Fita.POSICAO_INICIAL + j;
+                if (codigo < tabela.getNumeroSimbolos()) {
+                    // Os códigos da tabela e da fita são as posições dos
+                    // símbolos no alfabeto da fita.
+                    if (fitas[i].lerCodigo(celula) != codigo) {
+                        fitas[i].escreverCodigo(celula, codigo);
+                    }
+                } else if (nova) {
+                    // Caractere da palavra de entrada fora do alfabeto. Estas
+                    // células nunca são sobrescritas, pois a máquina para ao
+                    // lê-las, logo o caractere é recuperado da palavra.
+                    fitas[i].escrever(celula, new Simbolo(contexto.getPalavra()
+                    .charAt(j), false));
+                }
+            }
+            
+            iniciosMontados[i] = inicio;
+            finsMontados[i] = fim;
+            
+        }
+        
+        return fitas;
+        
+    }
+    
+    
+    /**
+     * Obter os cursores para as fitas da máquina, em endereços virtuais. O mapa
+     * é uma visão somente leitura, atualizada a cada chamada deste método.
+     * 
+     * @return Cursores para as fitas da máquina.
+     */
+    @Override
+    public Map<Integer, Integer> getCursores() {
+        for (int i = 0; i < numeroFitas; i++) {
+            enderecos[i] = getCursor(i);
+        }
+        return mapaEnderecos;
+    }
+    
+    
+    /**
+     * Obter o cursor de uma fita, em endereço virtual.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return cursor da fita, em endereço virtual.
+     */
+    @Override
+    public int getCursor(int fita) {
+        return Fita.POSICAO_INICIAL + contexto.getCursor(fita);
+    }
+    
+    
+    /**
+     * Obter o índice absoluto do cursor de uma fita, relativo às fitas
+     * retornadas por {@link #getFitas()}.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return índice absoluto do cursor da fita.
+     */
+    @Override
+    public int getIndiceAbsoluto(int fita) {
+        return contexto.getCursor(fita) - contexto.getInicio(fita);
+    }
+    
+    
+    /**
+     * Obter o estado atual da Unidade de Controle.
+     * 
+     * @return Estado atual da Unidade de Controle.
+     */
+    @Override
+    public Estado getEstadoAtual() {
+        return contexto.getEstadoAtual();
+    }
+    
+    
+    /**
+     * Obter o número de passos da simulação. Caso o número de passos exceda
+     * o limite de um int, retorna {@link Integer#MAX_VALUE}.
+     * 
+     * @return Número de passos da simulação.
+     */
+    @Override
+    public int getNumeroPassos() {
+        return (int) Math.min(contexto.getNumeroPassos(), Integer.MAX_VALUE);
+    }
+    
+    
+    /**
+     * Obter o número de passos da simulação, sem limite de faixa.
+     * 
+     * @return Número de passos da simulação.
+     */
+    public long getNumeroPassosLongo() {
+        return contexto.getNumeroPassos();
+    }
+    
+    
+    /**
+     * Obter a palavra de entrada.
+     * 
+     * @return palavra de entrada.
+     */
+    @Override
+    public String getPalavra() {
+        return contexto.getPalavra();
+    }
+    
+    
+    /**
+     * Status de palavra de entrada aceita.
+     * 
+     * @return Se true, a palavra foi aceita. Se false, a palavra foi rejeitada.
+     */
+    @Override
+    public boolean isAceita() {
+        return contexto.isAceita();
+    }
+    
+    
+    /**
+     * Status de execução da simulação.
+     * 
+     * @return Se true, a simulação está em execução. Se false, a máquina parou.
+     */
+    public boolean isEmExecucao() {
+        return contexto.isEmExecucao();
+    }
+    
+    
+    /**
+     * Adicionar um ouvinte do processo de simulação.
+     * 
+     * @param ouvinte ouvinte a ser adicionado.
+     */
+    @Override
+    public void adicionarOuvinte(OuvinteEtapaSimulacao ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+    
+    
+    /**
+     * Remover um ouvinte do processo de simulação.
+     * 
+     * @param ouvinte ouvinte a ser removido.
+     * 
+     * @return Se true, o ouvinte foi removido. Se false, ele não foi removido.
+     */
+    @Override
+    public boolean removerOuvinte(OuvinteEtapaSimulacao ouvinte) {
+        return ouvintes.removeIf(registrado -> OuvinteFiltrado.isOuvinte(registrado,
+        ouvinte));
+    }
+
+
+}
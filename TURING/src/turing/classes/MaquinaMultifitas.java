@@ -1,9 +1,9 @@
  package turing.classes;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import static turing.classes.DirecaoMovimento.DIREITA;
 import static turing.classes.DirecaoMovimento.ESQUERDA;
 import static turing.classes.Constantes.TAMANHO_FITA;
@@ -152,6 +152,9 @@ import static turing.classes.Constantes.TAMANHO_FITA;
 public class MaquinaMultifitas implements MaquinaTuring {
 
     
+    /**Número de passos entre duas consultas ao relógio em {@link #executar(long, long)}.*/
+    private static final int INTERVALO_RELOGIO = 1024;
+    
     /**Função de transição.*/
     private final FuncaoTransicao funcaoTransicao;
     
@@ -168,7 +171,19 @@ public class MaquinaMultifitas implements MaquinaTuring {
     private Fita[] fitas;
     
     /**Cursores das Cabeças de Leitura/Escrita, uma para cada fita.*/
-    private Map<Integer, Integer> cursores;
+    private final int[] cursores;
+    
+    /**Índices absolutos dos cursores, atualizados antes de notificar os ouvintes.*/
+    private final int[] indicesAbsolutos;
+    
+    /**Símbolos lidos sob os cursores, reaproveitado a cada passo.*/
+    private final char[] simbolosLidos;
+    
+    /**Visão dos cursores como mapa, para compatibilidade.*/
+    private final MapaCursores mapaCursores;
+    
+    /**Visão dos índices absolutos dos cursores como mapa, para os ouvintes.*/
+    private final MapaCursores mapaIndicesAbsolutos;
     
     /**Estado atual apontado pela Unidade de Controle.*/
     private Estado estadoAtual;
@@ -213,7 +228,11 @@ public class MaquinaMultifitas implements MaquinaTuring {
             this.alfabetoFita = alfabetoFita;
             this.conjuntoEstados = conjuntoEstados;
             this.numeroFitas = numeroFitas;
-            this.cursores = new HashMap<>();
+            this.cursores = new int[numeroFitas];
+            this.indicesAbsolutos = new int[numeroFitas];
+            this.simbolosLidos = new char[numeroFitas];
+            this.mapaCursores = new MapaCursores(cursores);
+            this.mapaIndicesAbsolutos = new MapaCursores(indicesAbsolutos);
             this.fitas = new Fita[numeroFitas];
             this.emExecucao = false;
         } else {
@@ -225,16 +244,17 @@ public class MaquinaMultifitas implements MaquinaTuring {
     
     
     /**
-     * Ler os símbolos sob os cursores das Cabeças de Leitura/Escrita. 
+     * Ler os símbolos sob os cursores das Cabeças de Leitura/Escrita. O arranjo
+     * retornado é reaproveitado a cada leitura, para que o passo da simulação
+     * não aloque objetos.
      * 
      * @return símbolos sob as as Cabeças de Leitura/Escrita
      */
     private char[] lerSimbolosFitas() {
-        char[] simbolosFitas = new char[fitas.length];
         for (int i = 0; i < fitas.length; i++) {
-            simbolosFitas[i] = fitas[i].ler(cursores.get(i)).getCaracter();
+            simbolosLidos[i] = fitas[i].ler(cursores[i]).getCaracter();
         }
-        return simbolosFitas;
+        return simbolosLidos;
     }
     
     
@@ -244,14 +264,45 @@ public class MaquinaMultifitas implements MaquinaTuring {
      * por meio de índices virtuais. Mas para imprimir o arranjo que está na
      * memória, é necessário informar os índices absolutos.
      * 
+     * <br><br>
+     * 
+     * O mapa retornado é uma visão do arranjo de índices absolutos, que é
+     * reaproveitado a cada chamada. Os ouvintes devem consultá-lo durante a
+     * notificação, e não guardá-lo.
+     * 
      * @return índices absolutos dos cursores para os arranjos em memória.
      */
     private Map<Integer, Integer> getIndicesAbsolutos() {
-        Map<Integer, Integer> map = new HashMap<>();
-        for (int i = 0; i < cursores.size(); i++) {
-            map.put(i, fitas[i].getEnderecoAbsoluto(cursores.get(i)));
+        for (int i = 0; i < fitas.length; i++) {
+            indicesAbsolutos[i] = fitas[i].getEnderecoAbsoluto(cursores[i]);
         }
-        return map;
+        return mapaIndicesAbsolutos;
+    }
+    
+    
+    /**
+     * Notificar os ouvintes sobre a etapa atual da simulação. Sem ouvintes, não
+     * há o que calcular, e o passo da simulação não aloca objetos.
+     */
+    private void notificarOuvintes() {
+        
+        if (ouvintes.isEmpty()) return;
+        
+        Map<Integer, Integer> indices = getIndicesAbsolutos();
+        
+        for (OuvinteEtapaSimulacao ouvinte : ouvintes) {
+            
+            ouvinte.atualizarEtapaSimulacao(estadoAtual,
+                fitas,
+                indices,
+                indiceTransicao,
+                numeroPassos,
+                aceita,
+                !emExecucao
+            );
+            
+        }
+        
     }
     
     
@@ -301,7 +352,7 @@ public class MaquinaMultifitas implements MaquinaTuring {
                 palavra.length() + celulasAdicionais,
                 1
             );
-            cursores.put(i, fitas[i].getCelulaInicial());
+            cursores[i] = fitas[i].getCelulaInicial();
         }
 
         fitas[0].iniciar(palavra);
@@ -309,26 +360,14 @@ public class MaquinaMultifitas implements MaquinaTuring {
         numeroPassos = 0;
 
         if (!simboloInvalido) {
-            char[] simbolosFitas = lerSimbolosFitas();
-            indiceTransicao = funcaoTransicao.indiceDe(estadoAtual, simbolosFitas);
+            indiceTransicao = funcaoTransicao.indiceDe(estadoAtual, lerSimbolosFitas());
             emExecucao = true;      
         } else {
             indiceTransicao = -1;
             emExecucao = false;
         }
 
-        for (OuvinteEtapaSimulacao ouvinte : ouvintes) {
-            
-            ouvinte.atualizarEtapaSimulacao(estadoAtual,
-                fitas, 
-                getIndicesAbsolutos(),
-                indiceTransicao,
-                numeroPassos,
-                aceita,
-                !emExecucao
-            );
-            
-        }
+        notificarOuvintes();
         
     }
 
@@ -367,10 +406,10 @@ public class MaquinaMultifitas implements MaquinaTuring {
      * 
      * Basicamente se executa o processamento da Máquina de Turing para a função
      * de transição definida e a palavra de entrada e redimensiona as fitas de
-     * acordo com a necessidade de alocação de memória (todas as fitas terão o
-     * mesmo número de células). Caso uma condição de parada seja verificada, a
-     * máquina para e notifica os ouvintes se a palavra de entrada foi aceita
-     * ou foi rejeitada.
+     * acordo com a necessidade de alocação de memória (cada fita terá o número
+     * de células que o seu próprio processamento exigir). Caso uma condição
+     * de parada seja verificada, a máquina para e notifica os ouvintes se a
+     * palavra de entrada foi aceita ou foi rejeitada.
      * 
      * <br><br>
      * 
@@ -379,6 +418,16 @@ public class MaquinaMultifitas implements MaquinaTuring {
      */
     @Override
     public void executarPasso() {
+        avancar();
+        notificarOuvintes();
+    }
+    
+    
+    /**
+     * Executar um passo da simulação, conforme descrito em
+     * {@link #executarPasso()}, sem notificar os ouvintes.
+     */
+    private void avancar() {
 
         if (emExecucao) {
             
@@ -386,11 +435,11 @@ public class MaquinaMultifitas implements MaquinaTuring {
             numeroPassos++;
             
             // Obtém a transição para o estado corrente e os símbolos lidos
-            // das fitas sob os cursores das Cabeças de Leitura/Escrita.
-            
-            char[] simbolosLidos = lerSimbolosFitas();
+            // das fitas sob os cursores das Cabeças de Leitura/Escrita. Ela
+            // já foi pesquisada ao final do passo anterior (ou ao reiniciar),
+            // logo basta recuperá-la pelo índice.
 
-            Transicao transicao = funcaoTransicao.getTransicao(estadoAtual, simbolosLidos);
+            Transicao transicao = funcaoTransicao.getTransicao(indiceTransicao);
 
             if (transicao != null) {
                 
@@ -404,36 +453,27 @@ public class MaquinaMultifitas implements MaquinaTuring {
                     
                     ParametrosFita params = paramsFita.get(i);
                     
-                    fitas[i].escrever(cursores.get(i), params.getSimboloEscrito());
+                    fitas[i].escrever(cursores[i], params.getSimboloEscrito());
                     
                     switch (params.getDirecaoMovimento()) {
-                        case DIREITA -> cursores.put(i, cursores.get(i) + 1);
-                        case ESQUERDA -> cursores.put(i, cursores.get(i) - 1);
+                        case DIREITA -> cursores[i]++;
+                        case ESQUERDA -> cursores[i]--;
                     }
                     
                 }
                 
-                // Redimensiona as fitas caso alguma delas precise alocar mais
-                // células à esquerda ou à direita na próxima execução do algoritmo.
-                // Isto faz com que todas as fitas tenham o mesmo número de células
-                // sempre ao longo da simulação.
-                
-                Map<Integer, Integer> indicesRelativos = getIndicesAbsolutos();
-                
-                int celulasEsquerda = 0;
-                int celulasDireita = 0;
-                
-                for (int i = 0; i < indicesRelativos.size(); i++) {
-                    if (indicesRelativos.get(i) <= 0) {
-                        celulasEsquerda = Math.abs(indicesRelativos.get(i) - 1);
-                    } else if (indicesRelativos.get(i) >= fitas[i].getComprimento()) {
-                        celulasDireita = (indicesRelativos.get(i) - fitas[i].getComprimento()) + 2;
-                    }                 
-                }
+                // Redimensiona cada fita cuja Cabeça de Leitura/Escrita chegou
+                // a uma das extremidades, para que haja uma célula à esquerda
+                // ou à direita na próxima execução do algoritmo. Cada fita
+                // cresce de forma independente das demais, logo as fitas que
+                // não foram percorridas não são copiadas.
                 
-                if (celulasEsquerda != 0 || celulasDireita != 0) {
-                    for (Fita fita : fitas) {
-                        fita.redimensionar(celulasEsquerda, celulasDireita);
+                for (int i = 0; i < fitas.length; i++) {
+                    int indice = fitas[i].getEnderecoAbsoluto(cursores[i]);
+                    if (indice <= 0) {
+                        fitas[i].redimensionar(Math.abs(indice - 1), 0);
+                    } else if (indice >= fitas[i].getComprimento()) {
+                        fitas[i].redimensionar(0, (indice - fitas[i].getComprimento()) + 2);
                     }
                 }
                 
@@ -447,8 +487,7 @@ public class MaquinaMultifitas implements MaquinaTuring {
                     emExecucao = false;
                     aceita = true;
                 } else {
-                    simbolosLidos = lerSimbolosFitas();
-                    indiceTransicao = funcaoTransicao.indiceDe(estadoAtual, simbolosLidos);
+                    indiceTransicao = funcaoTransicao.indiceDe(estadoAtual, lerSimbolosFitas());
                 }
                 
             } else {
@@ -464,19 +503,59 @@ public class MaquinaMultifitas implements MaquinaTuring {
         
         }
         
-        for (OuvinteEtapaSimulacao ouvinte : ouvintes) {
-            
-            ouvinte.atualizarEtapaSimulacao(estadoAtual,
-                fitas,
-                getIndicesAbsolutos(),
-                indiceTransicao,
-                numeroPassos,
-                aceita,
-                !emExecucao
-            );
-            
+    }
+    
+    
+    /**
+     * Executar a simulação até a máquina parar ou até que um dos limites seja
+     * atingido. Os passos são executados em um laço, sem notificar os ouvintes,
+     * que são notificados uma única vez, ao término. O relógio é consultado a
+     * cada {@value #INTERVALO_RELOGIO} passos.
+     * 
+     * @param limitePassos número máximo de passos a executar. Se menor ou igual
+     * a zero, não há limite.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return Resultado da execução.
+     */
+    @Override
+    public ResultadoExecucao executar(long limitePassos, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteTempo);
+        
+        StatusExecucao status = null;
+        
+        for (long passos = 0; emExecucao; passos++) {
+            if (limitePassos > 0 && passos >= limitePassos) {
+                status = StatusExecucao.LIMITE_PASSOS;
+                break;
+            }
+            if (limiteTempo > 0 && (passos & (INTERVALO_RELOGIO - 1)) == 0
+            && System.nanoTime() - inicio >= limiteNanos) {
+                status = StatusExecucao.LIMITE_TEMPO;
+                break;
+            }
+            avancar();
         }
         
+        if (status == null) {
+            status = aceita ? StatusExecucao.ACEITA : StatusExecucao.REJEITADA;
+        }
+        
+        int[] comprimentos = new int[fitas.length];
+        
+        for (int i = 0; i < fitas.length; i++) {
+            comprimentos[i] = fitas[i].getComprimento();
+        }
+        
+        notificarOuvintes();
+        
+        return new ResultadoExecucao(status, palavra, estadoAtual, numeroPassos,
+        comprimentos, System.nanoTime() - inicio);
+        
     }
     
     
@@ -536,13 +615,40 @@ public class MaquinaMultifitas implements MaquinaTuring {
 
 
     /**
-     * Obter os cursores para as fitas da máquina.
+     * Obter os cursores para as fitas da máquina. O mapa é uma visão somente
+     * leitura dos cursores primitivos da máquina.
      * 
      * @return Cursores para as fitas da máquina.
      */
     @Override
     public Map<Integer, Integer> getCursores() {
-        return cursores;
+        return mapaCursores;
+    }
+    
+    
+    /**
+     * Obter o cursor de uma fita, em endereço virtual.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return cursor da fita, em endereço virtual.
+     */
+    @Override
+    public int getCursor(int fita) {
+        return cursores[fita];
+    }
+    
+    
+    /**
+     * Obter o índice absoluto do cursor de uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return índice absoluto do cursor da fita.
+     */
+    @Override
+    public int getIndiceAbsoluto(int fita) {
+        return fitas[fita].getEnderecoAbsoluto(cursores[fita]);
     }
 
     
@@ -610,7 +716,8 @@ public class MaquinaMultifitas implements MaquinaTuring {
      */
     @Override
     public boolean removerOuvinte(OuvinteEtapaSimulacao ouvinte) {
-        return ouvintes.remove(ouvinte);
+        return ouvintes.removeIf(registrado -> OuvinteFiltrado.isOuvinte(registrado,
+        ouvinte));
     }
 
     
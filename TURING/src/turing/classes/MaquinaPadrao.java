@@ -144,7 +144,8 @@ public class MaquinaPadrao implements MaquinaTuring {
     
     @Override
     public boolean removerOuvinte(OuvinteEtapaSimulacao ouvinte) {
-        return ouvintes.remove(ouvinte);
+        return ouvintes.removeIf(registrado -> OuvinteFiltrado.isOuvinte(registrado,
+        ouvinte));
     }
 
     
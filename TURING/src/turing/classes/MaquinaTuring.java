@@ -1,6 +1,7 @@
 package turing.classes;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -27,6 +28,193 @@ public interface MaquinaTuring {
     public void executarPasso();
     
     
+    /**
+     * Executar a simulação até a máquina parar, aceitando ou rejeitando a
+     * palavra de entrada, ou até que um dos limites seja atingido. A execução
+     * parte da etapa atual, logo a palavra deve ter sido carregada antes. Os
+     * limites são contados a partir desta chamada, e um limite menor ou igual
+     * a zero indica que não há limite.
+     * 
+     * <br><br>
+     * 
+     * A implementação padrão executa {@link #executarPasso()} repetidamente, e
+     * com isso os ouvintes são notificados a cada passo. As implementações
+     * devem sobrescrever este método para executar os passos em um laço sem
+     * notificar os ouvintes, que são notificados apenas ao término.
+     * 
+     * @param limitePassos número máximo de passos a executar.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos.
+     * 
+     * @return Resultado da execução.
+     */
+    public default ResultadoExecucao executar(long limitePassos, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteTempo);
+        
+        boolean[] finalizado = new boolean[1];
+        
+        OuvinteEtapaSimulacao ouvinte = (estadoAtual, fitas, cursores, 
+        indiceTransicaoAtual, numeroPassos, palavraAceita, fim) -> {
+            finalizado[0] = fim;
+        };
+        
+        adicionarOuvinte(ouvinte);
+        
+        StatusExecucao status;
+        
+        try {
+            for (long passos = 0; ; passos++) {
+                if (limitePassos > 0 && passos >= limitePassos) {
+                    status = StatusExecucao.LIMITE_PASSOS;
+                    break;
+                }
+                if (limiteTempo > 0 && System.nanoTime() - inicio >= limiteNanos) {
+                    status = StatusExecucao.LIMITE_TEMPO;
+                    break;
+                }
+                executarPasso();
+                if (finalizado[0]) {
+                    status = isAceita() ? StatusExecucao.ACEITA :
+                    StatusExecucao.REJEITADA;
+                    break;
+                }
+            }
+        } finally {
+            removerOuvinte(ouvinte);
+        }
+        
+        Fita[] fitas = getFitas();
+        
+        int[] comprimentos = new int[fitas.length];
+        
+        for (int i = 0; i < fitas.length; i++) {
+            comprimentos[i] = fitas[i].getComprimento();
+        }
+        
+        return new ResultadoExecucao(status, getPalavra(), getEstadoAtual(),
+        getNumeroPassos(), comprimentos, System.nanoTime() - inicio);
+        
+    }
+    
+    
+    /**
+     * Executar a simulação até a máquina parar, sem limite de passos ou de
+     * tempo. Caso a máquina entre em LOOP, este método não retorna.
+     * 
+     * @return Resultado da execução.
+     */
+    public default ResultadoExecucao executar() {
+        return executar(0, 0);
+    }
+    
+    
+    /**
+     * Desfazer o último passo da simulação, voltando à etapa anterior sem
+     * repetir a execução desde o início. A implementação padrão não guarda os
+     * passos executados, e não desfaz nenhum passo. As implementações que
+     * mantêm um diário de passos devem sobrescrever este método, e notificar
+     * os ouvintes quando o passo for desfeito.
+     * 
+     * @return Se true, o passo foi desfeito. Se false, não há passos a desfazer.
+     */
+    public default boolean voltarPasso() {
+        return false;
+    }
+    
+    
+    /**
+     * Desfazer vários passos da simulação, até o número pedido ou até que não
+     * haja mais passos a desfazer. A implementação padrão chama
+     * {@link #voltarPasso()} repetidamente.
+     * 
+     * @param passos número de passos a desfazer.
+     * 
+     * @return número de passos desfeitos.
+     */
+    public default long voltar(long passos) {
+        long desfeitos = 0;
+        while (desfeitos < passos && voltarPasso()) {
+            desfeitos++;
+        }
+        return desfeitos;
+    }
+    
+    
+    /**
+     * Ir a um passo qualquer da simulação da palavra atual, notificando os
+     * ouvintes sobre a etapa alcançada. Equivale a
+     * {@link #irParaPasso(long, long)} sem limite de tempo.
+     * 
+     * @param passo número do passo.
+     * 
+     * @return número do passo alcançado, menor que o pedido caso a máquina
+     * pare antes.
+     */
+    public default long irParaPasso(long passo) {
+        return irParaPasso(passo, 0);
+    }
+    
+    
+    /**
+     * Ir a um passo qualquer da simulação da palavra atual, por no máximo o
+     * tempo informado, notificando os ouvintes sobre a etapa alcançada. Caso o
+     * tempo se esgote, a máquina fica no passo alcançado, e uma nova chamada
+     * continua a partir dele. Enquanto a máquina não para, cada chamada avança
+     * ao menos um passo, logo um passo distante pode ser alcançado em várias
+     * chamadas, que podem ser interrompidas entre si.
+     * 
+     * <br><br>
+     * 
+     * A implementação padrão reinicia a simulação, caso o passo já tenha sido
+     * ultrapassado, e executa {@link #executarPasso()} até alcançá-lo, logo os
+     * ouvintes são notificados a cada passo. As implementações que guardam
+     * marcos da execução devem sobrescrever este método, e notificar os
+     * ouvintes uma única vez.
+     * 
+     * @param passo número do passo.
+     * 
+     * @param limiteTempo tempo máximo de execução, em milissegundos. Se menor
+     * ou igual a zero, não há limite.
+     * 
+     * @return número do passo alcançado, menor que o pedido caso a máquina
+     * pare antes ou o tempo se esgote.
+     */
+    public default long irParaPasso(long passo, long limiteTempo) {
+        
+        long inicio = System.nanoTime();
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteTempo);
+        
+        if (getNumeroPassos() > passo) {
+            reiniciar();
+        }
+        
+        boolean[] finalizado = new boolean[1];
+        
+        OuvinteEtapaSimulacao ouvinte = (estadoAtual, fitas, cursores, 
+        indiceTransicaoAtual, numeroPassos, palavraAceita, fim) -> {
+            finalizado[0] = fim;
+        };
+        
+        adicionarOuvinte(ouvinte);
+        
+        try {
+            while (!finalizado[0] && getNumeroPassos() < passo) {
+                executarPasso();
+                if (limiteTempo > 0 && System.nanoTime() - inicio >= limiteNanos) {
+                    break;
+                }
+            }
+        } finally {
+            removerOuvinte(ouvinte);
+        }
+        
+        return getNumeroPassos();
+        
+    }
+    
+    
     /**
      * Reiniciar a simulação com base na palavra de entrada.
      */
@@ -79,6 +267,34 @@ public interface MaquinaTuring {
      * @return cursores para as fitas da máquina.
      */
     public Map<Integer, Integer> getCursores();
+    
+    
+    /**
+     * Obter o cursor de uma fita, em endereço virtual, sem conversão para
+     * {@link Integer}. As implementações que mantêm os cursores em inteiros
+     * primitivos devem sobrescrever este método.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return cursor da fita, em endereço virtual.
+     */
+    public default int getCursor(int fita) {
+        return getCursores().get(fita);
+    }
+    
+    
+    /**
+     * Obter o índice absoluto do cursor de uma fita, isto é, a posição da 
+     * célula sob a Cabeça de Leitura/Escrita no arranjo retornado por 
+     * {@link Fita#getCelulas()}.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return índice absoluto do cursor da fita.
+     */
+    public default int getIndiceAbsoluto(int fita) {
+        return getFitas()[fita].getEnderecoAbsoluto(getCursor(fita));
+    }
 
     
     /**
@@ -119,10 +335,33 @@ public interface MaquinaTuring {
      * @param ouvinte ouvinte a ser adicionado.
      */
     public void adicionarOuvinte(OuvinteEtapaSimulacao ouvinte);
-   
+    
+    
+    /**
+     * Adicionar um ouvinte do processo de simulação com uma política de
+     * notificação. O ouvinte é registrado por meio de um
+     * {@link OuvinteFiltrado}, que entrega a ele apenas as etapas previstas na
+     * política, e pode ser removido normalmente por
+     * {@link #removerOuvinte(OuvinteEtapaSimulacao)}.
+     * 
+     * @param ouvinte ouvinte a ser adicionado.
+     * 
+     * @param politica política de notificação.
+     * 
+     * @return filtro registrado, por meio do qual a última etapa não entregue
+     * pode ser entregue quando a simulação é pausada.
+     */
+    public default OuvinteFiltrado adicionarOuvinte(OuvinteEtapaSimulacao ouvinte,
+    PoliticaNotificacao politica) {
+        OuvinteFiltrado filtrado = new OuvinteFiltrado(ouvinte, politica);
+        adicionarOuvinte(filtrado);
+        return filtrado;
+    }
+
     
     /**
-     * Remover um ouvinte do processo de simulação.
+     * Remover um ouvinte do processo de simulação. Um ouvinte adicionado com
+     * uma política de notificação é removido junto com o seu filtro.
      * 
      * @param ouvinte ouvinte a ser removido.
      * 
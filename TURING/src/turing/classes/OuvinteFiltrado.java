@@ -0,0 +1,208 @@
+package turing.classes;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Ouvinte de simulação que filtra as etapas entregues a outro ouvinte, conforme
+ * uma {@link PoliticaNotificacao}. As etapas intermediárias que não são
+ * entregues são agrupadas: o filtro guarda apenas a última delas, que pode ser
+ * entregue depois por meio de {@link #entregarPendente()}. A etapa pendente não
+ * é copiada, logo ela só é válida enquanto a máquina não executa outro passo;
+ * como toda alteração da máquina gera uma nova etapa, isso vale sempre que a
+ * última etapa recebida é a pendente.
+ * 
+ * <br><br>
+ * 
+ * As máquinas que constroem as suas fitas a cada notificação devem usar
+ * {@link #atualizarEtapaSimulacao(Estado, Supplier, Map, int, int, boolean,
+ * boolean)}, que só obtém as fitas quando a etapa é entregue.
+ * 
+ * <br><br>
+ * 
+ * Com isso, o custo de atualizar uma interface gráfica deixa de ser pago a cada
+ * passo da simulação, e sim apenas nas etapas entregues.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class OuvinteFiltrado implements OuvinteEtapaSimulacao {
+    
+    
+    /**Ouvinte que recebe as etapas entregues.*/
+    private final OuvinteEtapaSimulacao ouvinte;
+    
+    /**Política de notificação.*/
+    private final PoliticaNotificacao politica;
+    
+    /**Intervalo mínimo entre duas entregas, em nanossegundos.*/
+    private final long intervaloNanos;
+    
+    /**Instante da última entrega, em nanossegundos.*/
+    private long ultimaEntrega;
+    
+    /**Status de etapa pendente, recebida e não entregue.*/
+    private boolean pendente;
+    
+    /**Estado atual da etapa pendente.*/
+    private Estado estadoAtual;
+    
+    /**Fornecedor das fitas da etapa pendente.*/
+    private Supplier<Fita[]> fitas;
+    
+    /**Cursores da etapa pendente.*/
+    private Map<Integer, Integer> cursores;
+    
+    /**Índice da transição atual da etapa pendente.*/
+    private int indiceTransicaoAtual;
+    
+    /**Número de passos da etapa pendente.*/
+    private int numeroPassos;
+    
+    /**Status de palavra aceita da etapa pendente.*/
+    private boolean palavraAceita;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param ouvinte ouvinte que recebe as etapas entregues.
+     * 
+     * @param politica política de notificação.
+     */
+    public OuvinteFiltrado(OuvinteEtapaSimulacao ouvinte, PoliticaNotificacao politica) {
+        this.ouvinte = ouvinte;
+        this.politica = politica;
+        this.intervaloNanos = politica.getTipo() == PoliticaNotificacao.Tipo.FREQUENCIA
+        ? 1_000_000_000L / politica.getValor() : 0;
+        this.ultimaEntrega = System.nanoTime() - intervaloNanos;
+    }
+    
+    
+    @Override
+    public void atualizarEtapaSimulacao(Estado estadoAtual, Fita[] fitas,
+    Map<Integer, Integer> cursores, int indiceTransicaoAtual, int numeroPassos,
+    boolean palavraAceita, boolean finalizado) {
+        atualizarEtapaSimulacao(estadoAtual, () -> fitas, cursores,
+        indiceTransicaoAtual, numeroPassos, palavraAceita, finalizado);
+    }
+    
+    
+    /**
+     * Receber uma etapa da simulação cujas fitas são obtidas apenas se ela for
+     * entregue. Caso a etapa fique pendente, o fornecedor é chamado apenas por
+     * {@link #entregarPendente()}, e deve então retornar as fitas da etapa
+     * atual da máquina.
+     * 
+     * @param estadoAtual estado atual da Unidade de Controle.
+     * 
+     * @param fitas fornecedor das fitas da máquina.
+     * 
+     * @param cursores índices das células em que estão os cursores.
+     * 
+     * @param indiceTransicaoAtual índice da transição a ser executada.
+     * 
+     * @param numeroPassos número de passos realizados.
+     * 
+     * @param palavraAceita status de palavra aceita.
+     * 
+     * @param finalizado status de simulação finalizada.
+     */
+    public void atualizarEtapaSimulacao(Estado estadoAtual, Supplier<Fita[]> fitas,
+    Map<Integer, Integer> cursores, int indiceTransicaoAtual, int numeroPassos,
+    boolean palavraAceita, boolean finalizado) {
+        
+        boolean entregar = finalizado || numeroPassos == 0;
+        
+        if (!entregar) {
+            switch (politica.getTipo()) {
+                case PASSOS -> entregar = numeroPassos % politica.getValor() == 0;
+                case FREQUENCIA -> entregar = System.nanoTime() - ultimaEntrega >=
+                intervaloNanos;
+                case PARADA -> entregar = false;
+            }
+        }
+        
+        if (entregar) {
+            pendente = false;
+            this.estadoAtual = null;
+            this.fitas = null;
+            this.cursores = null;
+            ultimaEntrega = System.nanoTime();
+            ouvinte.atualizarEtapaSimulacao(estadoAtual, fitas.get(), cursores,
+            indiceTransicaoAtual, numeroPassos, palavraAceita, finalizado);
+        } else {
+            pendente = true;
+            this.estadoAtual = estadoAtual;
+            this.fitas = fitas;
+            this.cursores = cursores;
+            this.indiceTransicaoAtual = indiceTransicaoAtual;
+            this.numeroPassos = numeroPassos;
+            this.palavraAceita = palavraAceita;
+        }
+        
+    }
+    
+    
+    /**
+     * Entregar a última etapa recebida e ainda não entregue, caso haja. Deve
+     * ser chamado quando a simulação é pausada, para que o ouvinte mostre a
+     * etapa atual.
+     * 
+     * @return Se true, uma etapa foi entregue. Se false, não havia etapa
+     * pendente.
+     */
+    public boolean entregarPendente() {
+        if (!pendente) return false;
+        pendente = false;
+        ultimaEntrega = System.nanoTime();
+        ouvinte.atualizarEtapaSimulacao(estadoAtual, fitas.get(), cursores,
+        indiceTransicaoAtual, numeroPassos, palavraAceita, false);
+        estadoAtual = null;
+        fitas = null;
+        cursores = null;
+        return true;
+    }
+    
+    
+    /**
+     * Verificar se um ouvinte registrado em uma máquina é um ouvinte ou o
+     * filtro de um ouvinte. Usado pelas implementações de
+     * {@link MaquinaTuring#removerOuvinte(OuvinteEtapaSimulacao)}.
+     * 
+     * @param registrado ouvinte registrado na máquina.
+     * 
+     * @param ouvinte ouvinte procurado.
+     * 
+     * @return Se true, o ouvinte registrado é o ouvinte procurado ou o seu
+     * filtro. Se false, não.
+     */
+    public static boolean isOuvinte(OuvinteEtapaSimulacao registrado,
+    OuvinteEtapaSimulacao ouvinte) {
+        return registrado == ouvinte || (registrado instanceof OuvinteFiltrado
+        filtrado && filtrado.ouvinte == ouvinte);
+    }
+    
+    
+    /**
+     * Obter o ouvinte que recebe as etapas entregues.
+     * 
+     * @return ouvinte filtrado.
+     */
+    public OuvinteEtapaSimulacao getOuvinte() {
+        return ouvinte;
+    }
+    
+    
+    /**
+     * Obter a política de notificação.
+     * 
+     * @return política de notificação.
+     */
+    public PoliticaNotificacao getPolitica() {
+        return politica;
+    }
+
+
+}
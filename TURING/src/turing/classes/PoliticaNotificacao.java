@@ -0,0 +1,137 @@
+package turing.classes;
+
+/**
+ * Política de notificação de um ouvinte de simulação. Define com que frequência
+ * as etapas da simulação são entregues ao ouvinte:
+ * 
+ * <br><br>
+ * 
+ * <ul>
+ * 
+ * <li>&nbsp;<b>A cada passo</b>: todas as etapas são entregues.</li><br>
+ * 
+ * <li>&nbsp;<b>A cada N passos</b>: apenas as etapas cujo número de passos é
+ * múltiplo de N são entregues.</li><br>
+ * 
+ * <li>&nbsp;<b>No máximo M vezes por segundo</b>: uma etapa só é entregue se
+ * tiver passado ao menos 1/M segundo desde a última entrega.</li><br>
+ * 
+ * <li>&nbsp;<b>Na parada</b>: apenas a etapa em que a máquina para é
+ * entregue.</li>
+ * 
+ * </ul>
+ * 
+ * Em todas as políticas, são sempre entregues a etapa inicial (passo 0) e a
+ * etapa em que a simulação é finalizada. Veja {@link OuvinteFiltrado}.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class PoliticaNotificacao {
+    
+    
+    /**Tipos de política de notificação.*/
+    public enum Tipo {
+        
+        /**Entrega a cada N passos.*/
+        PASSOS,
+        
+        /**Entrega no máximo M vezes por segundo.*/
+        FREQUENCIA,
+        
+        /**Entrega apenas quando a máquina para.*/
+        PARADA
+        
+    }
+    
+    
+    /**Entrega de todas as etapas da simulação.*/
+    public static final PoliticaNotificacao A_CADA_PASSO = new PoliticaNotificacao(
+    Tipo.PASSOS, 1);
+    
+    /**Entrega apenas da etapa em que a máquina para.*/
+    public static final PoliticaNotificacao NA_PARADA = new PoliticaNotificacao(
+    Tipo.PARADA, 0);
+    
+    /**Tipo da política.*/
+    private final Tipo tipo;
+    
+    /**Número de passos entre as entregas, ou número máximo de entregas por segundo.*/
+    private final int valor;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param tipo tipo da política.
+     * 
+     * @param valor número de passos entre as entregas, ou número máximo de
+     * entregas por segundo.
+     */
+    private PoliticaNotificacao(Tipo tipo, int valor) {
+        this.tipo = tipo;
+        this.valor = valor;
+    }
+    
+    
+    /**
+     * Obter a política de entrega a cada N passos.
+     * 
+     * @param passos número de passos entre as entregas.
+     * 
+     * @return política de notificação.
+     * 
+     * @throws IllegalArgumentException número de passos menor que 1.
+     */
+    public static PoliticaNotificacao aCadaPassos(int passos) {
+        if (passos < 1) {
+            throw new IllegalArgumentException("O número de passos entre as"
+            + " notificações deve ser maior ou igual a 1.");
+        }
+        return passos == 1 ? A_CADA_PASSO : new PoliticaNotificacao(Tipo.PASSOS,
+        passos);
+    }
+    
+    
+    /**
+     * Obter a política de entrega no máximo M vezes por segundo.
+     * 
+     * @param vezes número máximo de entregas por segundo.
+     * 
+     * @return política de notificação.
+     * 
+     * @throws IllegalArgumentException número de entregas menor que 1.
+     */
+    public static PoliticaNotificacao porSegundo(int vezes) {
+        if (vezes < 1) {
+            throw new IllegalArgumentException("O número de notificações por"
+            + " segundo deve ser maior ou igual a 1.");
+        }
+        return new PoliticaNotificacao(Tipo.FREQUENCIA, vezes);
+    }
+    
+    
+    /**
+     * Obter o tipo da política.
+     * 
+     * @return tipo da política.
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+    
+    
+    /**
+     * Obter o número de passos entre as entregas, na política
+     * {@link Tipo#PASSOS}, ou o número máximo de entregas por segundo, na
+     * política {@link Tipo#FREQUENCIA}.
+     * 
+     * @return valor da política.
+     */
+    public int getValor() {
+        return valor;
+    }
+
+
+}
@@ -0,0 +1,294 @@
+package turing.classes;
+
+import java.util.Arrays;
+
+/**
+ * Pontos de parada de uma execução de um programa compilado, avaliados dentro
+ * do laço de {@link ContextoExecucao#executar(long, long)}. A execução é
+ * interrompida com o status {@link StatusExecucao#PONTO_PARADA} quando:
+ * 
+ * <br><br>
+ * 
+ * - a Unidade de Controle chega a um estado marcado;<br>
+ * - a próxima transição a executar é uma transição marcada da função de
+ * transição;<br>
+ * - um símbolo marcado é gravado em uma fita;<br>
+ * - a Cabeça de Leitura/Escrita de uma fita chega a uma célula marcada;<br>
+ * - o número de passos chega ao passo marcado.
+ * 
+ * <br><br>
+ * 
+ * As três primeiras condições dependem apenas da entrada da tabela de
+ * transição, e são compiladas em um arranjo de sinais com uma posição por
+ * entrada, logo cada passo custa uma única consulta a esse arranjo. As células
+ * marcadas são comparadas apenas com os cursores das fitas que se moveram. As
+ * varreduras aceleradas são interrompidas antes de ultrapassar uma célula ou
+ * um passo marcado.
+ * 
+ * <br><br>
+ * 
+ * Uma execução interrompida pode ser retomada por uma nova chamada de
+ * {@link ContextoExecucao#executar(long, long)}, que executa ao menos um passo
+ * antes de verificar os pontos de parada de novo.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class PontosParada {
+    
+    
+    /**Sinal de parada antes de executar a entrada.*/
+    private static final byte ANTES = 1;
+    
+    /**Sinal de parada após executar a entrada.*/
+    private static final byte APOS = 2;
+    
+    /**Tabela de transição executada.*/
+    private final TabelaTransicao tabela;
+    
+    /**Sinais de parada de cada entrada da tabela de transição.*/
+    private final byte[] sinais;
+    
+    /**Células marcadas de cada fita, relativas à célula inicial.*/
+    private final int[][] celulas;
+    
+    /**Passo marcado, ou 0, caso não haja.*/
+    private long passo;
+    
+    
+    /**
+     * Constructor padrão, sem pontos de parada.
+     * 
+     * @param tabela tabela de transição executada.
+     */
+    public PontosParada(TabelaTransicao tabela) {
+        this.tabela = tabela;
+        this.sinais = new byte[tabela.getCombinacoes() * tabela.getNumeroEstados()];
+        this.celulas = new int[tabela.getNumeroFitas()][0];
+    }
+    
+    
+    /**
+     * Parar quando a Unidade de Controle chegar a um estado.
+     * 
+     * @param rotulo rótulo do estado.
+     * 
+     * @throws Exception estado não pertence ao conjunto dos estados.
+     */
+    public void adicionarEstado(String rotulo) throws Exception {
+        
+        for (int estado = 0; estado < tabela.getNumeroEstados(); estado++) {
+            if (tabela.getEstado(estado).getRotulo().equals(rotulo)) {
+                int inicio = estado * tabela.getCombinacoes();
+                for (int i = 0; i < tabela.getCombinacoes(); i++) {
+                    sinais[inicio + i] |= ANTES;
+                }
+                return;
+            }
+        }
+        
+        throw new Exception("Estado " + rotulo + " não pertence ao conjunto dos"
+        + " estados.");
+        
+    }
+    
+    
+    /**
+     * Parar antes de executar uma transição.
+     * 
+     * @param indice índice da transição na função de transição.
+     * 
+     * @throws Exception índice fora da função de transição.
+     */
+    public void adicionarTransicao(int indice) throws Exception {
+        
+        if (indice < 0 || indice >= tabela.getFuncaoTransicao().getComprimento()) {
+            throw new Exception("Transição " + indice + " não pertence à função de"
+            + " transição.");
+        }
+        
+        for (int entrada = 0; entrada < sinais.length; entrada++) {
+            if (tabela.getIndiceTransicao(entrada) == indice) {
+                sinais[entrada] |= ANTES;
+            }
+        }
+        
+    }
+    
+    
+    /**
+     * Parar após a gravação de um símbolo em uma fita.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param caractere caractere do símbolo.
+     * 
+     * @throws Exception fita inexistente ou símbolo não pertence ao alfabeto
+     * da fita.
+     */
+    public void adicionarSimboloGravado(int fita, char caractere) throws Exception {
+        
+        validarFita(fita);
+        
+        int codigo = tabela.getCodigo(caractere);
+        
+        if (tabela.getSimbolo(codigo) == null) {
+            throw new Exception("Símbolo " + caractere + " não pertence ao alfabeto"
+            + " da fita.");
+        }
+        
+        for (int entrada = 0; entrada < sinais.length; entrada++) {
+            if (tabela.getProximoEstado(entrada) != TabelaTransicao.INDEFINIDO &&
+            tabela.getSimboloGravado(entrada, fita) == codigo) {
+                sinais[entrada] |= APOS;
+            }
+        }
+        
+    }
+    
+    
+    /**
+     * Parar quando a Cabeça de Leitura/Escrita de uma fita chegar a uma célula.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param celula posição da célula, relativa à célula inicial, como em
+     * {@link ContextoExecucao#getCursor(int)}.
+     * 
+     * @throws Exception fita inexistente.
+     */
+    public void adicionarCelula(int fita, int celula) throws Exception {
+        validarFita(fita);
+        int[] atuais = celulas[fita];
+        celulas[fita] = Arrays.copyOf(atuais, atuais.length + 1);
+        celulas[fita][atuais.length] = celula;
+    }
+    
+    
+    /**
+     * Parar quando o número de passos chegar a um valor.
+     * 
+     * @param passo número do passo. Se menor ou igual a zero, não há passo
+     * marcado.
+     */
+    public void setPasso(long passo) {
+        this.passo = Math.max(passo, 0);
+    }
+    
+    
+    /**
+     * Verificar se uma fita existe na máquina.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @throws Exception fita inexistente.
+     */
+    private void validarFita(int fita) throws Exception {
+        if (fita < 0 || fita >= tabela.getNumeroFitas()) {
+            throw new Exception("Fita " + fita + " não existe na máquina.");
+        }
+    }
+    
+    
+    /**
+     * Remover todos os pontos de parada.
+     */
+    public void limpar() {
+        Arrays.fill(sinais, (byte) 0);
+        for (int i = 0; i < celulas.length; i++) {
+            celulas[i] = new int[0];
+        }
+        passo = 0;
+    }
+    
+    
+    /**
+     * Limitar o avanço de uma varredura acelerada, para que ela não ultrapasse
+     * um ponto de parada. Uma entrada com sinal de parada não é acelerada, e a
+     * varredura para na próxima célula marcada da fita percorrida e no passo
+     * marcado.
+     * 
+     * @param contexto contexto em execução.
+     * 
+     * @param entrada entrada de varredura.
+     * 
+     * @param fita índice da fita percorrida.
+     * 
+     * @param maximo número máximo de passos a avançar.
+     * 
+     * @return novo número máximo de passos a avançar.
+     */
+    long limitarVarredura(ContextoExecucao contexto, int entrada, int fita,
+    long maximo) {
+        
+        if (sinais[entrada] != 0) return 0;
+        
+        long restantes = passo - contexto.getNumeroPassos();
+        
+        if (restantes > 0 && restantes < maximo) {
+            maximo = restantes;
+        }
+        
+        int movimento = tabela.getMovimento(entrada, fita);
+        int cursor = contexto.getCursor(fita);
+        
+        for (int celula : celulas[fita]) {
+            long distancia = (long) (celula - cursor) * movimento;
+            if (distancia > 0 && distancia < maximo) {
+                maximo = distancia;
+            }
+        }
+        
+        return maximo;
+        
+    }
+    
+    
+    /**
+     * Verificar se a execução deve parar, após uma iteração do laço de
+     * execução.
+     * 
+     * @param contexto contexto em execução.
+     * 
+     * @param entrada entrada executada na iteração.
+     * 
+     * @param entradaAtual entrada a ser executada no próximo passo.
+     * 
+     * @return Se true, um ponto de parada foi alcançado. Se false, não.
+     */
+    boolean isParada(ContextoExecucao contexto, int entrada, int entradaAtual) {
+        
+        if ((sinais[entrada] & APOS) != 0 || contexto.getNumeroPassos() == passo) {
+            return true;
+        }
+        
+        if (contexto.isEmExecucao() && (sinais[entradaAtual] & ANTES) != 0) {
+            return true;
+        }
+        
+        for (int i = 0; i < celulas.length; i++) {
+            if (celulas[i].length > 0 && tabela.getMovimento(entrada, i) != 0) {
+                int cursor = contexto.getCursor(i);
+                for (int celula : celulas[i]) {
+                    if (celula == cursor) return true;
+                }
+            }
+        }
+        
+        return false;
+        
+    }
+    
+    
+    /**
+     * Obter a tabela de transição executada.
+     * 
+     * @return tabela de transição.
+     */
+    public TabelaTransicao getTabelaTransicao() {
+        return tabela;
+    }
+
+
+}
@@ -0,0 +1,226 @@
+package turing.classes;
+
+/**
+ * Resultado de uma execução da máquina de Turing sem interface gráfica, por meio
+ * do método {@link MaquinaTuring#executar(long, long)}. Reúne o status de
+ * término, o número de passos, o estado final da Unidade de Controle e a
+ * extensão de cada fita.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class ResultadoExecucao {
+    
+    
+    /**Status de término da execução.*/
+    private final StatusExecucao status;
+    
+    /**Palavra de entrada processada.*/
+    private final String palavra;
+    
+    /**Estado da Unidade de Controle ao término da execução.*/
+    private final Estado estadoFinal;
+    
+    /**Número total de passos da simulação.*/
+    private final long numeroPassos;
+    
+    /**Número de células de cada fita ao término da execução.*/
+    private final int[] comprimentos;
+    
+    /**Tempo de execução, em nanossegundos.*/
+    private final long tempoExecucao;
+    
+    /**Passo a partir do qual a execução repete um ciclo, ou -1.*/
+    private final long inicioCiclo;
+    
+    /**Período do ciclo, em passos, ou -1.*/
+    private final long periodoCiclo;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param status status de término da execução.
+     * 
+     * @param palavra palavra de entrada processada.
+     * 
+     * @param estadoFinal estado da Unidade de Controle ao término da execução.
+     * 
+     * @param numeroPassos número total de passos da simulação.
+     * 
+     * @param comprimentos número de células de cada fita.
+     * 
+     * @param tempoExecucao tempo de execução, em nanossegundos.
+     */
+    public ResultadoExecucao(StatusExecucao status, String palavra, Estado estadoFinal,
+    long numeroPassos, int[] comprimentos, long tempoExecucao) {
+        this(status, palavra, estadoFinal, numeroPassos, comprimentos, tempoExecucao,
+        -1, -1);
+    }
+    
+    
+    /**
+     * Constructor para uma execução interrompida por um ciclo (veja
+     * {@link StatusExecucao#isNaoPara()}).
+     * 
+     * @param status status de término da execução.
+     * 
+     * @param palavra palavra de entrada processada.
+     * 
+     * @param estadoFinal estado da Unidade de Controle ao término da execução.
+     * 
+     * @param numeroPassos número total de passos da simulação.
+     * 
+     * @param comprimentos número de células de cada fita.
+     * 
+     * @param tempoExecucao tempo de execução, em nanossegundos.
+     * 
+     * @param inicioCiclo passo a partir do qual a execução repete o ciclo, ou -1.
+     * 
+     * @param periodoCiclo período do ciclo, em passos, ou -1.
+     */
+    public ResultadoExecucao(StatusExecucao status, String palavra, Estado estadoFinal,
+    long numeroPassos, int[] comprimentos, long tempoExecucao, long inicioCiclo,
+    long periodoCiclo) {
+        this.status = status;
+        this.palavra = palavra;
+        this.estadoFinal = estadoFinal;
+        this.numeroPassos = numeroPassos;
+        this.comprimentos = comprimentos.clone();
+        this.tempoExecucao = tempoExecucao;
+        this.inicioCiclo = inicioCiclo;
+        this.periodoCiclo = periodoCiclo;
+    }
+    
+    
+    /**
+     * Obter o status de término da execução.
+     * 
+     * @return status de término da execução.
+     */
+    public StatusExecucao getStatus() {
+        return status;
+    }
+    
+    
+    /**
+     * Status de palavra de entrada aceita.
+     * 
+     * @return Se true, a palavra foi aceita. Se false, a palavra foi rejeitada
+     * ou a execução foi interrompida por um dos limites.
+     */
+    public boolean isAceita() {
+        return status == StatusExecucao.ACEITA;
+    }
+    
+    
+    /**
+     * Obter a palavra de entrada processada.
+     * 
+     * @return palavra de entrada processada.
+     */
+    public String getPalavra() {
+        return palavra;
+    }
+    
+    
+    /**
+     * Obter o estado da Unidade de Controle ao término da execução.
+     * 
+     * @return estado final da Unidade de Controle.
+     */
+    public Estado getEstadoFinal() {
+        return estadoFinal;
+    }
+    
+    
+    /**
+     * Obter o número total de passos da simulação, incluindo os passos
+     * executados antes da chamada a {@link MaquinaTuring#executar(long, long)}.
+     * 
+     * @return número total de passos.
+     */
+    public long getNumeroPassos() {
+        return numeroPassos;
+    }
+    
+    
+    /**
+     * Obter o número de fitas da máquina.
+     * 
+     * @return número de fitas.
+     */
+    public int getNumeroFitas() {
+        return comprimentos.length;
+    }
+    
+    
+    /**
+     * Obter o número de células de uma fita ao término da execução.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return número de células da fita.
+     */
+    public int getComprimento(int fita) {
+        return comprimentos[fita];
+    }
+    
+    
+    /**
+     * Obter o tempo de execução.
+     * 
+     * @return tempo de execução, em nanossegundos.
+     */
+    public long getTempoExecucao() {
+        return tempoExecucao;
+    }
+    
+    
+    /**
+     * Obter o passo a partir do qual a execução repete o ciclo, quando foi
+     * provado que a máquina não para (veja {@link StatusExecucao#isNaoPara()}).
+     * Para {@link StatusExecucao#CICLO}, é o passo exato em que a execução
+     * entra no ciclo.
+     * 
+     * @return passo de início do ciclo, ou -1.
+     */
+    public long getInicioCiclo() {
+        return inicioCiclo;
+    }
+    
+    
+    /**
+     * Obter o período do ciclo, em passos, quando o status é
+     * {@link StatusExecucao#CICLO} ou {@link StatusExecucao#CICLO_TRANSLADADO}.
+     * 
+     * @return período do ciclo, ou -1.
+     */
+    public long getPeriodoCiclo() {
+        return periodoCiclo;
+    }
+    
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(status);
+        sb.append(" [");
+        sb.append(estadoFinal);
+        sb.append(", ");
+        sb.append(numeroPassos);
+        sb.append(" passos]");
+        if (inicioCiclo >= 0) {
+            sb.append(" a partir do passo ");
+            sb.append(inicioCiclo);
+        }
+        if (periodoCiclo >= 0) {
+            sb.append(" com período ");
+            sb.append(periodoCiclo);
+        }
+        return sb.toString();
+    }
+
+
+}
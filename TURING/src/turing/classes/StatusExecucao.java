@@ -0,0 +1,62 @@
+package turing.classes;
+
+/**
+ * Status de término de uma execução da máquina de Turing sem interface gráfica,
+ * por meio do método {@link MaquinaTuring#executar(long, long)}.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public enum StatusExecucao {
+    
+    
+    /**A máquina parou em um estado terminal e a palavra foi aceita.*/
+    ACEITA,
+    
+    /**A máquina parou sem transição definida e a palavra foi rejeitada.*/
+    REJEITADA,
+    
+    /**O limite de passos foi atingido antes de a máquina parar.*/
+    LIMITE_PASSOS,
+    
+    /**O limite de tempo foi atingido antes de a máquina parar.*/
+    LIMITE_TEMPO,
+    
+    /**A máquina repetiu uma configuração, logo nunca vai parar.*/
+    CICLO,
+    
+    /**A máquina repete uma configuração deslocada na fita, logo nunca vai parar.*/
+    CICLO_TRANSLADADO,
+    
+    /**A máquina vai e volta em uma fita que cresce linearmente, e nunca vai parar.*/
+    VAIVEM,
+    
+    /**A execução foi interrompida em um ponto de parada.*/
+    PONTO_PARADA;
+    
+    
+    /**
+     * Verificar se a máquina parou, aceitando ou rejeitando a palavra.
+     * 
+     * @return Se true, a máquina parou. Se false, a execução foi interrompida
+     * por um dos limites ou por um ciclo.
+     */
+    public boolean isFinalizada() {
+        return this == ACEITA || this == REJEITADA;
+    }
+    
+    
+    /**
+     * Verificar se foi provado que a máquina nunca vai parar.
+     * 
+     * @return Se true, a máquina entrou em um ciclo, em um ciclo transladado ou
+     * em um vaivém. Se false, a máquina parou ou a execução foi interrompida
+     * por um dos limites.
+     */
+    public boolean isNaoPara() {
+        return this == CICLO || this == CICLO_TRANSLADADO || this == VAIVEM;
+    }
+
+
+}
@@ -0,0 +1,609 @@
+package turing.classes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de transição densa, obtida a partir da compilação de uma configuração
+ * de Máquina de Turing ({@link ConfigMaqTuring}). Enquanto a {@link FuncaoTransicao}
+ * é uma lista de objetos {@link Transicao}, a tabela de transição rebaixa o
+ * programa para arranjos de tipos primitivos, em que os estados e os símbolos
+ * são identificados por números inteiros pequenos.
+ * 
+ * <br><br>
+ * 
+ * Os códigos dos estados correspondem às posições dos estados no conjunto dos
+ * estados, e os códigos dos símbolos correspondem às posições dos símbolos no
+ * alfabeto da fita. É reservado um código adicional, igual ao número de símbolos
+ * do alfabeto, para os caracteres da palavra de entrada que não pertencem ao
+ * alfabeto. Para estes, nunca haverá uma transição definida.
+ * 
+ * <br><br>
+ * 
+ * Cada entrada da tabela é endereçada por:
+ * 
+ * <br><br>
+ * 
+ * <BLOCKQUOTE>
+ * 
+ * entrada = q × (|Γ| + 1)<sup>k</sup> + s<sub>1</sub> + s<sub>2</sub> × (|Γ| + 1)
+ * + ... + s<sub>k</sub> × (|Γ| + 1)<sup>k-1</sup>
+ * 
+ * </BLOCKQUOTE>
+ * 
+ * <br>
+ * 
+ * Onde <b>q</b> é o código do estado atual e <b>s<sub>i</sub></b> é o código do
+ * símbolo lido da fita <b>i</b>. Para cada entrada são armazenados o código do
+ * novo estado, os códigos dos símbolos gravados e os deslocamentos das Cabeças
+ * de Leitura/Escrita (-1, 0 ou 1), além do índice da transição original na
+ * função de transição.
+ * 
+ * <br><br>
+ * 
+ * A tabela não pode ser alterada após a sua construção. Qualquer alteração no
+ * programa exige que uma nova tabela seja compilada. Por ser imutável, uma
+ * mesma tabela pode ser compartilhada por várias execuções simultâneas, cada
+ * uma com a sua própria {@link MaquinaCompilada} (veja {@link ExecutorLote}).
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class TabelaTransicao {
+    
+    
+    /**Número máximo de entradas da tabela, multiplicado pelo número de fitas.*/
+    public static final int NUMERO_MAX_ENTRADAS = 1 << 24;
+    
+    /**Código de estado indefinido.*/
+    public static final int INDEFINIDO = -1;
+    
+    /**Estados da máquina, indexados pelo código do estado.*/
+    private final Estado[] estados;
+    
+    /**Símbolos do alfabeto da fita, indexados pelo código do símbolo.*/
+    private final Simbolo[] simbolos;
+    
+    /**Alfabeto da fita.*/
+    private final AlfabetoFita alfabetoFita;
+    
+    /**Conjunto dos estados.*/
+    private final ConjuntoEstados conjuntoEstados;
+    
+    /**Função de transição compilada.*/
+    private final FuncaoTransicao funcaoTransicao;
+    
+    /**Número de fitas da máquina.*/
+    private final int numeroFitas;
+    
+    /**Base de empacotamento dos símbolos lidos (|Γ| + 1).*/
+    private final int base;
+    
+    /**Número de combinações de símbolos lidos para cada estado (base<sup>k</sup>).*/
+    private final int combinacoes;
+    
+    /**Código do estado inicial.*/
+    private final int estadoInicial;
+    
+    /**Código do símbolo de branco.*/
+    private final int simboloBranco;
+    
+    /**Status de estado terminal, indexado pelo código do estado.*/
+    private final boolean[] terminais;
+    
+    /**Código do novo estado para cada entrada, ou {@link #INDEFINIDO}.*/
+    private final int[] proximoEstado;
+    
+    /**Códigos dos símbolos gravados, k por entrada.*/
+    private final short[] simbolosGravados;
+    
+    /**Deslocamentos das Cabeças de Leitura/Escrita, k por entrada.*/
+    private final byte[] movimentos;
+    
+    /**Índice da transição na função de transição para cada entrada.*/
+    private final int[] indicesTransicao;
+    
+    /**Fita percorrida por cada entrada de varredura, ou {@link #INDEFINIDO}.*/
+    private final byte[] fitasVarredura;
+    
+    /**Mapeamento dos caracteres para os códigos dos símbolos.*/
+    private final Map<Character, Integer> codigos;
+    
+    
+    /**
+     * Verificar se a tabela de transição de uma máquina de Turing cabe no
+     * limite de {@link #NUMERO_MAX_ENTRADAS} entradas, sem compilá-la. As
+     * máquinas cujas tabelas não cabem no limite devem ser simuladas por uma
+     * {@link MaquinaMultifitas}.
+     * 
+     * @param alfabetoFita alfabeto da fita.
+     * 
+     * @param conjuntoEstados conjunto dos estados.
+     * 
+     * @param numeroFitas número de fitas da máquina.
+     * 
+     * @return Se true, a tabela cabe no limite. Se false, não cabe.
+     */
+    public static boolean isDentroLimite(AlfabetoFita alfabetoFita,
+    ConjuntoEstados conjuntoEstados, int numeroFitas) {
+        
+        long base = alfabetoFita.getComprimento() + 1;
+        long estados = Math.max(conjuntoEstados.getComprimento(), 1);
+        long numCombinacoes = 1;
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            numCombinacoes *= base;
+            if (numCombinacoes * estados * numeroFitas > NUMERO_MAX_ENTRADAS) {
+                return false;
+            }
+        }
+        
+        return true;
+        
+    }
+    
+    
+    /**
+     * Constructor padrão. Compila a configuração da máquina de Turing para a
+     * tabela de transição.
+     * 
+     * @param config configuração da máquina de Turing.
+     * 
+     * @throws Exception erro na definição dos parâmetros, ou tabela com número
+     * de entradas acima do limite.
+     */
+    public TabelaTransicao(ConfigMaqTuring config) throws Exception {
+        this(config.getAlfabetoFita(), config.getConjuntoEstados(),
+        config.getFuncaoTransicao(), config.getNumeroFitas());
+    }
+    
+    
+    /**
+     * Constructor padrão. Compila os parâmetros da máquina de Turing para a
+     * tabela de transição.
+     * 
+     * @param alfabetoFita alfabeto da fita.
+     * 
+     * @param conjuntoEstados conjunto dos estados.
+     * 
+     * @param funcaoTransicao função de transição.
+     * 
+     * @param numeroFitas número de fitas da máquina.
+     * 
+     * @throws Exception erro na definição dos parâmetros, ou tabela com número
+     * de entradas acima do limite.
+     */
+    public TabelaTransicao(AlfabetoFita alfabetoFita, ConjuntoEstados conjuntoEstados,
+    FuncaoTransicao funcaoTransicao, int numeroFitas) throws Exception {
+        
+        if (numeroFitas <= 0) {
+            throw new Exception("Número de fitas deve ser maior ou igual a 1.");
+        }
+        
+        this.alfabetoFita = alfabetoFita;
+        this.conjuntoEstados = conjuntoEstados;
+        this.funcaoTransicao = funcaoTransicao;
+        this.numeroFitas = numeroFitas;
+        
+        // Codifica os estados.
+        
+        estados = new Estado[conjuntoEstados.getComprimento()];
+        terminais = new boolean[estados.length];
+        
+        Map<String, Integer> codigosEstados = new HashMap<>();
+        
+        for (int i = 0; i < estados.length; i++) {
+            estados[i] = conjuntoEstados.getEstado(i);
+            terminais[i] = estados[i].isTerminal();
+            codigosEstados.put(estados[i].getRotulo(), i);
+        }
+        
+        Estado inicial = conjuntoEstados.getEstadoInicial();
+        
+        if (inicial == null) {
+            throw new Exception("Estado inicial não definido.");
+        }
+        
+        estadoInicial = codigosEstados.get(inicial.getRotulo());
+        
+        // Codifica os símbolos.
+        
+        simbolos = new Simbolo[alfabetoFita.getComprimento()];
+        codigos = new HashMap<>();
+        
+        for (int i = 0; i < simbolos.length; i++) {
+            simbolos[i] = alfabetoFita.getSimbolo(i);
+            codigos.put(simbolos[i].getCaracter(), i);
+        }
+        
+        simboloBranco = codigos.get(alfabetoFita.getSimboloBranco().getCaracter());
+        
+        base = simbolos.length + 1;
+        
+        // Dimensiona a tabela.
+        
+        if (!isDentroLimite(alfabetoFita, conjuntoEstados, numeroFitas)) {
+            throw new Exception(
+                "A tabela de transição excede o limite de " +
+                NUMERO_MAX_ENTRADAS + " entradas."
+            );
+        }
+        
+        int numCombinacoes = 1;
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            numCombinacoes *= base;
+        }
+        
+        combinacoes = numCombinacoes;
+        
+        int numeroEntradas = combinacoes * estados.length;
+        
+        proximoEstado = new int[numeroEntradas];
+        indicesTransicao = new int[numeroEntradas];
+        simbolosGravados = new short[numeroEntradas * numeroFitas];
+        movimentos = new byte[numeroEntradas * numeroFitas];
+        
+        Arrays.fill(proximoEstado, INDEFINIDO);
+        Arrays.fill(indicesTransicao, INDEFINIDO);
+        
+        // Preenche as entradas. Se houver transições repetidas, prevalece a
+        // primeira na função de transição, como na pesquisa sequencial.
+        
+        for (int t = 0; t < funcaoTransicao.getComprimento(); t++) {
+            
+            Transicao transicao = funcaoTransicao.getTransicao(t);
+            
+            List<ParametrosFita> parametros = transicao.getParametrosFita();
+            
+            if (parametros.size() != numeroFitas) continue;
+            
+            Integer qa = codigosEstados.get(transicao.getEstadoInicial().getRotulo());
+            Integer qn = codigosEstados.get(transicao.getEstadoFinal().getRotulo());
+            
+            if (qa == null || qn == null) continue;
+            
+            int entrada = 0;
+            int peso = 1;
+            boolean valida = true;
+            
+            for (int i = 0; i < numeroFitas; i++) {
+                Integer lido = codigos.get(parametros.get(i).getSimboloLido().getCaracter());
+                if (lido == null) {
+                    valida = false;
+                    break;
+                }
+                entrada += lido * peso;
+                peso *= base;
+            }
+            
+            if (!valida) continue;
+            
+            entrada += qa * combinacoes;
+            
+            if (proximoEstado[entrada] != INDEFINIDO) continue;
+            
+            for (int i = 0; i < numeroFitas; i++) {
+                Integer gravado = codigos.get(parametros.get(i).getSimboloEscrito().getCaracter());
+                if (gravado == null) {
+                    valida = false;
+                    break;
+                }
+                simbolosGravados[entrada * numeroFitas + i] = (short) (int) gravado;
+                movimentos[entrada * numeroFitas + i] = switch (parametros.get(i)
+                .getDirecaoMovimento()) {
+                    case DIREITA -> 1;
+                    case ESQUERDA -> -1;
+                    default -> 0;
+                };
+            }
+            
+            if (!valida) continue;
+            
+            proximoEstado[entrada] = qn;
+            indicesTransicao[entrada] = t;
+            
+        }
+        
+        // Identifica as entradas de varredura.
+        
+        fitasVarredura = new byte[numeroEntradas];
+        
+        for (int entrada = 0; entrada < numeroEntradas; entrada++) {
+            fitasVarredura[entrada] = (byte) identificarVarredura(entrada);
+        }
+        
+    }
+    
+    
+    /**
+     * Verificar se uma entrada é de varredura, isto é, se a transição mantém a
+     * máquina no mesmo estado (não terminal), grava em cada fita o mesmo símbolo
+     * lido e move a Cabeça de Leitura/Escrita de apenas uma fita, como em
+     * <i>q0, 0, _ = q0, 0, _, D, P</i>. Enquanto a cabeça que se move ler o mesmo
+     * símbolo, a mesma entrada é executada de novo, sem alterar as fitas.
+     * 
+     * @param entrada entrada da tabela de transição.
+     * 
+     * @return índice da fita percorrida, ou {@link #INDEFINIDO}, caso a entrada
+     * não seja de varredura.
+     */
+    private int identificarVarredura(int entrada) {
+        
+        int estado = entrada / combinacoes;
+        
+        if (proximoEstado[entrada] != estado || terminais[estado]) {
+            return INDEFINIDO;
+        }
+        
+        int fita = INDEFINIDO;
+        int simbolos = entrada % combinacoes;
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            int lido = simbolos % base;
+            simbolos /= base;
+            if (simbolosGravados[entrada * numeroFitas + i] != lido) {
+                return INDEFINIDO;
+            }
+            if (movimentos[entrada * numeroFitas + i] != 0) {
+                if (fita != INDEFINIDO) {
+                    return INDEFINIDO;
+                }
+                fita = i;
+            }
+        }
+        
+        return fita;
+        
+    }
+    
+    
+    /**
+     * Obter o código de um caractere.
+     * 
+     * @param caractere caractere do símbolo.
+     * 
+     * @return código do símbolo, ou o código reservado para caracteres que não
+     * pertencem ao alfabeto da fita.
+     */
+    public int getCodigo(char caractere) {
+        Integer codigo = codigos.get(caractere);
+        return codigo != null ? codigo : simbolos.length;
+    }
+    
+    
+    /**
+     * Obter o símbolo relativo a um código.
+     * 
+     * @param codigo código do símbolo.
+     * 
+     * @return Símbolo relativo ao código, ou null, caso o código seja o reservado
+     * para caracteres que não pertencem ao alfabeto da fita.
+     */
+    public Simbolo getSimbolo(int codigo) {
+        if (codigo >= 0 && codigo < simbolos.length) {
+            return simbolos[codigo];
+        } else {
+            return null;
+        }
+    }
+    
+    
+    /**
+     * Obter o estado relativo a um código.
+     * 
+     * @param codigo código do estado.
+     * 
+     * @return estado relativo ao código.
+     */
+    public Estado getEstado(int codigo) {
+        return estados[codigo];
+    }
+    
+    
+    /**
+     * Obter o código da entrada da tabela para o estado e os símbolos lidos.
+     * 
+     * @param estado código do estado atual.
+     * 
+     * @param lidos códigos dos símbolos lidos das fitas.
+     * 
+     * @return código da entrada da tabela.
+     */
+    public int getEntrada(int estado, int[] lidos) {
+        int entrada = 0;
+        for (int i = numeroFitas - 1; i >= 0; i--) {
+            entrada = entrada * base + lidos[i];
+        }
+        return estado * combinacoes + entrada;
+    }
+    
+    
+    /**
+     * Obter o alfabeto da fita.
+     * 
+     * @return alfabeto da fita.
+     */
+    public AlfabetoFita getAlfabetoFita() {
+        return alfabetoFita;
+    }
+    
+    
+    /**
+     * Obter o conjunto dos estados.
+     * 
+     * @return conjunto dos estados.
+     */
+    public ConjuntoEstados getConjuntoEstados() {
+        return conjuntoEstados;
+    }
+    
+    
+    /**
+     * Obter a função de transição compilada.
+     * 
+     * @return função de transição.
+     */
+    public FuncaoTransicao getFuncaoTransicao() {
+        return funcaoTransicao;
+    }
+    
+    
+    /**
+     * Obter o número de fitas da máquina.
+     * 
+     * @return número de fitas da máquina.
+     */
+    public int getNumeroFitas() {
+        return numeroFitas;
+    }
+    
+    
+    /**
+     * Obter o número de estados da máquina.
+     * 
+     * @return número de estados da máquina.
+     */
+    public int getNumeroEstados() {
+        return estados.length;
+    }
+    
+    
+    /**
+     * Obter o número de símbolos do alfabeto da fita.
+     * 
+     * @return número de símbolos do alfabeto da fita.
+     */
+    public int getNumeroSimbolos() {
+        return simbolos.length;
+    }
+    
+    
+    /**
+     * Obter a base de empacotamento dos símbolos lidos.
+     * 
+     * @return base de empacotamento dos símbolos lidos.
+     */
+    public int getBase() {
+        return base;
+    }
+    
+    
+    /**
+     * Obter o número de combinações de símbolos lidos para cada estado.
+     * 
+     * @return número de combinações de símbolos lidos para cada estado.
+     */
+    public int getCombinacoes() {
+        return combinacoes;
+    }
+    
+    
+    /**
+     * Obter o código do estado inicial.
+     * 
+     * @return código do estado inicial.
+     */
+    public int getEstadoInicial() {
+        return estadoInicial;
+    }
+    
+    
+    /**
+     * Obter o código do símbolo de branco.
+     * 
+     * @return código do símbolo de branco.
+     */
+    public int getSimboloBranco() {
+        return simboloBranco;
+    }
+    
+    
+    /**
+     * Verificar se um estado é terminal.
+     * 
+     * @param estado código do estado.
+     * 
+     * @return Se true, o estado é terminal. Se false, o estado não é terminal.
+     */
+    public boolean isTerminal(int estado) {
+        return terminais[estado];
+    }
+    
+    
+    /**
+     * Obter o código do novo estado para uma entrada da tabela.
+     * 
+     * @param entrada código da entrada.
+     * 
+     * @return código do novo estado, ou {@link #INDEFINIDO}, caso não haja
+     * transição definida.
+     */
+    public int getProximoEstado(int entrada) {
+        return proximoEstado[entrada];
+    }
+    
+    
+    /**
+     * Obter o código do símbolo gravado em uma fita para uma entrada da tabela.
+     * 
+     * @param entrada código da entrada.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return código do símbolo gravado.
+     */
+    public int getSimboloGravado(int entrada, int fita) {
+        return simbolosGravados[entrada * numeroFitas + fita];
+    }
+    
+    
+    /**
+     * Obter o deslocamento da Cabeça de Leitura/Escrita de uma fita para uma
+     * entrada da tabela.
+     * 
+     * @param entrada código da entrada.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return -1 para a esquerda, 1 para a direita ou 0 para parado.
+     */
+    public int getMovimento(int entrada, int fita) {
+        return movimentos[entrada * numeroFitas + fita];
+    }
+    
+    
+    /**
+     * Obter o índice da transição na função de transição para uma entrada da
+     * tabela.
+     * 
+     * @param entrada código da entrada.
+     * 
+     * @return índice da transição, ou {@link #INDEFINIDO}, caso não haja
+     * transição definida.
+     */
+    public int getIndiceTransicao(int entrada) {
+        return indicesTransicao[entrada];
+    }
+    
+    
+    /**
+     * Obter a fita percorrida por uma entrada de varredura. Uma entrada de
+     * varredura mantém o estado e os símbolos das fitas, e move a Cabeça de
+     * Leitura/Escrita de uma única fita, logo ela se repete enquanto esta
+     * cabeça ler o mesmo símbolo.
+     * 
+     * @param entrada entrada da tabela.
+     * 
+     * @return índice da fita percorrida, ou {@link #INDEFINIDO}, caso a entrada
+     * não seja de varredura.
+     */
+    public int getFitaVarredura(int entrada) {
+        return fitasVarredura[entrada];
+    }
+
+
+}
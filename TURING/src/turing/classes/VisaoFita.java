@@ -0,0 +1,177 @@
+package turing.classes;
+
+import java.util.Objects;
+
+/**
+ * Visão somente leitura das células de uma {@link Fita}. A visão não copia as
+ * células: cada consulta lê diretamente o arranjo da fita, logo a renderização,
+ * a exportação e a análise de fitas grandes podem percorrê-las sem alocar
+ * memória, ao contrário de {@link Fita#getCelulas()}, que copia a fita inteira
+ * a cada chamada.
+ * 
+ * <br><br>
+ * 
+ * Os índices são relativos à primeira célula da visão. A visão da fita inteira,
+ * obtida por {@link Fita#getVisao()}, acompanha o crescimento da fita. Um
+ * trecho, obtido por {@link #getTrecho(int, int)}, tem índices fixos, e deve ser
+ * obtido de novo quando a fita cresce à esquerda, pois as células se deslocam.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class VisaoFita {
+    
+    
+    /**Fita observada.*/
+    private final Fita fita;
+    
+    /**Índice na fita da primeira célula da visão.*/
+    private final int inicio;
+    
+    /**Número de células do trecho, ou -1 na visão da fita inteira.*/
+    private final int comprimento;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param fita fita observada.
+     * 
+     * @param inicio índice na fita da primeira célula da visão.
+     * 
+     * @param comprimento número de células do trecho, ou -1 na visão da fita
+     * inteira.
+     */
+    VisaoFita(Fita fita, int inicio, int comprimento) {
+        this.fita = fita;
+        this.inicio = inicio;
+        this.comprimento = comprimento;
+    }
+    
+    
+    /**
+     * Obter o número de células da visão.
+     * 
+     * @return número de células.
+     */
+    public int getComprimento() {
+        return comprimento < 0 ? fita.getComprimento() : comprimento;
+    }
+    
+    
+    /**
+     * Obter o símbolo gravado em uma célula.
+     * 
+     * @param indice índice da célula na visão.
+     * 
+     * @return símbolo gravado na célula.
+     * 
+     * @throws IndexOutOfBoundsException índice fora da visão.
+     */
+    public Simbolo getSimbolo(int indice) {
+        return fita.getSimbolo(getCodigo(indice));
+    }
+    
+    
+    /**
+     * Obter o caractere do símbolo gravado em uma célula.
+     * 
+     * @param indice índice da célula na visão.
+     * 
+     * @return caractere do símbolo.
+     * 
+     * @throws IndexOutOfBoundsException índice fora da visão.
+     */
+    public char getCaracter(int indice) {
+        return getSimbolo(indice).getCaracter();
+    }
+    
+    
+    /**
+     * Obter o código do símbolo gravado em uma célula. Os códigos são os de
+     * {@link Fita#getCodigo(Simbolo)}.
+     * 
+     * @param indice índice da célula na visão.
+     * 
+     * @return código do símbolo.
+     * 
+     * @throws IndexOutOfBoundsException índice fora da visão.
+     */
+    public int getCodigo(int indice) {
+        return fita.getCodigoCelula(inicio + Objects.checkIndex(indice,
+        getComprimento()));
+    }
+    
+    
+    /**
+     * Obter um trecho da visão, também sem cópia.
+     * 
+     * @param de índice da primeira célula do trecho, inclusive.
+     * 
+     * @param ate índice da última célula do trecho, exclusive.
+     * 
+     * @return visão do trecho.
+     * 
+     * @throws IndexOutOfBoundsException trecho fora da visão.
+     */
+    public VisaoFita getTrecho(int de, int ate) {
+        Objects.checkFromToIndex(de, ate, getComprimento());
+        return new VisaoFita(fita, inicio + de, ate - de);
+    }
+    
+    
+    /**
+     * Copiar os caracteres de um trecho de células para um arranjo. A cópia é
+     * feita em lote, diretamente do arranjo da fita.
+     * 
+     * @param destino arranjo de destino, preenchido a partir da posição 0.
+     * 
+     * @param de índice da primeira célula copiada.
+     * 
+     * @param quantidade número de células copiadas.
+     * 
+     * @throws IndexOutOfBoundsException trecho fora da visão ou maior que o
+     * arranjo de destino.
+     */
+    public void copiar(char[] destino, int de, int quantidade) {
+        Objects.checkFromIndexSize(de, quantidade, getComprimento());
+        Objects.checkFromIndexSize(0, quantidade, destino.length);
+        fita.copiarCaracteres(inicio + de, destino, quantidade);
+    }
+    
+    
+    /**
+     * Copiar os códigos de um trecho de células para um arranjo de bytes, sem
+     * sinal. Nas fitas com até 256 códigos, a cópia é feita em bloco, direto do
+     * arranjo da fita. Os códigos maiores que 255 são copiados como 255.
+     * 
+     * @param destino arranjo de destino.
+     * 
+     * @param posicao posição do arranjo de destino em que a cópia começa.
+     * 
+     * @param de índice da primeira célula copiada.
+     * 
+     * @param quantidade número de células copiadas.
+     * 
+     * @throws IndexOutOfBoundsException trecho fora da visão ou do arranjo de
+     * destino.
+     */
+    public void copiarCodigos(byte[] destino, int posicao, int de, int quantidade) {
+        Objects.checkFromIndexSize(de, quantidade, getComprimento());
+        Objects.checkFromIndexSize(posicao, quantidade, destino.length);
+        fita.copiarCodigos(inicio + de, destino, posicao, quantidade);
+    }
+    
+    
+    /**
+     * Obter a fita observada.
+     * 
+     * @return fita.
+     */
+    public Fita getFita() {
+        return fita;
+    }
+
+
+}
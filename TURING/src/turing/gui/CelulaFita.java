@@ -0,0 +1,131 @@
+package turing.gui;
+
+import static turing.classes.Constantes.SIMBOLO_BRANCO;
+import static turing.gui.Formatacao.formatarSimbolos;
+
+/**
+ * Conteúdo de uma célula da JTable que representa as fitas da Máquina de
+ * Turing, entregue pelo modelo ao {@link RendererizadorFita}. As marcas da
+ * célula (cursor, célula pivô e ponto) são sinais de bits, e não sufixos do
+ * texto, e o texto já é formatado na criação, logo o renderizador não precisa
+ * examinar nem alterar strings a cada célula desenhada.
+ * 
+ * <br><br>
+ * 
+ * As instâncias são imutáveis, e podem ser reaproveitadas por todas as células
+ * com o mesmo símbolo e as mesmas marcas.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class CelulaFita {
+    
+    
+    /**Célula sem marcas.*/
+    public static final int SEM_MARCAS = 0;
+    
+    /**Célula em que o cursor da Cabeça de Leitura/Escrita está posicionado.*/
+    public static final int CURSOR = 1;
+    
+    /**Célula pivô.*/
+    public static final int PIVO = 2;
+    
+    /**Célula de símbolo com ponto.*/
+    public static final int PONTO = 4;
+    
+    /**Célula em branco, sem marcas, mostrada fora das fitas.*/
+    public static final CelulaFita BRANCA = new CelulaFita(SIMBOLO_BRANCO, SEM_MARCAS);
+    
+    /**Texto formatado da célula.*/
+    private final String texto;
+    
+    /**Status de célula com o símbolo de branco.*/
+    private final boolean branco;
+    
+    /**Marcas da célula.*/
+    private final int marcas;
+    
+    
+    /**
+     * Constructor padrão.
+     * 
+     * @param caracter caractere do símbolo gravado na célula.
+     * 
+     * @param marcas marcas da célula, combinadas por OU: {@link #CURSOR},
+     * {@link #PIVO} e {@link #PONTO}.
+     */
+    public CelulaFita(char caracter, int marcas) {
+        this.texto = formatarSimbolos(String.valueOf(caracter));
+        this.branco = caracter == SIMBOLO_BRANCO;
+        this.marcas = marcas;
+    }
+    
+    
+    /**
+     * Obter o texto formatado da célula.
+     * 
+     * @return texto da célula.
+     */
+    public String getTexto() {
+        return texto;
+    }
+    
+    
+    /**
+     * Verificar se a célula contém o símbolo de branco.
+     * 
+     * @return Se true, a célula está em branco. Se false, não.
+     */
+    public boolean isBranco() {
+        return branco;
+    }
+    
+    
+    /**
+     * Obter as marcas da célula.
+     * 
+     * @return marcas combinadas por OU.
+     */
+    public int getMarcas() {
+        return marcas;
+    }
+    
+    
+    /**
+     * Verificar se o cursor está posicionado na célula.
+     * 
+     * @return Se true, o cursor está na célula. Se false, não.
+     */
+    public boolean isCursor() {
+        return (marcas & CURSOR) != 0;
+    }
+    
+    
+    /**
+     * Verificar se a célula é a célula pivô.
+     * 
+     * @return Se true, é a célula pivô. Se false, não.
+     */
+    public boolean isPivo() {
+        return (marcas & PIVO) != 0;
+    }
+    
+    
+    /**
+     * Verificar se a célula contém um símbolo com ponto.
+     * 
+     * @return Se true, o símbolo tem ponto. Se false, não.
+     */
+    public boolean isPonto() {
+        return (marcas & PONTO) != 0;
+    }
+    
+    
+    @Override
+    public String toString() {
+        return texto;
+    }
+
+
+}
@@ -0,0 +1,316 @@
+package turing.gui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Map;
+import javax.swing.CellRendererPane;
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import turing.classes.Fita;
+
+/**
+ * Componente que desenha as fitas da Máquina de Turing diretamente, sem uma
+ * JTable. As células são lidas do {@link ModeloFitas} e desenhadas pelo
+ * {@link RendererizadorFita}, como na JTable das fitas, mas não há colunas nem
+ * cabeçalho: a geometria de cada célula é calculada a partir do seu índice, logo
+ * o custo de desenhar as fitas não depende do seu comprimento.
+ * 
+ * <br><br>
+ * 
+ * A cada atualização, apenas as células notificadas pelo modelo, ou seja, as
+ * células visíveis que mudaram, são marcadas para serem redesenhadas, e a
+ * rolagem das fitas redesenha apenas a faixa que passa a ser visível. Com isso,
+ * as fitas podem ser animadas a milhares de passos por segundo.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class ComponenteFitas extends JComponent implements Scrollable,
+TableModelListener {
+    
+    
+    /**Largura máxima padrão de uma célula, em pixels.*/
+    public static final int LARGURA_CELULA = 80;
+    
+    /**Altura padrão de uma célula, em pixels.*/
+    public static final int ALTURA_CELULA = 40;
+
+    /**Cor de fundo das fitas.*/
+    private static final Color COR_FUNDO = new Color(240, 240, 240);
+    
+    /**Painel em que o componente do renderizador é desenhado.*/
+    private final CellRendererPane painel;
+    
+    /**Retângulo reaproveitado no cálculo das áreas redesenhadas.*/
+    private final Rectangle area;
+    
+    /**Cor das linhas entre as células.*/
+    private final Color corGrade;
+    
+    /**Modelo das fitas, ou null antes da configuração.*/
+    private ModeloFitas modelo;
+    
+    /**Renderizador das células.*/
+    private RendererizadorFita renderizador;
+    
+    /**Status de fitas que se movem sob os cursores.*/
+    private boolean fitasMoveis;
+    
+    /**Largura máxima de uma célula, em pixels.*/
+    private final int larguraCelula;
+    
+    /**Altura de uma célula, em pixels.*/
+    private final int alturaCelula;
+    
+    
+    /**
+     * Constructor padrão, com células de {@link #LARGURA_CELULA} por
+     * {@link #ALTURA_CELULA} pixels.
+     */
+    public ComponenteFitas() {
+        this(LARGURA_CELULA, ALTURA_CELULA);
+    }
+    
+    
+    /**
+     * Constructor com as dimensões das células.
+     * 
+     * @param larguraCelula largura máxima de uma célula, em pixels.
+     * 
+     * @param alturaCelula altura de uma célula, em pixels.
+     */
+    public ComponenteFitas(int larguraCelula, int alturaCelula) {
+        
+        this.larguraCelula = larguraCelula;
+        this.alturaCelula = alturaCelula;
+        
+        painel = new CellRendererPane();
+        area = new Rectangle();
+        
+        Color grade = UIManager.getColor("Table.gridColor");
+        corGrade = grade != null ? grade : Color.GRAY;
+        
+        add(painel);
+        setOpaque(true);
+        setBackground(COR_FUNDO);
+        
+    }
+    
+    
+    /**
+     * Definir o modelo e o renderizador das fitas.
+     * 
+     * @param modelo modelo das fitas.
+     * 
+     * @param renderizador renderizador das células.
+     * 
+     * @param fitasMoveis se true, as fitas se movem sob os cursores, e as
+     * células ocupam a largura visível. Se false, os cursores se movem sobre as
+     * fitas.
+     */
+    public void setModelo(ModeloFitas modelo, RendererizadorFita renderizador,
+    boolean fitasMoveis) {
+        
+        if (this.modelo != null) {
+            this.modelo.removeTableModelListener(this);
+        }
+        
+        this.modelo = modelo;
+        this.renderizador = renderizador;
+        this.fitasMoveis = fitasMoveis;
+        
+        modelo.addTableModelListener(this);
+        
+        revalidate();
+        repaint();
+        
+    }
+    
+    
+    /**
+     * Atualizar as fitas com o estado atual da simulação. Apenas as células
+     * visíveis que mudaram são redesenhadas. Se o componente ainda não está
+     * visível, nenhuma célula é copiada para o modelo, e as fitas devem ser
+     * atualizadas novamente quando a área visível mudar.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     * 
+     * @param cursores índices das células em que estão os cursores.
+     */
+    public void atualizar(Fita[] fitas, Map<Integer, Integer> cursores) {
+        
+        if (modelo == null) return;
+        
+        int colunas = modelo.getColumnCount();
+        int largura = getLarguraCelula();
+        
+        Rectangle visivel = getVisibleRect();
+        
+        int primeiraColuna = visivel.x / largura;
+        int ultimaColuna = visivel.width > 0 ? (visivel.x + visivel.width - 1)
+        / largura : -1;
+        
+        modelo.atualizar(fitas, cursores, primeiraColuna, ultimaColuna);
+        
+        if (modelo.getColumnCount() != colunas) {
+            revalidate();
+        }
+        
+    }
+    
+    
+    /**
+     * Rolar as fitas até que uma coluna fique no centro da área visível.
+     * 
+     * @param coluna índice da coluna.
+     */
+    public void mostrarColuna(int coluna) {
+        
+        Rectangle visivel = getVisibleRect();
+        int largura = getLarguraCelula();
+        
+        int x = coluna * largura + largura / 2 - visivel.width / 2;
+        
+        scrollRectToVisible(new Rectangle(Math.max(x, 0), visivel.y,
+        Math.max(visivel.width, largura), Math.max(visivel.height, 1)));
+        
+    }
+    
+    
+    /**
+     * Obter a largura de cada célula. Quando as fitas se movem, as células são
+     * estreitadas para que todas as colunas caibam na largura visível.
+     * 
+     * @return largura da célula, em pixels.
+     */
+    private int getLarguraCelula() {
+        int colunas = modelo != null ? modelo.getColumnCount() : 0;
+        if (fitasMoveis && colunas > 0 && getWidth() > 0) {
+            return Math.max(Math.min(larguraCelula, getWidth() / colunas), 1);
+        }
+        return larguraCelula;
+    }
+    
+    
+    /**
+     * Marcar para redesenho as células notificadas pelo modelo. Mudanças de
+     * estrutura redesenham o componente inteiro.
+     * 
+     * @param e evento do modelo.
+     */
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW
+        || e.getColumn() == TableModelEvent.ALL_COLUMNS) {
+            revalidate();
+            repaint();
+            return;
+        }
+        
+        int largura = getLarguraCelula();
+        
+        repaint(e.getColumn() * largura, e.getFirstRow() * alturaCelula,
+        largura, (e.getLastRow() - e.getFirstRow() + 1) * alturaCelula);
+        
+    }
+    
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        
+        g.getClipBounds(area);
+        
+        g.setColor(getBackground());
+        g.fillRect(area.x, area.y, area.width, area.height);
+        
+        if (modelo == null || renderizador == null) return;
+        
+        int largura = getLarguraCelula();
+        
+        // Apenas as células que interceptam a área redesenhada são desenhadas.
+        
+        int primeiraColuna = Math.max(area.x / largura, 0);
+        int ultimaColuna = Math.min((area.x + area.width - 1) / largura,
+        modelo.getColumnCount() - 1);
+        int primeiraLinha = Math.max(area.y / alturaCelula, 0);
+        int ultimaLinha = Math.min((area.y + area.height - 1) / alturaCelula,
+        modelo.getRowCount() - 1);
+        
+        for (int i = primeiraLinha; i <= ultimaLinha; i++) {
+            
+            int y = i * alturaCelula;
+            
+            for (int j = primeiraColuna; j <= ultimaColuna; j++) {
+                
+                int x = j * largura;
+                
+                CelulaFita celula = (CelulaFita) modelo.getValueAt(i, j);
+                
+                painel.paintComponent(g, renderizador.getComponente(celula,
+                getFont()), this, x, y, largura - 1, alturaCelula - 1, false);
+                
+                g.setColor(corGrade);
+                g.drawLine(x + largura - 1, y, x + largura - 1, y + alturaCelula - 1);
+                g.drawLine(x, y + alturaCelula - 1, x + largura - 1, y + alturaCelula - 1);
+                
+            }
+            
+        }
+        
+    }
+    
+    
+    @Override
+    public Dimension getPreferredSize() {
+        if (modelo == null) return new Dimension(0, 0);
+        return new Dimension(modelo.getColumnCount() * larguraCelula,
+        modelo.getRowCount() * alturaCelula);
+    }
+    
+    
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+    
+    
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation,
+    int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? getLarguraCelula()
+        : alturaCelula;
+    }
+    
+    
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation,
+    int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? visibleRect.width
+        : visibleRect.height;
+    }
+    
+    
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return fitasMoveis || (getParent() instanceof JViewport viewport
+        && viewport.getWidth() > getPreferredSize().width);
+    }
+    
+    
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport viewport
+        && viewport.getHeight() > getPreferredSize().height;
+    }
+
+
+}
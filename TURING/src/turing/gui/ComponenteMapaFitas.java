@@ -0,0 +1,290 @@
+package turing.gui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Map;
+import javax.swing.JComponent;
+import turing.classes.DensidadeFita;
+import turing.classes.Fita;
+
+/**
+ * Minimapa das fitas da Máquina de Turing: uma faixa por fita, que mostra a
+ * extensão inteira da fita em resolução reduzida. Cada pixel da faixa
+ * corresponde a um trecho de células, colorido com a cor do símbolo mais
+ * frequente no trecho, mais intensa quanto menos brancos houver, e a posição do
+ * cursor é marcada por uma linha vermelha.
+ * 
+ * <br><br>
+ * 
+ * As contagens de símbolos de cada trecho são obtidas da {@link DensidadeFita}
+ * de cada fita, mantida pela própria fita a cada célula gravada, logo atualizar
+ * o minimapa custa o número de pixels, e não o número de células. As cores são
+ * calculadas apenas em {@link #atualizar(Fita[], Map)}, e o desenho do
+ * componente não lê as fitas.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public final class ComponenteMapaFitas extends JComponent {
+    
+    
+    /**Altura da faixa de cada fita, em pixels.*/
+    public static final int ALTURA_FITA = 10;
+    
+    /**Espaço entre as faixas das fitas, em pixels.*/
+    private static final int ESPACO = 2;
+    
+    /**Cor dos trechos em branco.*/
+    private static final Color COR_BRANCO = new Color(250, 250, 250);
+    
+    /**Cor dos cursores.*/
+    private static final Color COR_CURSOR = Color.RED;
+    
+    /**Número de fitas.*/
+    private int numeroFitas;
+    
+    /**Cores dos pixels, uma linha para cada fita.*/
+    private BufferedImage imagem;
+    
+    /**Pixel do cursor de cada fita.*/
+    private int[] pixelsCursores;
+    
+    /**Comprimento de cada fita, usado para converter pixels em células.*/
+    private int[] comprimentos;
+    
+    /**Contagens de símbolos reaproveitadas entre os trechos.*/
+    private int[] contagens;
+    
+    /**Cor RGB de cada código de símbolo, calculada uma única vez.*/
+    private int[] cores;
+
+    
+    /**
+     * Constructor padrão.
+     */
+    public ComponenteMapaFitas() {
+        numeroFitas = 1;
+        pixelsCursores = new int[0];
+        comprimentos = new int[0];
+        contagens = new int[0];
+        cores = new int[0];
+        setOpaque(true);
+        setBackground(COR_BRANCO);
+    }
+    
+    
+    /**
+     * Definir o número de fitas, e limpar o minimapa.
+     * 
+     * @param numeroFitas número de fitas.
+     */
+    public void setNumeroFitas(int numeroFitas) {
+        this.numeroFitas = numeroFitas;
+        imagem = null;
+        pixelsCursores = new int[0];
+        comprimentos = new int[0];
+        revalidate();
+        repaint();
+    }
+    
+    
+    /**
+     * Atualizar o minimapa com o estado atual das fitas. Cada trecho é contado
+     * pelo índice de densidade da fita, sem percorrer as suas células.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     * 
+     * @param cursores índices das células em que estão os cursores.
+     */
+    public void atualizar(Fita[] fitas, Map<Integer, Integer> cursores) {
+        
+        int largura = getWidth();
+        
+        if (largura <= 0) return;
+        
+        if (fitas.length != numeroFitas) {
+            numeroFitas = fitas.length;
+            revalidate();
+        }
+        
+        if (imagem == null || imagem.getWidth() != largura
+        || imagem.getHeight() != numeroFitas) {
+            imagem = new BufferedImage(largura, numeroFitas, BufferedImage.TYPE_INT_RGB);
+        }
+        
+        if (pixelsCursores.length != numeroFitas) {
+            pixelsCursores = new int[numeroFitas];
+            comprimentos = new int[numeroFitas];
+        }
+        
+        int[] pixels = ((DataBufferInt) imagem.getRaster().getDataBuffer()).getData();
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            
+            DensidadeFita densidade = fitas[i].getDensidade();
+            int comprimento = fitas[i].getComprimento();
+            int branco = fitas[i].getCodigoBranco();
+            
+            if (contagens.length < densidade.getNumeroCodigos()) {
+                contagens = new int[densidade.getNumeroCodigos()];
+            }
+            
+            if (cores.length < densidade.getNumeroCodigos()) {
+                criarCores(densidade.getNumeroCodigos());
+            }
+            
+            for (int x = 0; x < largura; x++) {
+                
+                int de = (int) ((long) x * comprimento / largura);
+                int ate = Math.max((int) ((long) (x + 1) * comprimento / largura),
+                de + 1);
+                
+                densidade.contar(de, Math.min(ate, comprimento), contagens);
+                
+                int predominante = branco;
+                
+                for (int codigo = 0; codigo < densidade.getNumeroCodigos(); codigo++) {
+                    if (codigo != branco && (predominante == branco
+                    || contagens[codigo] > contagens[predominante])) {
+                        predominante = codigo;
+                    }
+                }
+                
+                int naoBrancos = Math.min(ate, comprimento) - de - contagens[branco];
+                
+                pixels[i * largura + x] = predominante == branco || naoBrancos == 0
+                ? COR_BRANCO.getRGB() : getCor(predominante, (float) naoBrancos
+                / (Math.min(ate, comprimento) - de));
+                
+            }
+            
+            comprimentos[i] = comprimento;
+            pixelsCursores[i] = (int) ((long) cursores.get(i) * largura
+            / Math.max(comprimento, 1));
+            
+        }
+        
+        repaint();
+        
+    }
+    
+    
+    /**
+     * Criar as cores dos códigos de símbolos. Os matizes são espaçados pela
+     * razão áurea, logo códigos próximos recebem cores bem distintas.
+     * 
+     * @param numeroCodigos número de códigos.
+     */
+    private void criarCores(int numeroCodigos) {
+        cores = new int[numeroCodigos];
+        for (int codigo = 0; codigo < numeroCodigos; codigo++) {
+            cores[codigo] = Color.HSBtoRGB((codigo * 0.618034f) % 1f, 0.7f, 0.75f);
+        }
+    }
+    
+    
+    /**
+     * Obter a cor de um trecho de células.
+     * 
+     * @param codigo código do símbolo mais frequente no trecho.
+     * 
+     * @param densidade fração de células do trecho diferentes do branco.
+     * 
+     * @return cor RGB do trecho.
+     */
+    private int getCor(int codigo, float densidade) {
+        
+        int cor = cores[codigo];
+        int fundo = COR_BRANCO.getRGB();
+        
+        float intensidade = 0.25f + 0.75f * densidade;
+        
+        int rgb = 0;
+        
+        for (int deslocamento = 0; deslocamento <= 16; deslocamento += 8) {
+            int componenteFundo = (fundo >> deslocamento) & 0xFF;
+            int componenteCor = (cor >> deslocamento) & 0xFF;
+            rgb |= (componenteFundo + (int) ((componenteCor - componenteFundo)
+            * intensidade)) << deslocamento;
+        }
+        
+        return rgb;
+        
+    }
+    
+    
+    /**
+     * Obter a fita mostrada em uma posição vertical do minimapa.
+     * 
+     * @param y posição vertical, em pixels.
+     * 
+     * @return índice da fita, ou -1 se não houver fita na posição.
+     */
+    public int getFita(int y) {
+        int fita = y / (ALTURA_FITA + ESPACO);
+        return fita >= 0 && fita < comprimentos.length ? fita : -1;
+    }
+    
+    
+    /**
+     * Obter a célula de uma fita mostrada em uma posição horizontal do
+     * minimapa.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param x posição horizontal, em pixels.
+     * 
+     * @return índice da célula.
+     */
+    public int getIndice(int fita, int x) {
+        int indice = (int) ((long) Math.max(x, 0) * comprimentos[fita]
+        / Math.max(getWidth(), 1));
+        return Math.min(indice, Math.max(comprimentos[fita] - 1, 0));
+    }
+    
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+        
+        if (imagem == null) return;
+        
+        // A imagem tem um pixel de altura por fita, e é esticada até a largura
+        // atual do componente, caso ele tenha sido redimensionado.
+        
+        for (int i = 0; i < imagem.getHeight(); i++) {
+            
+            int y = i * (ALTURA_FITA + ESPACO);
+            
+            g.drawImage(imagem, 0, y, getWidth(), y + ALTURA_FITA, 0, i,
+            imagem.getWidth(), i + 1, null);
+            
+            int x = pixelsCursores[i] * getWidth() / imagem.getWidth();
+            
+            g.setColor(COR_CURSOR);
+            g.fillRect(Math.min(x, getWidth() - 2), y, 2, ALTURA_FITA);
+            
+        }
+        
+    }
+    
+    
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(100, numeroFitas * (ALTURA_FITA + ESPACO) - ESPACO);
+    }
+    
+    
+    @Override
+    public Dimension getMinimumSize() {
+        return new Dimension(0, getPreferredSize().height);
+    }
+
+
+}
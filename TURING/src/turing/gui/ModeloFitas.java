@@ -0,0 +1,376 @@
+package turing.gui;
+
+import java.util.Arrays;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+import turing.classes.Fita;
+import static turing.classes.Constantes.TAMANHO_FITA;
+
+/**
+ * Modelo da JTable que representa as fitas da Máquina de Turing. A cada
+ * atualização, apenas as células da janela visível são copiadas das fitas para
+ * o modelo, logo a atualização não depende do comprimento das fitas. Há dois
+ * modos de visualização:
+ * 
+ * <br><br>
+ * 
+ * <b>Fitas fixas:</b> cada coluna corresponde a uma célula, e as fitas são
+ * alinhadas pelas células pivô. O número de colunas acompanha o crescimento das
+ * fitas.
+ * 
+ * <br><br>
+ * 
+ * <b>Fitas móveis:</b> há {@link turing.classes.Constantes#TAMANHO_FITA}
+ * colunas, e o cursor de cada fita fica sempre na coluna {@link #COLUNA_CURSOR}.
+ * 
+ * <br><br>
+ * 
+ * A janela copiada inclui uma margem de uma largura visível de cada lado, e o
+ * modelo notifica apenas as células que mudaram desde a atualização anterior.
+ * A JTable lê apenas as células copiadas, e nunca as fitas, logo as fitas
+ * podem ser alteradas pela simulação enquanto são desenhadas. As células fora
+ * da janela são mostradas em branco, até que o modelo seja atualizado com a
+ * nova janela visível.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+public class ModeloFitas extends AbstractTableModel {
+    
+    
+    /**Coluna em que os cursores ficam fixos, quando as fitas se movem.*/
+    public static final int COLUNA_CURSOR = 11;
+    
+    /**Status de fitas que se movem sob os cursores.*/
+    private final boolean fitasMoveis;
+    
+    /**Número de fitas.*/
+    private int numeroFitas;
+    
+    /**Índices das células em que estão os cursores, um para cada fita.*/
+    private int[] cursores;
+    
+    /**Células pivô das fitas, uma para cada fita.*/
+    private int[] pivos;
+    
+    /**Maior célula pivô entre as fitas, que define o alinhamento das fitas fixas.*/
+    private int pivo;
+    
+    /**Número de colunas.*/
+    private int numeroColunas;
+    
+    /**Primeira coluna da janela copiada.*/
+    private int primeiraColuna;
+    
+    /**Células copiadas da janela, uma linha para cada fita.*/
+    private CelulaFita[][] mostradas;
+    
+    /**
+     * Células reaproveitadas de cada fita, indexadas pelo código do símbolo e
+     * pelas marcas.
+     */
+    private CelulaFita[][][] celulas;
+    
+    /**Caracteres das células reaproveitadas, indexados pelo código do símbolo.*/
+    private char[][] caracteres;
+    
+    
+    /**
+     * Constructor padrão, com fitas em branco.
+     * 
+     * @param numeroFitas número de fitas.
+     * 
+     * @param fitasMoveis se true, as fitas se movem sob os cursores. Se false,
+     * os cursores se movem sobre as fitas.
+     */
+    public ModeloFitas(int numeroFitas, boolean fitasMoveis) {
+        this.numeroFitas = numeroFitas;
+        this.fitasMoveis = fitasMoveis;
+        this.cursores = new int[numeroFitas];
+        this.pivos = new int[numeroFitas];
+        this.numeroColunas = TAMANHO_FITA;
+        this.mostradas = new CelulaFita[numeroFitas][0];
+        this.celulas = new CelulaFita[numeroFitas][0][];
+        this.caracteres = new char[numeroFitas][0];
+    }
+    
+    
+    /**
+     * Atualizar o modelo com o estado atual das fitas. As células da janela
+     * visível, e da sua margem, são copiadas das fitas, e apenas as que mudaram
+     * desde a última atualização são notificadas. As fitas são lidas apenas
+     * durante a atualização.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     * 
+     * @param cursores índices das células em que estão os cursores.
+     * 
+     * @param primeiraColuna primeira coluna visível na JTable.
+     * 
+     * @param ultimaColuna última coluna visível na JTable.
+     */
+    public void atualizar(Fita[] fitas, Map<Integer, Integer> cursores,
+    int primeiraColuna, int ultimaColuna) {
+        
+        boolean mudouEstrutura = fitas.length != numeroFitas;
+        
+        if (mudouEstrutura) {
+            numeroFitas = fitas.length;
+            this.cursores = new int[numeroFitas];
+            this.pivos = new int[numeroFitas];
+            this.celulas = new CelulaFita[numeroFitas][0][];
+            this.caracteres = new char[numeroFitas][0];
+        }
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            this.cursores[i] = cursores.get(i);
+            this.pivos[i] = fitas[i].getCelulaPivo();
+        }
+        
+        if (!fitasMoveis) {
+            
+            // Cada fita cresce de forma independente, logo elas são alinhadas
+            // pelas células pivô.
+            
+            int direita = 0;
+            
+            pivo = 0;
+            
+            for (Fita fita : fitas) {
+                pivo = Math.max(pivo, fita.getCelulaPivo());
+                direita = Math.max(direita, fita.getComprimento() - fita.getCelulaPivo());
+            }
+            
+            numeroColunas = pivo + direita;
+            
+        }
+        
+        if (mudouEstrutura) {
+            mostradas = new CelulaFita[numeroFitas][0];
+            fireTableStructureChanged();
+        }
+        
+        copiarJanela(fitas, primeiraColuna, ultimaColuna);
+        
+    }
+    
+    
+    /**
+     * Copiar das fitas as células da janela visível, com uma margem de uma
+     * largura visível de cada lado, e notificar as que mudaram desde a última
+     * atualização. Se a janela mudou, as células que não estavam na janela
+     * anterior são notificadas.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     * 
+     * @param primeira primeira coluna visível.
+     * 
+     * @param ultima última coluna visível.
+     */
+    private void copiarJanela(Fita[] fitas, int primeira, int ultima) {
+        
+        int margem = Math.max(ultima - primeira + 1, 0);
+        
+        primeira = Math.max(primeira - margem, 0);
+        ultima = Math.min(ultima + margem, numeroColunas - 1);
+        
+        int largura = Math.max(ultima - primeira + 1, 0);
+        
+        if (primeira != primeiraColuna || largura != mostradas[0].length) {
+            for (int i = 0; i < numeroFitas; i++) {
+                CelulaFita[] linha = new CelulaFita[largura];
+                for (int j = 0; j < largura; j++) {
+                    int anterior = primeira + j - primeiraColuna;
+                    if (anterior >= 0 && anterior < mostradas[i].length) {
+                        linha[j] = mostradas[i][anterior];
+                    }
+                }
+                mostradas[i] = linha;
+            }
+            primeiraColuna = primeira;
+        }
+        
+        // As células são reaproveitadas, logo basta comparar as referências.
+        
+        for (int i = 0; i < numeroFitas; i++) {
+            
+            CelulaFita[] linha = mostradas[i];
+            
+            for (int j = 0; j < largura; j++) {
+                CelulaFita celula = getCelula(fitas, i, primeira + j);
+                if (celula != linha[j]) {
+                    linha[j] = celula;
+                    fireTableCellUpdated(i, primeira + j);
+                }
+            }
+            
+        }
+        
+    }
+    
+    
+    /**
+     * Obter o índice da célula da fita mostrada em uma coluna.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param coluna índice da coluna.
+     * 
+     * @return índice da célula, que pode estar fora da fita.
+     */
+    private int getIndice(int fita, int coluna) {
+        if (fitasMoveis) {
+            return cursores[fita] + coluna - COLUNA_CURSOR;
+        } else {
+            return coluna - (pivo - pivos[fita]);
+        }
+    }
+    
+    
+    /**
+     * Obter a coluna em que uma célula da fita é mostrada.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param indice índice da célula.
+     * 
+     * @return índice da coluna, que pode estar fora do modelo.
+     */
+    public int getColuna(int fita, int indice) {
+        if (fitasMoveis) {
+            return indice - cursores[fita] + COLUNA_CURSOR;
+        } else {
+            return indice + (pivo - pivos[fita]);
+        }
+    }
+    
+    
+    /**
+     * Obter a coluna em que o cursor de uma fita é mostrado.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @return índice da coluna.
+     */
+    public int getColunaCursor(int fita) {
+        return getColuna(fita, cursores[fita]);
+    }
+    
+    
+    /**
+     * Obter a coluna das células pivô, em que as fitas fixas são alinhadas.
+     * 
+     * @return índice da coluna.
+     */
+    public int getColunaPivo() {
+        return pivo;
+    }
+    
+    
+    /**
+     * Obter as marcas de uma célula da fita. O cursor tem precedência sobre a
+     * célula pivô.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param indice índice da célula.
+     * 
+     * @return marcas da célula.
+     */
+    private int getMarcas(int fita, int indice) {
+        if (indice == cursores[fita]) {
+            return CelulaFita.CURSOR;
+        } else if (indice == pivos[fita]) {
+            return CelulaFita.PIVO;
+        } else {
+            return CelulaFita.SEM_MARCAS;
+        }
+    }
+    
+    
+    /**
+     * Obter a célula mostrada em uma coluna, lida da fita. As células são
+     * criadas uma única vez para cada símbolo e marcas, e reaproveitadas entre
+     * as atualizações enquanto o código continuar com o mesmo caractere.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     * 
+     * @param fita índice da fita.
+     * 
+     * @param coluna índice da coluna.
+     * 
+     * @return célula mostrada.
+     */
+    private CelulaFita getCelula(Fita[] fitas, int fita, int coluna) {
+        
+        int indice = getIndice(fita, coluna);
+        
+        if (indice < 0 || indice >= fitas[fita].getComprimento()) {
+            return CelulaFita.BRANCA;
+        }
+        
+        int codigo = fitas[fita].getVisao().getCodigo(indice);
+        int marcas = getMarcas(fita, indice);
+        char caracter = fitas[fita].getSimbolo(codigo).getCaracter();
+        
+        if (codigo >= celulas[fita].length) {
+            celulas[fita] = Arrays.copyOf(celulas[fita], codigo + 1);
+            caracteres[fita] = Arrays.copyOf(caracteres[fita], codigo + 1);
+        }
+        
+        // Fitas de outra simulação podem gravar outro caractere com o mesmo
+        // código, e neste caso as células do código são recriadas.
+        
+        if (celulas[fita][codigo] == null || caracteres[fita][codigo] != caracter) {
+            celulas[fita][codigo] = new CelulaFita[CelulaFita.PIVO + 1];
+            caracteres[fita][codigo] = caracter;
+        }
+        
+        CelulaFita celula = celulas[fita][codigo][marcas];
+        
+        if (celula == null) {
+            celula = new CelulaFita(caracter, marcas);
+            celulas[fita][codigo][marcas] = celula;
+        }
+        
+        return celula;
+        
+    }
+    
+    
+    @Override
+    public int getRowCount() {
+        return numeroFitas;
+    }
+    
+    
+    @Override
+    public int getColumnCount() {
+        return numeroColunas;
+    }
+    
+    
+    /**
+     * Obter o conteúdo de uma célula, lido das células copiadas na última
+     * atualização. As células fora da janela copiada são mostradas em branco.
+     * 
+     * @param row índice da fita.
+     * 
+     * @param column índice da coluna.
+     * 
+     * @return célula, {@link CelulaFita}.
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        CelulaFita[] linha = mostradas[row];
+        int indice = column - primeiraColuna;
+        if (indice >= 0 && indice < linha.length && linha[indice] != null) {
+            return linha[indice];
+        }
+        return CelulaFita.BRANCA;
+    }
+
+
+
+}
@@ -23,6 +23,14 @@ package turing.gui;
 public interface OuvinteConfigSimulacaoAutomatica {
     
     
+    /**
+     * Tempo de execução que seleciona a velocidade máxima: em vez do Timer, os
+     * passos são executados sem intervalo em um Thread dedicado, e a tela é
+     * atualizada apenas na frequência de quadros.
+     */
+    public static final int VELOCIDADE_MAXIMA = 0;
+    
+    
     /**
      * Notifica o ouvinte que o tempo de execução do Thread da classe
      * {@link java.util.Timer} foi modificado. Por exemplo:
@@ -46,7 +54,8 @@ public interface OuvinteConfigSimulacaoAutomatica {
      * interface deverá descartar o Timer atual e gerar outro com base neste 
      * novo parâmetro.
      * 
-     * @param novoValor novo valor para o tempo de execução do Thread.
+     * @param novoValor novo valor para o tempo de execução do Thread, ou
+     * {@link #VELOCIDADE_MAXIMA}.
      */
     public void velocidadeSimulacaoAutomaticaAtualizada(int novoValor);
     
@@ -0,0 +1,153 @@
+package turing.gui;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import turing.classes.Estado;
+import turing.classes.Fita;
+
+/**
+ * Quadro imutável de uma etapa da simulação, mostrado pela tela principal. As
+ * fitas e os cursores são copiados no momento da notificação, no Thread que
+ * executa a simulação, logo o quadro pode ser mostrado no EDT enquanto a
+ * máquina continua alterando as suas fitas.
+ * 
+ * @author Leandro Ap. de Almeida
+ * 
+ * @since 1.0
+ */
+final class QuadroSimulacao {
+    
+    
+    /**Estado atual da Unidade de Controle.*/
+    private final Estado estadoAtual;
+    
+    /**Cópias das fitas da Máquina de Turing.*/
+    private final Fita[] fitas;
+    
+    /**Índices das células em que estão os cursores, um para cada fita.*/
+    private final Map<Integer, Integer> cursores;
+    
+    /**Índice da transição a ser executada no passo atual.*/
+    private final int indiceTransicao;
+    
+    /**Número de passos realizados pela Máquina de Turing.*/
+    private final int numeroPassos;
+    
+    /**Status de cadeia de entrada aceita.*/
+    private final boolean cadeiaAceita;
+    
+    /**Status de programa finalizado.*/
+    private final boolean finalizado;
+    
+    
+    /**
+     * Constructor padrão. As fitas e os cursores são copiados, e os índices de
+     * densidade das fitas são criados antes da cópia, para que sejam mantidos
+     * pelas fitas da máquina e apenas copiados nos próximos quadros.
+     * 
+     * @param estadoAtual estado atual da Unidade de Controle.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     * 
+     * @param cursores índices das células em que estão os cursores.
+     * 
+     * @param indiceTransicao índice da transição a ser executada no passo
+     * atual.
+     * 
+     * @param numeroPassos número de passos realizados pela Máquina de Turing.
+     * 
+     * @param cadeiaAceita status de cadeia de entrada aceita.
+     * 
+     * @param finalizado status de programa finalizado.
+     */
+    QuadroSimulacao(Estado estadoAtual, Fita[] fitas, Map<Integer, Integer> cursores,
+    int indiceTransicao, int numeroPassos, boolean cadeiaAceita, boolean finalizado) {
+        
+        this.estadoAtual = estadoAtual;
+        this.fitas = new Fita[fitas.length];
+        this.cursores = Collections.unmodifiableMap(new HashMap<>(cursores));
+        this.indiceTransicao = indiceTransicao;
+        this.numeroPassos = numeroPassos;
+        this.cadeiaAceita = cadeiaAceita;
+        this.finalizado = finalizado;
+        
+        for (int i = 0; i < fitas.length; i++) {
+            fitas[i].getDensidade();
+            this.fitas[i] = fitas[i].copiar();
+        }
+        
+    }
+    
+    
+    /**
+     * Obter o estado atual da Unidade de Controle.
+     * 
+     * @return estado atual.
+     */
+    Estado getEstadoAtual() {
+        return estadoAtual;
+    }
+    
+    
+    /**
+     * Obter as cópias das fitas, que não devem ser alteradas.
+     * 
+     * @return fitas do quadro.
+     */
+    Fita[] getFitas() {
+        return fitas;
+    }
+    
+    
+    /**
+     * Obter os cursores das fitas.
+     * 
+     * @return mapa somente leitura dos cursores.
+     */
+    Map<Integer, Integer> getCursores() {
+        return cursores;
+    }
+    
+    
+    /**
+     * Obter o índice da transição a ser executada no passo atual.
+     * 
+     * @return índice da transição.
+     */
+    int getIndiceTransicao() {
+        return indiceTransicao;
+    }
+    
+    
+    /**
+     * Obter o número de passos realizados pela Máquina de Turing.
+     * 
+     * @return número de passos.
+     */
+    int getNumeroPassos() {
+        return numeroPassos;
+    }
+    
+    
+    /**
+     * Verificar se a cadeia de entrada foi aceita.
+     * 
+     * @return status de cadeia de entrada aceita.
+     */
+    boolean isCadeiaAceita() {
+        return cadeiaAceita;
+    }
+    
+    
+    /**
+     * Verificar se o programa finalizou.
+     * 
+     * @return status de programa finalizado.
+     */
+    boolean isFinalizado() {
+        return finalizado;
+    }
+
+
+}
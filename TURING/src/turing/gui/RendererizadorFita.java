@@ -3,18 +3,22 @@ package turing.gui;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Font;
-import javax.swing.BorderFactory;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Rectangle;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
+import javax.swing.JLabel;
 import javax.swing.JTable;
-import static turing.gui.Formatacao.formatarSimbolos;
-import static turing.classes.Constantes.SIMBOLO_BRANCO;
-import static turing.gui.Sufixos.SUFIXO_CURSOR;
-import static turing.gui.Sufixos.SUFIXO_CEL_PIVO;
-import static turing.gui.Sufixos.SUFIXO_PONTO;
+import javax.swing.border.AbstractBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
 
 /**
- * Renderizador da JTable que representa as fitas da Máquina de Turing. 
+ * Renderizador da JTable que representa as fitas da Máquina de Turing. Um
+ * único componente é reaproveitado para todas as células, e as fontes, bordas e
+ * cores são criadas uma única vez, logo desenhar uma célula não aloca memória.
+ * As marcas de cada célula são lidas de {@link CelulaFita}.
  * 
  * @author Leandro Ap. de Almeida
  * 
@@ -23,14 +27,35 @@ import static turing.gui.Sufixos.SUFIXO_PONTO;
 public class RendererizadorFita implements javax.swing.table.TableCellRenderer {
     
     
+    /**Cor do texto das células em branco.*/
+    private static final Color COR_BRANCO = new Color(220, 220, 220);
+    
+    /**Borda das células sem destaque.*/
+    private static final AbstractBorder BORDA_VAZIA = new EmptyBorder(0, 0, 0, 0);
+    
+    /**Borda das células do cursor e de símbolo com ponto.*/
+    private static final AbstractBorder BORDA_DESTAQUE = new LineBorder(Color.BLACK, 3);
+    
+    /**Borda da célula pivô.*/
+    private static final AbstractBorder BORDA_PIVO = new LineBorder(Color.BLUE, 1, false);
+    
+    /**Componente de renderização, reaproveitado em todas as células.*/
+    private final ComponenteCelula componente;
+    
     /**Ícone de seta.*/
     private Icon iconeSeta;
     
     /**Ícone de ponto.*/
     private Icon iconePonto;
     
-    /**Símbolo de branco.*/
-    private String branco;
+    /**Fonte da JTable, usada nas células sem destaque.*/
+    private Font fonte;
+    
+    /**Fonte em negrito, usada nas células em destaque.*/
+    private Font fonteNegrito;
+    
+    /**Texto atual do componente.*/
+    private String texto;
 
     
     /**
@@ -41,7 +66,7 @@ public class RendererizadorFita implements javax.swing.table.TableCellRenderer {
      */
     public RendererizadorFita(boolean iconePadrao) {
         
-        branco = String.valueOf(SIMBOLO_BRANCO);
+        componente = new ComponenteCelula();
         
         try {
             if (iconePadrao) {
@@ -86,7 +111,7 @@ public class RendererizadorFita implements javax.swing.table.TableCellRenderer {
      * 
      * @param table JTable que representa as fitas.
      * 
-     * @param value texto na célula.
+     * @param value conteúdo da célula, {@link CelulaFita}.
      * 
      * @param isSelected estatus de célula selecionada.
      * 
@@ -102,64 +127,160 @@ public class RendererizadorFita implements javax.swing.table.TableCellRenderer {
     public Component getTableCellRendererComponent(JTable table, Object value, 
     boolean isSelected, boolean hasFocus, int row, int column) {
         
-        JTextFieldIcone textField = new JTextFieldIcone();
-        textField.setFont(table.getFont());
-        String text = (String)value;
-
-        if (text != null) {
-        
-            if (text.endsWith(SUFIXO_CURSOR) || text.endsWith(SUFIXO_PONTO)) {
-                
-                Font font = new Font(
-                    table.getFont().getFontName(),
-                    Font.BOLD,
-                    table.getFont().getSize()
-                );
-                
-                textField.setFont(font);
-
-                textField.setBorder(BorderFactory.createLineBorder(Color.BLACK, 3));
-                
-                if (text.endsWith(SUFIXO_CURSOR)) {
-                    if (iconeSeta != null) {
-                        textField.setIcone(iconeSeta);
-                    }
-                } else {
-                    if (iconePonto != null) {
-                        textField.setIcone(iconePonto);
-                    }
-                }
-                
-            } else {
-                
-                if (text.endsWith(SUFIXO_CEL_PIVO)) {
-                    
-                    textField.setBorder(
-                        BorderFactory.createLineBorder(
-                            Color.BLUE,
-                            1,
-                            false
-                        )
-                    );
-                    
-                    text = text.replace(SUFIXO_CEL_PIVO, "");
-                    
-                }
-                
-                if (text.contains(branco)) {
-                    textField.setForeground(new Color(220, 220, 220));
-                }
-                
-            }
-            
-            text = formatarSimbolos(text);
-            textField.setText(text);
+        CelulaFita celula = value instanceof CelulaFita c ? c : CelulaFita.BRANCA;
+        
+        return getComponente(celula, table.getFont());
+        
+    }
+    
+    
+    /**
+     * Obter o componente de renderização de uma célula, configurado como em
+     * {@link #getTableCellRendererComponent(JTable, Object, boolean, boolean,
+     * int, int)}. Usado também por {@link ComponenteFitas}, que desenha as
+     * fitas sem uma JTable.
+     * 
+     * @param celula conteúdo da célula.
+     * 
+     * @param fonteCelula fonte das células sem destaque.
+     * 
+     * @return Componente para renderização da célula.
+     */
+    Component getComponente(CelulaFita celula, Font fonteCelula) {
+        
+        if (fonteCelula != fonte) {
+            fonte = fonteCelula;
+            fonteNegrito = fonte.deriveFont(Font.BOLD);
+        }
+        
+        boolean destaque = celula.isCursor() || celula.isPonto();
+        
+        componente.setFont(destaque ? fonteNegrito : fonte);
+        
+        if (destaque) {
+            componente.setBorda(BORDA_DESTAQUE);
+            componente.setIcone(celula.isCursor() ? iconeSeta : iconePonto);
+        } else {
+            componente.setBorda(celula.isPivo() ? BORDA_PIVO : BORDA_VAZIA);
+            componente.setIcone(null);
+        }
+        
+        componente.setForeground(!destaque && celula.isBranco() ? COR_BRANCO :
+        Color.BLACK);
+        
+        if (celula.getTexto() != texto) {
+            texto = celula.getTexto();
+            componente.setText(texto);
+        }
+        
+        return componente;
+        
+    }
+    
+    
+    /**
+     * Componente de renderização das células. Ao contrário de um JTextField,
+     * que mantém um documento, o texto de um JLabel é apenas uma referência,
+     * logo trocá-lo não aloca memória. A borda é desenhada pelo próprio
+     * componente, e não definida por setBorder, que compara as margens das
+     * bordas a cada troca. Como em
+     * {@link javax.swing.table.DefaultTableCellRenderer}, os métodos de
+     * revalidação, de redesenho e de notificação de propriedades não fazem
+     * nada, pois o componente é apenas carimbado nas células pela JTable.
+     */
+    private static final class ComponenteCelula extends JLabel {
+        
+        
+        /**Ícone desenhado à esquerda do texto.*/
+        private Icon icone;
+        
+        /**Borda desenhada no componente.*/
+        private AbstractBorder borda;
+        
+        /**Margens da borda, reaproveitadas a cada desenho.*/
+        private final Insets margens;
+        
+        
+        /**
+         * Constructor padrão.
+         */
+        ComponenteCelula() {
+            setHorizontalAlignment(JLabel.CENTER);
+            setForeground(Color.BLACK);
+            setBackground(Color.WHITE);
+            setOpaque(true);
+            borda = BORDA_VAZIA;
+            margens = new Insets(0, 0, 0, 0);
+        }
+        
+        
+        /**
+         * Definir o ícone desenhado à esquerda do texto.
+         * 
+         * @param icone ícone, ou null.
+         */
+        void setIcone(Icon icone) {
+            this.icone = icone;
+        }
+        
         
+        /**
+         * Definir a borda desenhada no componente.
+         * 
+         * @param borda borda.
+         */
+        void setBorda(AbstractBorder borda) {
+            this.borda = borda;
+        }
+        
+        
+        @Override
+        protected void paintComponent(Graphics graphics) {
+            super.paintComponent(graphics);
+            borda.paintBorder(this, graphics, 0, 0, getWidth(), getHeight());
+            if (icone != null) {
+                borda.getBorderInsets(this, margens);
+                icone.paintIcon(this, graphics, margens.left + 1, margens.top + 2);
+            }
         }
         
-        return textField;
+        
+        @Override
+        public void invalidate() {}
+        
+        
+        @Override
+        public void validate() {}
+        
+        
+        @Override
+        public void revalidate() {}
+        
+        
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {}
+        
+        
+        @Override
+        public void repaint(Rectangle r) {}
+        
+        
+        @Override
+        public void repaint() {}
+        
+        
+        @Override
+        protected void firePropertyChange(String propertyName, Object oldValue,
+        Object newValue) {}
+        
+        
+        @Override
+        public void firePropertyChange(String propertyName, boolean oldValue,
+        boolean newValue) {}
+        
         
     }
     
     
+
 }
@@ -6,7 +6,8 @@ import javax.swing.event.ChangeListener;
 /**
  * Tela para a configuração da velocidade de simulação automática. A simulação
  * pode ocorrer num ciclo de execução entre 1 ms e 10.000 ms (10 s), isto significa
- * que a cada 1 ms a 10 ms o Timer executará o próximo passo da simulação.
+ * que a cada 1 ms a 10 ms o Timer executará o próximo passo da simulação. Com o
+ * cursor no início (0 ms), a simulação é executada em velocidade máxima.
  * 
  * @author Leandro Ap. de Almeida
  * 
@@ -37,12 +38,26 @@ public final class TelaConfigVelocidadeSimulacao extends javax.swing.JDialog imp
         initComponents();
         this.ouvinte = ouvinte;
         jSlider1.setValue(tempoAtual);
-        float tempo = ((float)tempoAtual / 1000);
-        setTitle(titulo + String.format("%.2f", tempo) + " seg.");
+        atualizarTitulo(tempoAtual);
         jSlider1.addChangeListener(this);
     }
     
     
+    /**
+     * Mostrar o tempo de execução no título da tela.
+     * 
+     * @param tempoExecucao tempo de execução, em ms.
+     */
+    private void atualizarTitulo(int tempoExecucao) {
+        if (tempoExecucao == OuvinteConfigSimulacaoAutomatica.VELOCIDADE_MAXIMA) {
+            setTitle(titulo + "MÁXIMA");
+        } else {
+            float tempo = ((float)tempoExecucao / 1000);
+            setTitle(titulo + String.format("%.2f", tempo) + " seg.");
+        }
+    }
+    
+    
     /**
      * Notificar o ouvinte sobre a mudança na velocidade de simulação automática.
      * Este evento é disparado quando o usuário solta o mouse ao mover o cursor
@@ -50,8 +65,7 @@ public final class TelaConfigVelocidadeSimulacao extends javax.swing.JDialog imp
      */
     private void notificarOuvinte() {
         int tempoExecucao = jSlider1.getValue();
-        float tempo = ((float)tempoExecucao / 1000);
-        setTitle(titulo + String.format("%.2f", tempo) + " seg.");
+        atualizarTitulo(tempoExecucao);
         ouvinte.velocidadeSimulacaoAutomaticaAtualizada(tempoExecucao);
     }
     
@@ -64,9 +78,7 @@ public final class TelaConfigVelocidadeSimulacao extends javax.swing.JDialog imp
      */
     @Override
     public void stateChanged(ChangeEvent e) {
-        int tempoExecucao = jSlider1.getValue();
-        float tempo = ((float)tempoExecucao / 1000);
-        setTitle(titulo + String.format("%.2f", tempo) + " seg.");
+        atualizarTitulo(jSlider1.getValue());
     }
 
 
@@ -82,7 +94,7 @@ public final class TelaConfigVelocidadeSimulacao extends javax.swing.JDialog imp
         setType(java.awt.Window.Type.POPUP);
 
         jSlider1.setMaximum(10000);
-        jSlider1.setMinimum(1);
+        jSlider1.setMinimum(0);
         jSlider1.setPaintTicks(true);
         jSlider1.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseReleased(java.awt.event.MouseEvent evt) {
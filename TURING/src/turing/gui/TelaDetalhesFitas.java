@@ -1,13 +1,25 @@
 package turing.gui;
 
-import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.DefaultListModel;
+import javax.swing.SpinnerNumberModel;
 import turing.classes.Fita;
-import turing.classes.MaquinaTuring;
-import static turing.classes.Constantes.SIMBOLO_BRANCO;
+import turing.classes.VisaoFita;
 import static turing.classes.Constantes.TAMANHO_FITA;
 
 /**
- * Tela para exibição do conteúdo das fitas da Máquina de Turing.
+ * Tela para exibição do conteúdo das fitas da Máquina de Turing. As fitas são
+ * desenhadas por um {@link ComponenteFitas}, e as células são copiadas das fitas
+ * para o modelo apenas quando ficam visíveis, logo a tela abre sem copiar as
+ * fitas inteiras, mesmo que tenham milhões de células.
+ * 
+ * <br><br>
+ * 
+ * As posições mostradas na tela são relativas à célula pivô, que é a posição 0,
+ * pois as fitas são alinhadas pelas células pivô.
  * 
  * @author Leandro Ap. de Almeida
  * 
@@ -15,155 +27,230 @@ import static turing.classes.Constantes.TAMANHO_FITA;
  */
 public class TelaDetalhesFitas extends javax.swing.JDialog {
     
-
+    
+    /**Número mínimo de células de um trecho em branco listado no resumo.*/
+    private static final int MINIMO_TRECHO_BRANCO = TAMANHO_FITA;
+    
+    /**Modelo das fitas.*/
+    private ModeloFitas modeloFitas;
+    
+    /**Cópias das fitas mostradas, ou null se não há simulação.*/
+    private final Fita[] fitas;
+    
+    /**Cursores das fitas mostradas.*/
+    private final Map<Integer, Integer> cursores;
+    
+    /**Resumo dos trechos em branco das fitas.*/
+    private final DefaultListModel<String> modeloTrechos;
+    
+    /**Fita e coluna inicial de cada trecho em branco do resumo.*/
+    private final List<int[]> trechos;
+    
+    
     /**
      * Constructor padrão.
      * 
      * @param parent tela proprietária.
      * 
-     * @param maquinaTuring Máquina de Turing em simulação.
+     * @param fitas cópias das fitas da etapa mostrada na simulação, que não são
+     * alteradas pela máquina, ou null se não há simulação.
+     * 
+     * @param cursores índices das células em que estão os cursores.
      * 
      * @param numeroFitas número de fitas da Máquina de Turing.
      */
-    public TelaDetalhesFitas(java.awt.Frame parent, MaquinaTuring maquinaTuring,
-    int numeroFitas) {
+    public TelaDetalhesFitas(java.awt.Frame parent, Fita[] fitas,
+    Map<Integer, Integer> cursores, int numeroFitas) {
         super(parent, true);
         initComponents();
-        jtFitas.getTableHeader().setUI(null);
+        modeloTrechos = new DefaultListModel<>();
+        trechos = new ArrayList<>();
+        jlTrechos.setModel(modeloTrechos);
         setLocationRelativeTo(parent);
-        imprimirFitas(maquinaTuring, numeroFitas);
+        this.fitas = fitas;
+        this.cursores = cursores;
+        imprimirFitas(numeroFitas);
+        jScrollPane1.getViewport().addChangeListener(evt -> atualizarJanelaFitas());
     }
     
     
     /**
-     * Imprimir o conteúdo das fitas da Máquina de Turing.
-     * 
-     * @param maquinaTuring Máquina de Turing em simulação.
+     * Imprimir o conteúdo das fitas da Máquina de Turing, e configurar os
+     * controles de navegação.
      * 
      * @param numeroFitas número de fitas da Máquina de Turing.
      */
-    private void imprimirFitas(MaquinaTuring maquinaTuring, int numeroFitas) {
+    private void imprimirFitas(int numeroFitas) {
         
-        if (maquinaTuring != null) {
+        if (fitas != null) {
             
-            Fita[] fitas = maquinaTuring.getFitas();
-
-            String[][] listaFitas = new String[fitas.length][fitas[0].getComprimento()];
-            String[] titulos = new String[fitas[0].getComprimento()];
-
-            jtFitas.setModel(new DefaultTableModel(listaFitas, titulos) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            });
-
-            for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-                jtFitas.getColumnModel().getColumn(i).setPreferredWidth(40);
-                jtFitas.getColumnModel().getColumn(i).setMaxWidth(40);
-            }
-
-            for (int i = 0; i < jtFitas.getRowCount(); i++) {
-                for (int j = 0; j < jtFitas.getColumnCount(); j++) {
-                    jtFitas.setValueAt(String.valueOf(SIMBOLO_BRANCO),
-                        i,
-                        j
-                    );
-                }
-            }
-
-            for (int i = 0; i < jtFitas.getRowCount(); i++) {
-                for (int j = 0; j < jtFitas.getColumnCount() ; j++) {
-                    jtFitas.setValueAt(
-                        fitas[i].getCelulas()[j].toString(),
-                        i,
-                        j
-                    );
-                }
-            }
+            // A janela visível vazia não copia nenhuma célula: as células são
+            // copiadas quando a área visível das fitas é definida.
             
-            RendererizadorFita renderer = new RendererizadorFita(false);
-
-            for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-                jtFitas.getColumnModel().getColumn(i).setCellRenderer(renderer);
-            }
+            modeloFitas = new ModeloFitas(fitas.length, false);
+            modeloFitas.atualizar(fitas, cursores, 0, -1);
             
-            if (fitas[0].getComprimento() > TAMANHO_FITA) {
-                jtFitas.setAutoResizeMode(
-                    javax.swing.JTable.AUTO_RESIZE_OFF
-                );
-            } else {
-                jtFitas.setAutoResizeMode(
-                    javax.swing.JTable.AUTO_RESIZE_ALL_COLUMNS
-                );
-            }
+            listarTrechosBrancos(fitas);
             
         } else {
             
-            String[][] listaFitas = new String[numeroFitas][TAMANHO_FITA];
-            String[] titulos = new String[TAMANHO_FITA];
-
-            jtFitas.setModel(new DefaultTableModel(listaFitas, titulos) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            });
-
-            for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-                jtFitas.getColumnModel().getColumn(i).setPreferredWidth(40);
-                jtFitas.getColumnModel().getColumn(i).setMaxWidth(40);
-            }
-
-            for (int i = 0; i < jtFitas.getRowCount(); i++) {
-                for (int j = 0; j < jtFitas.getColumnCount(); j++) {
-                    jtFitas.setValueAt(String.valueOf(SIMBOLO_BRANCO),
-                        i,
-                        j
-                    );
-                }
-            }
+            modeloFitas = new ModeloFitas(numeroFitas, false);
             
-            RendererizadorFita renderer = new RendererizadorFita(false);
-
-            for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-                jtFitas.getColumnModel().getColumn(i).setCellRenderer(renderer);
-            }
+        }
+        
+        cfFitas.setModelo(modeloFitas, new RendererizadorFita(false), false);
+        
+        String[] nomesFitas = new String[modeloFitas.getRowCount()];
+        
+        for (int i = 0; i < nomesFitas.length; i++) {
+            nomesFitas[i] = "Fita " + (i + 1);
+        }
+        
+        jcbFita.setModel(new DefaultComboBoxModel<>(nomesFitas));
+        
+        int pivo = modeloFitas.getColunaPivo();
+        
+        jspPosicao.setModel(new SpinnerNumberModel(0, -pivo,
+            modeloFitas.getColumnCount() - pivo - 1, 1));
+        
+        jcbFita.setEnabled(fitas != null);
+        jbCursor.setEnabled(fitas != null);
+        jbPivo.setEnabled(fitas != null);
+        jspPosicao.setEnabled(fitas != null);
+        jbPosicao.setEnabled(fitas != null);
+        
+        jlTrechosBrancos.setText("Trechos em branco com " + MINIMO_TRECHO_BRANCO
+            + " células ou mais: " + trechos.size());
+        
+    }
+    
+    
+    /**
+     * Copiar para o modelo as células da janela visível das fitas. É chamado
+     * sempre que a área visível das fitas muda, pois o modelo mostra apenas as
+     * células copiadas.
+     */
+    private void atualizarJanelaFitas() {
+        if (fitas != null) {
+            cfFitas.atualizar(fitas, cursores);
+        }
+    }
+    
+    
+    /**
+     * Listar no resumo os trechos das fitas com ao menos
+     * {@link #MINIMO_TRECHO_BRANCO} células em branco consecutivas. As células
+     * são percorridas uma única vez, pela visão das fitas, sem cópia.
+     * 
+     * @param fitas fitas da Máquina de Turing.
+     */
+    private void listarTrechosBrancos(Fita[] fitas) {
+        
+        List<String> itens = new ArrayList<>();
+        
+        int pivo = modeloFitas.getColunaPivo();
+        
+        for (int i = 0; i < fitas.length; i++) {
             
-            jtFitas.setAutoResizeMode(
-                javax.swing.JTable.AUTO_RESIZE_ALL_COLUMNS
-            );
+            VisaoFita visao = fitas[i].getVisao();
+            int branco = fitas[i].getCodigoBranco();
+            int comprimento = visao.getComprimento();
+            int inicio = -1;
+            
+            for (int j = 0; j <= comprimento; j++) {
+                
+                boolean emBranco = j < comprimento && visao.getCodigo(j) == branco;
+                
+                if (emBranco && inicio < 0) {
+                    inicio = j;
+                } else if (!emBranco && inicio >= 0) {
+                    if (j - inicio >= MINIMO_TRECHO_BRANCO) {
+                        int coluna = modeloFitas.getColuna(i, inicio);
+                        trechos.add(new int[] {i, coluna});
+                        itens.add("Fita " + (i + 1) + ": posições " + (coluna - pivo)
+                            + " a " + (coluna - pivo + j - inicio - 1) + " ("
+                            + (j - inicio) + " células)");
+                    }
+                    inicio = -1;
+                }
+                
+            }
             
         }
         
+        modeloTrechos.addAll(itens);
+        
     }
-
     
+    
+    /**
+     * Rolar as fitas até uma coluna, e mostrar a sua posição.
+     * 
+     * @param coluna índice da coluna.
+     */
+    private void irParaColuna(int coluna) {
+        jspPosicao.setValue(coluna - modeloFitas.getColunaPivo());
+        cfFitas.mostrarColuna(coluna);
+    }
+
+
     @SuppressWarnings("unchecked")
     // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
     private void initComponents() {
 
         jScrollPane1 = new javax.swing.JScrollPane();
-        jtFitas = new javax.swing.JTable();
+        cfFitas = new turing.gui.ComponenteFitas(40, 40);
+        jlFita = new javax.swing.JLabel();
+        jcbFita = new javax.swing.JComboBox<>();
+        jbCursor = new javax.swing.JButton();
+        jbPivo = new javax.swing.JButton();
+        jlPosicao = new javax.swing.JLabel();
+        jspPosicao = new javax.swing.JSpinner();
+        jbPosicao = new javax.swing.JButton();
+        jlTrechosBrancos = new javax.swing.JLabel();
+        jScrollPane2 = new javax.swing.JScrollPane();
+        jlTrechos = new javax.swing.JList<>();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
         setTitle("DETALHES DAS FITAS");
 
-        jtFitas.setFont(new java.awt.Font("DejaVu Sans", 0, 16)); // NOI18N
-        jtFitas.setModel(new javax.swing.table.DefaultTableModel(
-            new Object [][] {
-                {},
-                {},
-                {},
-                {}
-            },
-            new String [] {
+        cfFitas.setFont(new java.awt.Font("DejaVu Sans", 0, 16)); // NOI18N
+        jScrollPane1.setViewportView(cfFitas);
+
+        jlFita.setText("Fita:");
+
+        jbCursor.setText("Ir para o Cursor");
+        jbCursor.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jbCursorActionPerformed(evt);
+            }
+        });
+
+        jbPivo.setText("Ir para o Pivô");
+        jbPivo.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jbPivoActionPerformed(evt);
+            }
+        });
+
+        jlPosicao.setText("Posição:");
+
+        jbPosicao.setText("Ir");
+        jbPosicao.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jbPosicaoActionPerformed(evt);
+            }
+        });
+
+        jlTrechosBrancos.setText("Trechos em branco:");
 
+        jlTrechos.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        jlTrechos.addListSelectionListener(new javax.swing.event.ListSelectionListener() {
+            public void valueChanged(javax.swing.event.ListSelectionEvent evt) {
+                jlTrechosValueChanged(evt);
             }
-        ));
-        jtFitas.setRowHeight(40);
-        jtFitas.setRowSelectionAllowed(false);
-        jScrollPane1.setViewportView(jtFitas);
+        });
+        jScrollPane2.setViewportView(jlTrechos);
 
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
         getContentPane().setLayout(layout);
@@ -171,24 +258,87 @@ public class TelaDetalhesFitas extends javax.swing.JDialog {
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(layout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 930, Short.MAX_VALUE)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 930, Short.MAX_VALUE)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(jlFita)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(jcbFita, javax.swing.GroupLayout.PREFERRED_SIZE, 120, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                        .addComponent(jbCursor)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(jbPivo)
+                        .addGap(18, 18, 18)
+                        .addComponent(jlPosicao)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(jspPosicao, javax.swing.GroupLayout.PREFERRED_SIZE, 120, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(jbPosicao)
+                        .addGap(0, 0, Short.MAX_VALUE))
+                    .addComponent(jScrollPane2)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(jlTrechosBrancos)
+                        .addGap(0, 0, Short.MAX_VALUE)))
                 .addContainerGap())
         );
         layout.setVerticalGroup(
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 403, Short.MAX_VALUE)
+                .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 250, Short.MAX_VALUE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jlFita)
+                    .addComponent(jcbFita, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(jbCursor)
+                    .addComponent(jbPivo)
+                    .addComponent(jlPosicao)
+                    .addComponent(jspPosicao, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(jbPosicao))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addComponent(jlTrechosBrancos)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(jScrollPane2, javax.swing.GroupLayout.PREFERRED_SIZE, 120, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap())
         );
 
         pack();
     }// </editor-fold>//GEN-END:initComponents
 
+    private void jbCursorActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jbCursorActionPerformed
+        irParaColuna(modeloFitas.getColunaCursor(jcbFita.getSelectedIndex()));
+    }//GEN-LAST:event_jbCursorActionPerformed
+
+    private void jbPivoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jbPivoActionPerformed
+        irParaColuna(modeloFitas.getColunaPivo());
+    }//GEN-LAST:event_jbPivoActionPerformed
+
+    private void jbPosicaoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jbPosicaoActionPerformed
+        irParaColuna(modeloFitas.getColunaPivo() + (int) jspPosicao.getValue());
+    }//GEN-LAST:event_jbPosicaoActionPerformed
+
+    private void jlTrechosValueChanged(javax.swing.event.ListSelectionEvent evt) {//GEN-FIRST:event_jlTrechosValueChanged
+        int indice = jlTrechos.getSelectedIndex();
+        if (!evt.getValueIsAdjusting() && indice >= 0) {
+            jcbFita.setSelectedIndex(trechos.get(indice)[0]);
+            irParaColuna(trechos.get(indice)[1]);
+        }
+    }//GEN-LAST:event_jlTrechosValueChanged
+
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private turing.gui.ComponenteFitas cfFitas;
     private javax.swing.JScrollPane jScrollPane1;
-    private javax.swing.JTable jtFitas;
+    private javax.swing.JScrollPane jScrollPane2;
+    private javax.swing.JButton jbCursor;
+    private javax.swing.JButton jbPivo;
+    private javax.swing.JButton jbPosicao;
+    private javax.swing.JComboBox<String> jcbFita;
+    private javax.swing.JLabel jlFita;
+    private javax.swing.JLabel jlPosicao;
+    private javax.swing.JList<String> jlTrechos;
+    private javax.swing.JLabel jlTrechosBrancos;
+    private javax.swing.JSpinner jspPosicao;
     // End of variables declaration//GEN-END:variables
 
 }
\ No newline at end of file
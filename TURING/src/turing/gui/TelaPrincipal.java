@@ -21,14 +21,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.AbstractAction;
 import javax.swing.DefaultListModel;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
 import javax.swing.text.Document;
 import javax.swing.text.Element;
 import javax.swing.undo.UndoManager;
@@ -43,6 +48,7 @@ import turing.classes.ConjuntoEstados;
 import static turing.classes.Constantes.CABECALHO_PROGRAMA;
 import turing.classes.DirecaoMovimento;
 import turing.classes.Fita;
+import turing.classes.MaquinaCompilada;
 import turing.classes.MaquinaMultifitas;
 import turing.classes.MaquinaPadrao;
 import turing.classes.MaquinaTuring;
@@ -50,14 +56,14 @@ import turing.classes.Modelo;
 import static turing.classes.Modelo.MULTIFITAS;
 import static turing.classes.Modelo.PADRAO;
 import turing.classes.Simbolo;
+import turing.classes.TabelaTransicao;
 import turing.classes.Transicao;
 import static turing.gui.ComponenteNumeroLinha.ALINHAMENTO_CENTRALIZADO;
 import static turing.gui.Formatacao.formatarSimbolos;
 import turing.classes.OuvinteEtapaSimulacao;
-import static turing.classes.Constantes.SIMBOLO_BRANCO;
-import static turing.gui.Sufixos.SUFIXO_CURSOR;
-import static turing.gui.Sufixos.SUFIXO_CEL_PIVO;
-import static turing.classes.Constantes.TAMANHO_FITA;
+import turing.classes.OuvinteFiltrado;
+import turing.classes.PoliticaNotificacao;
+import turing.classes.StatusExecucao;
 
 
 /**
@@ -115,7 +121,7 @@ OuvinteConfigSimulacaoAutomatica {
     private boolean arquivoAberto;
     
     /**Status de simulador em execução.*/
-    private boolean emExecucao;
+    private volatile boolean emExecucao;
     
     /**Status de simulação automática.*/
     private boolean simulacaoAutomatica;
@@ -139,8 +145,53 @@ OuvinteConfigSimulacaoAutomatica {
     private int comprimentoTextoCompilacao;
     
     /**Controle de entrada no Thread do Timer.*/
-    private boolean atualizandoEtapaSimulacao;
+    private volatile boolean atualizandoEtapaSimulacao;
     
+    /**Número máximo de atualizações da tela por segundo durante a simulação.*/
+    private static final int ATUALIZACOES_POR_SEGUNDO = 60;
+    
+    /**Filtro das etapas da simulação entregues à tela.*/
+    private OuvinteFiltrado ouvinteFiltrado;
+    
+    /**Modelo da JTable das fitas.*/
+    private ModeloFitas modeloFitas;
+    
+    /**Renderizador das células da JTable das fitas.*/
+    private RendererizadorFita rendererizadorFita;
+    
+    /**Componente que desenha as fitas diretamente, alternativo à JTable.*/
+    private ComponenteFitas componenteFitas;
+    
+    /**Opção de desenhar as fitas diretamente, sem a JTable.*/
+    private JCheckBoxMenuItem jcbmiDesenharFitas;
+    
+    /**
+     * Cópias das fitas mostradas na última etapa, ou null se não há etapa
+     * mostrada.
+     */
+    private Fita[] fitasMostradas;
+    
+    /**Cursores mostrados na última etapa.*/
+    private Map<Integer, Integer> cursoresMostrados;
+
+    /**Tempo de execução de cada rajada de passos em velocidade máxima, em ms.*/
+    private static final long INTERVALO_QUADRO = 1000 / ATUALIZACOES_POR_SEGUNDO;
+    
+    /**Thread da simulação automática em velocidade máxima.*/
+    private volatile Thread simulacaoMaxima;
+    
+    /**Thread da busca de um passo, ou null se não há busca em andamento.*/
+    private volatile Thread buscaPasso;
+    
+    /**
+     * Último quadro da simulação publicado fora do EDT e ainda não mostrado.
+     * Um quadro publicado enquanto outro aguarda o EDT o substitui.
+     */
+    private final AtomicReference<QuadroSimulacao> quadroPendente;
+    
+    /**Número máximo de passos que podem ser desfeitos no simulador.*/
+    private static final int JANELA_DIARIO = 1 << 16;
+
     
     public TelaPrincipal() {
         
@@ -161,6 +212,7 @@ OuvinteConfigSimulacaoAutomatica {
         comprimentoTextoArquivo = 0;
         comprimentoTextoCompilacao = 0;
         nome = "Máquina de Turing";
+        quadroPendente = new AtomicReference<>();
 		
         filtroArquivo = new FileNameExtensionFilter(
             "Arquivo para Simulador da Máquina de Turing (*.asmt)",
@@ -174,6 +226,14 @@ OuvinteConfigSimulacaoAutomatica {
 		
         modeloLista = new DefaultListModel<>();
         jtFitas.getTableHeader().setUI(null);
+        jtFitas.setAutoCreateColumnsFromModel(false);
+        componenteFitas = new ComponenteFitas();
+        componenteFitas.setFont(jtFitas.getFont());
+        componenteFitas.setComponentPopupMenu(jppFitas);
+        jcbmiDesenharFitas = new JCheckBoxMenuItem("Desenhar Fitas");
+        jcbmiDesenharFitas.addActionListener(evt -> alternarDesenhoFitas());
+        jppFitas.add(jcbmiDesenharFitas);
+        jScrollPane4.getViewport().addChangeListener(evt -> atualizarJanelaFitas());
         jppAutocompletar.add(jpAutocompletar);
         jlAutocompletar.setModel(modeloLista);
 		
@@ -1121,6 +1181,8 @@ OuvinteConfigSimulacaoAutomatica {
             jbParar.setEnabled(false);
             jbVelocidade.setEnabled(false);
             jbExecutarPasso.setEnabled(false);
+            jbVoltarPasso.setEnabled(false);
+            jbIrParaPasso.setEnabled(false);
             jbReiniciar.setEnabled(false);
             jrbPadrao.setEnabled(false);
             jrbMultifita.setEnabled(false);
@@ -1136,12 +1198,16 @@ OuvinteConfigSimulacaoAutomatica {
             );
             jtfPalavra.setFont(font);
             if (emExecucao) {
+                // Durante a busca de um passo, apenas ela pode ser pausada.
+                boolean emBusca = buscaPasso != null;
                 jtfPalavra.setFocusable(false);
-                jbExecutar.setEnabled(!simulacaoAutomatica);
-                jbPausar.setEnabled(!emPausa && simulacaoAutomatica);
+                jbExecutar.setEnabled(!simulacaoAutomatica && !emBusca);
+                jbPausar.setEnabled(!emPausa && simulacaoAutomatica || emBusca);
                 jbParar.setEnabled(true);
                 jbVelocidade.setEnabled(true);
-                jbExecutarPasso.setEnabled(!simulacaoAutomatica);
+                jbExecutarPasso.setEnabled(!simulacaoAutomatica && !emBusca);
+                jbVoltarPasso.setEnabled(!simulacaoAutomatica && !emBusca);
+                jbIrParaPasso.setEnabled(!simulacaoAutomatica && !emBusca);
                 jbCarregarPalavra.setEnabled(false);
                 jtfPalavra.setEditable(false);
                 jbReiniciar.setEnabled(true);
@@ -1158,6 +1224,8 @@ OuvinteConfigSimulacaoAutomatica {
                 jbParar.setEnabled(false);
                 jbVelocidade.setEnabled(false);
                 jbExecutarPasso.setEnabled(false);
+                jbVoltarPasso.setEnabled(maquinaTuring != null);
+                jbIrParaPasso.setEnabled(maquinaTuring != null);
                 jbReiniciar.setEnabled(false);
                 jrbPadrao.setEnabled(true);
                 jrbMultifita.setEnabled(true);
@@ -1884,16 +1952,54 @@ OuvinteConfigSimulacaoAutomatica {
                             (int)jspNumeroFitas.getValue()
                         );
 
-                        case MULTIFITAS -> maquinaTuring = new MaquinaMultifitas(
-                            alfabetoFita,
-                            conjuntoEstados,
-                            funcaoTransicao,
-                            (int)jspNumeroFitas.getValue()
-                        );
+                        case MULTIFITAS -> {
+                            
+                            int numeroFitas = (int)jspNumeroFitas.getValue();
+                            
+                            // A máquina compilada tem o mesmo comportamento da
+                            // MaquinaMultifitas, e mantém um diário dos últimos
+                            // passos, para que possam ser desfeitos, e uma linha
+                            // do tempo, para ir a qualquer passo sem repetir a
+                            // simulação desde o início. Se a tabela de transição
+                            // não couber no limite, a MaquinaMultifitas é usada,
+                            // sem diário e sem linha do tempo.
+                            
+                            if (TabelaTransicao.isDentroLimite(alfabetoFita,
+                            conjuntoEstados, numeroFitas)) {
+                                
+                                MaquinaCompilada maquina = new MaquinaCompilada(
+                                    alfabetoFita,
+                                    conjuntoEstados,
+                                    funcaoTransicao,
+                                    numeroFitas
+                                );
+                                
+                                maquina.setJanelaDiario(JANELA_DIARIO);
+                                maquina.setLinhaTempo(true);
+                                
+                                maquinaTuring = maquina;
+                                
+                            } else {
+                                
+                                maquinaTuring = new MaquinaMultifitas(
+                                    alfabetoFita,
+                                    conjuntoEstados,
+                                    funcaoTransicao,
+                                    numeroFitas
+                                );
+                                
+                            }
+                            
+                        }
 
                     }
 
-                    maquinaTuring.adicionarOuvinte(this);
+                    // Em velocidades altas, a tela é atualizada no máximo
+                    // ATUALIZACOES_POR_SEGUNDO vezes por segundo, e não a cada
+                    // passo da simulação.
+                    
+                    ouvinteFiltrado = maquinaTuring.adicionarOuvinte(this,
+                    PoliticaNotificacao.porSegundo(ATUALIZACOES_POR_SEGUNDO));
 
                     maquinaTuring.carregarPalavra(jtfPalavra.getText());
 
@@ -1946,7 +2052,8 @@ OuvinteConfigSimulacaoAutomatica {
     /**
      * Executar a simulação automática dentro do ciclo de em um componente Timer.
      * Caso mude a velocidade de simulação, o tiver deve ser renovado com as
-     * novas configurações.
+     * novas configurações. Na velocidade máxima, o Timer é substituído por um
+     * Thread que executa a simulação sem intervalo entre os passos.
      */
     private synchronized void executarSimulacaoAutomatica() {
         
@@ -1954,20 +2061,24 @@ OuvinteConfigSimulacaoAutomatica {
             
             if (simulacaoAutomatica) {
 
-                if (timer != null)  {
-                    timer.cancel();
-                    timer = null;
+                interromperSimulacaoAutomatica();
+                
+                if (tempoExecucao == VELOCIDADE_MAXIMA) {
+                    iniciarSimulacaoMaxima();
+                    return;
                 }
 
+                final MaquinaTuring maquina = maquinaTuring;
+
                 timer = new Timer();
 
                 final TimerTask task = new TimerTask() {
                     @Override
                     public void run() {
-                        if (maquinaTuring != null) {
+                        synchronized (maquina) {
                             if (!atualizandoEtapaSimulacao) {
                                 atualizandoEtapaSimulacao = true;
-                                maquinaTuring.executarPasso();
+                                maquina.executarPasso();
                                 atualizandoEtapaSimulacao = false;
                             }
                         }
@@ -1987,6 +2098,139 @@ OuvinteConfigSimulacaoAutomatica {
     }
     
     
+    /**
+     * Iniciar a simulação automática em velocidade máxima. Os passos são
+     * executados em rajadas de {@link #INTERVALO_QUADRO} ms, por meio de
+     * {@link MaquinaTuring#executar(long, long)}, em um Thread dedicado. Ao
+     * final de cada rajada, a máquina notifica a tela, que publica um quadro
+     * da etapa para o EDT sem aguardá-lo, logo a tela é atualizada na
+     * frequência de quadros, e não a cada passo. Cada rajada é executada com o
+     * monitor da máquina, que é o mesmo usado pelas ações do EDT sobre ela.
+     */
+    private void iniciarSimulacaoMaxima() {
+        
+        final MaquinaTuring maquina = maquinaTuring;
+        
+        simulacaoMaxima = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                StatusExecucao status;
+                synchronized (maquina) {
+                    // A interrupção pode ter ocorrido enquanto o EDT usava a
+                    // máquina.
+                    if (Thread.currentThread().isInterrupted()) break;
+                    status = maquina.executar(0, INTERVALO_QUADRO).getStatus();
+                }
+                if (status != StatusExecucao.LIMITE_TEMPO) break;
+            }
+        }, "Simulação em velocidade máxima");
+        
+        simulacaoMaxima.setDaemon(true);
+        simulacaoMaxima.start();
+        
+    }
+    
+    
+    /**
+     * Interromper a simulação automática, seja do Timer, seja do Thread de
+     * velocidade máxima, e a busca de um passo. Os Threads não são aguardados:
+     * eles terminam ao final da rajada atual, e as ações do EDT que usam a
+     * máquina aguardam apenas o seu monitor. Deve ser chamado no EDT.
+     */
+    private void interromperSimulacaoAutomatica() {
+        
+        if (timer != null)  {
+            timer.cancel();
+            timer = null;
+        }
+        
+        Thread simulacao = simulacaoMaxima;
+        
+        if (simulacao != null) {
+            simulacaoMaxima = null;
+            simulacao.interrupt();
+        }
+        
+        Thread busca = buscaPasso;
+        
+        if (busca != null) {
+            buscaPasso = null;
+            busca.interrupt();
+        }
+        
+    }
+    
+    
+    /**
+     * Iniciar a busca de um passo em um Thread dedicado, para que um passo
+     * distante, ou um programa que não para, não bloqueie o EDT. A busca é
+     * feita em rajadas de {@link #INTERVALO_QUADRO} ms, por meio de
+     * {@link MaquinaTuring#irParaPasso(long, long)}, cada uma com o monitor da
+     * máquina, logo a tela mostra o seu progresso na frequência de quadros, e
+     * o botão Pausar a cancela entre duas rajadas. Ao término, a etapa
+     * alcançada é publicada como um quadro. Deve ser chamado no EDT.
+     * 
+     * @param passo número do passo.
+     */
+    private void iniciarBuscaPasso(long passo) {
+        
+        interromperSimulacaoAutomatica();
+        
+        final MaquinaTuring maquina = maquinaTuring;
+        final OuvinteFiltrado ouvinte = ouvinteFiltrado;
+        
+        buscaPasso = new Thread(() -> {
+            long anterior = -1;
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (maquina) {
+                    if (Thread.currentThread().isInterrupted()) break;
+                    long alcancado = maquina.irParaPasso(passo, INTERVALO_QUADRO);
+                    // Se a rajada não avançou, a máquina parou antes do passo.
+                    if (alcancado >= passo || alcancado == anterior) {
+                        ouvinte.entregarPendente();
+                        break;
+                    }
+                    anterior = alcancado;
+                }
+            }
+            Thread busca = Thread.currentThread();
+            SwingUtilities.invokeLater(() -> {
+                // A busca pode ter sido cancelada, ou substituída por outra.
+                if (buscaPasso == busca) {
+                    buscaPasso = null;
+                    configurarBarraFerramentasSimulador();
+                }
+            });
+        }, "Busca de passo");
+        
+        buscaPasso.setDaemon(true);
+        buscaPasso.start();
+        
+    }
+    
+    
+    /**
+     * Publicar para o EDT um quadro da simulação recebido fora dele, isto é, no
+     * Thread do Timer ou no Thread de velocidade máxima. O Thread atual não
+     * aguarda o EDT: o quadro é guardado em {@link #quadroPendente}, e apenas
+     * o primeiro quadro publicado enquanto a vaga está vazia agenda a sua
+     * exibição, que mostra o último quadro publicado até então.
+     * 
+     * @param quadro quadro da etapa da simulação.
+     */
+    private void publicarQuadroSimulacao(QuadroSimulacao quadro) {
+        
+        if (quadroPendente.getAndSet(quadro) == null) {
+            SwingUtilities.invokeLater(() -> {
+                // O quadro pode ter sido descartado por uma ação do EDT sobre
+                // a máquina, que mostra a etapa atual diretamente.
+                QuadroSimulacao pendente = quadroPendente.getAndSet(null);
+                if (pendente != null) mostrarQuadroSimulacao(pendente);
+            });
+        }
+        
+    }
+
+    
     /**
      * Pausar a execução automática do simulador.
      */
@@ -1994,8 +2238,11 @@ OuvinteConfigSimulacaoAutomatica {
         if (maquinaTuring != null) {
             emPausa = true;
             simulacaoAutomatica = false;
+            interromperSimulacaoAutomatica();
             configurarBarraFerramentasSimulador();
-            timer.cancel();
+            synchronized (maquinaTuring) {
+                ouvinteFiltrado.entregarPendente();
+            }
         }
     }
     
@@ -2005,8 +2252,77 @@ OuvinteConfigSimulacaoAutomatica {
      */
     private void executarPassoSimulacao() {
         if (maquinaTuring != null) {
-            maquinaTuring.executarPasso();
+            synchronized (maquinaTuring) {
+                maquinaTuring.executarPasso();
+                ouvinteFiltrado.entregarPendente();
+            }
+        }
+    }
+    
+    
+    /**
+     * Desfazer manualmente o último passo do programa. Se a máquina não tiver
+     * um diário de passos, ou se o passo já tiver saído da janela do diário, a
+     * máquina vai para o passo anterior por meio de uma busca, como em
+     * {@link #iniciarBuscaPasso(long)}.
+     */
+    private void voltarPassoSimulacao() {
+        if (maquinaTuring != null && maquinaTuring.getNumeroPassos() > 0) {
+            emExecucao = true;
+            boolean desfeito;
+            synchronized (maquinaTuring) {
+                desfeito = maquinaTuring.voltarPasso();
+                ouvinteFiltrado.entregarPendente();
+            }
+            if (!desfeito) {
+                iniciarBuscaPasso(maquinaTuring.getNumeroPassos() - 1);
+            }
+            configurarBarraFerramentasSimulador();
+        }
+    }
+    
+    
+    /**
+     * Ir a um passo qualquer do programa, informado pelo usuário. Com a linha
+     * do tempo da máquina, o passo é alcançado a partir do marco mais próximo,
+     * sem repetir a simulação desde o início. O passo é buscado fora do EDT,
+     * por meio de {@link #iniciarBuscaPasso(long)}.
+     */
+    private void irParaPassoSimulacao() {
+        
+        if (maquinaTuring != null) {
+            
+            String texto = JOptionPane.showInputDialog(
+                this,
+                "Ir para o passo:",
+                maquinaTuring.getNumeroPassos()
+            );
+            
+            if (texto == null) return;
+            
+            try {
+                
+                long passo = Long.parseLong(texto.trim());
+                
+                if (passo < 0) throw new NumberFormatException();
+                
+                emExecucao = true;
+                iniciarBuscaPasso(passo);
+                configurarBarraFerramentasSimulador();
+                
+            } catch (NumberFormatException ex) {
+                
+                JOptionPane.showMessageDialog(
+                    this,
+                    "Número de passo inválido: " + texto,
+                    "Erro",
+                    JOptionPane.ERROR_MESSAGE
+                );
+                
+            }
+            
         }
+        
     }
     
     
@@ -2015,12 +2331,18 @@ OuvinteConfigSimulacaoAutomatica {
      */
     private void encerrarSimulacao() {
         if (maquinaTuring != null) {
-            if (timer != null)  timer.cancel();
+            interromperSimulacaoAutomatica();
             emExecucao = false;
             simulacaoAutomatica = false;
             emPausa = false;
-            maquinaTuring.removerOuvinte(this);
+            synchronized (maquinaTuring) {
+                // Os quadros publicados pela simulação interrompida não são
+                // mais mostrados.
+                maquinaTuring.removerOuvinte(this);
+                quadroPendente.set(null);
+            }
             maquinaTuring = null;
+            ouvinteFiltrado = null;
             jtfEstadoAtual.setText("");
             jtfNumPassos.setText("");
             jtfResultado.setText("");
@@ -2035,12 +2357,14 @@ OuvinteConfigSimulacaoAutomatica {
      */
     private void reiniciarSimulacao() {
         if (maquinaTuring != null) {
-            if (timer != null) timer.cancel();
+            interromperSimulacaoAutomatica();
             emExecucao = true;
             simulacaoAutomatica = false;
             emPausa = false;
             configurarBarraFerramentasSimulador();
-            maquinaTuring.reiniciar();
+            synchronized (maquinaTuring) {
+                maquinaTuring.reiniciar();
+            }
         }
     }
     
@@ -2106,35 +2430,40 @@ OuvinteConfigSimulacaoAutomatica {
         modelo = jrbPadrao.isSelected() ? Modelo.PADRAO : Modelo.MULTIFITAS;
         
         int numeroFitas = jrbPadrao.isSelected() ? 1 : (int) jspNumeroFitas.getValue();
-        int numeroCelulas = TAMANHO_FITA;
         
-        String[][] celulas = new String[numeroFitas][numeroCelulas];
-        String[] titulos = new String[numeroCelulas];
+        modeloFitas = new ModeloFitas(numeroFitas, jrbMoverFita.isSelected());
         
-        for (int i = 0; i < numeroFitas; i++) {
-            for (int j = 0; j < numeroCelulas; j++) {
-                celulas[i][j] = String.valueOf(SIMBOLO_BRANCO);
-            }
+        fitasMostradas = null;
+        cursoresMostrados = null;
+        
+        rendererizadorFita = new RendererizadorFita(jrbMoverCursor.isSelected());
+        
+        TableColumnModel colunas = jtFitas.getColumnModel();
+        
+        while (colunas.getColumnCount() > 0) {
+            colunas.removeColumn(colunas.getColumn(colunas.getColumnCount() - 1));
         }
         
-        jtFitas.setModel(new DefaultTableModel(celulas, titulos) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
-
-        RendererizadorFita renderer = new RendererizadorFita(jrbMoverCursor.isSelected());
-
-        for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-            jtFitas.getColumnModel().getColumn(i).setCellRenderer(renderer);
-        } 
-
-        for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-            jtFitas.getColumnModel().getColumn(i).setPreferredWidth(80);
-            jtFitas.getColumnModel().getColumn(i).setMaxWidth(80);
+        // As fitas fixas são sempre desenhadas pelo componente das fitas, logo
+        // a JTable só recebe o modelo das fitas móveis.
+        
+        if (jrbMoverFita.isSelected()) {
+            jtFitas.setModel(modeloFitas);
+        } else {
+            jtFitas.setModel(new DefaultTableModel());
         }
         
+        ajustarColunasFitas();
+        
+        componenteFitas.setModelo(modeloFitas, rendererizadorFita,
+            jrbMoverFita.isSelected());
+        
+        jcbmiDesenharFitas.setEnabled(jrbMoverFita.isSelected());
+        
+        alternarDesenhoFitas();
+        
+        cmfMapaFitas.setNumeroFitas(numeroFitas);
+
         if (jrbMoverFita.isSelected()) {
             jtFitas.setAutoResizeMode(
                 javax.swing.JTable.AUTO_RESIZE_ALL_COLUMNS
@@ -2146,6 +2475,32 @@ OuvinteConfigSimulacaoAutomatica {
         }
         
     }
+    
+    
+    /**
+     * Ajustar as colunas da JTable das fitas ao número de colunas do modelo.
+     * As colunas são criadas manualmente, e não a partir do modelo, logo o
+     * crescimento das fitas custa apenas as colunas acrescentadas. A JTable só
+     * mostra as fitas móveis, cujo número de colunas é o da janela em torno dos
+     * cursores; com as fitas fixas, ela não tem colunas.
+     */
+    private void ajustarColunasFitas() {
+        
+        TableColumnModel colunas = jtFitas.getColumnModel();
+        
+        int numeroColunas = jrbMoverFita.isSelected() ? modeloFitas.getColumnCount() : 0;
+        
+        while (colunas.getColumnCount() > numeroColunas) {
+            colunas.removeColumn(colunas.getColumn(colunas.getColumnCount() - 1));
+        }
+        
+        for (int i = colunas.getColumnCount(); i < numeroColunas; i++) {
+            TableColumn coluna = new TableColumn(i, 80, rendererizadorFita, null);
+            coluna.setMaxWidth(80);
+            colunas.addColumn(coluna);
+        }
+        
+    }
 
 
     /**
@@ -2182,106 +2537,112 @@ OuvinteConfigSimulacaoAutomatica {
      */
     private void configurarFitas(Fita[] fitas, Map<Integer, Integer> cursores) {
         
-        if (jrbMoverFita.isSelected()) {
-            
-            // Cursores fixos e fitas se movem.
-            
-            int colCursor = 11;
-            
-            for (int i = 0; i < jtFitas.getRowCount(); i++) {
-                for (int j = 0; j < jtFitas.getColumnCount(); j++) {
-                    jtFitas.setValueAt(String.valueOf(SIMBOLO_BRANCO), i, j);
-                }
-            }
-            
-            for (int i = 0; i < cursores.size(); i++) {
-                
-                int cursor = cursores.get(i);
-                
-                String s = fitas[i].getCelulas()[cursor].toString() + SUFIXO_CURSOR;
-                
-                jtFitas.setValueAt(s, i, colCursor);
-                
-                for (int j = colCursor - 1, k = cursor - 1; j >= 0 && k >= 0; j--, k--) {
-                    if (k == fitas[i].getCelulaPivo()) {
-                        s = fitas[i].getCelulas()[k].toString() + SUFIXO_CEL_PIVO;
-                    } else {
-                        s = fitas[i].getCelulas()[k].toString();
-                    }
-                    jtFitas.setValueAt(s, i, j);
-                }
-                
-                for (int j = colCursor + 1, k = cursor + 1; j < TAMANHO_FITA &&
-                k < fitas[i].getComprimento(); j++, k++) {
-                    if (k == fitas[i].getCelulaPivo()) {
-                        s = fitas[i].getCelulas()[k].toString() + SUFIXO_CEL_PIVO;
-                    } else {
-                        s = fitas[i].getCelulas()[k].toString();
-                    }
-                    jtFitas.setValueAt(s, i, j);
-                }
-                
-            }
-
-        } else {
-            
-            // Fitas fixas e cursores se movem.
-
-            if (jtFitas.getColumnCount() != fitas[0].getComprimento()) {
-
-                String[][] listaFitas = new String[fitas.length][fitas[0].getComprimento()];
-                String[] titulos = new String[fitas[0].getComprimento()];
-
-                jtFitas.setModel(new DefaultTableModel(listaFitas, titulos) {
-                    @Override
-                    public boolean isCellEditable(int row, int column) {
-                        return false;
-                    }
-                });
-
-                RendererizadorFita renderer = new RendererizadorFita(jrbMoverCursor.isSelected());
-
-                for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-                    jtFitas.getColumnModel().getColumn(i).setCellRenderer(renderer);
-                } 
-
-                for (int i = 0; i < jtFitas.getColumnCount(); i++) {
-                    jtFitas.getColumnModel().getColumn(i).setPreferredWidth(80);
-                    jtFitas.getColumnModel().getColumn(i).setMaxWidth(80);
-                }
-
-                jtFitas.setAutoResizeMode(
-                    javax.swing.JTable.AUTO_RESIZE_OFF
-                );
-
-            } 
-
-            for (int i = 0; i < jtFitas.getRowCount(); i++) {
-                for (int j = 0; j < jtFitas.getColumnCount(); j++) {
-                    jtFitas.setValueAt(String.valueOf(SIMBOLO_BRANCO), i, j);
-                }
-            }
-
-            for (int i = 0; i < jtFitas.getRowCount(); i++) {
-                for (int j = 0; j < jtFitas.getColumnCount() ; j++) {
-                    String s;
-                    if (j == cursores.get(i)) {
-                        s = fitas[i].getCelulas()[j].toString() + SUFIXO_CURSOR;
-                    } else if (j == fitas[i].getCelulaPivo()) {
-                        s = fitas[i].getCelulas()[j].toString() + SUFIXO_CEL_PIVO;
-                    } else {
-                        s = fitas[i].getCelulas()[j].toString();
-                    }
-                    jtFitas.setValueAt(
-                        s,
-                        i,
-                        j
-                    );
-                }
-            }
+        fitasMostradas = fitas;
+        cursoresMostrados = cursores;
+        
+        cmfMapaFitas.atualizar(fitas, cursores);
+        
+        atualizarJanelaFitas();
         
+    }
+    
+    
+    /**
+     * Copiar para o modelo das fitas as células da janela visível, a partir
+     * das fitas mostradas na última etapa. É chamado a cada etapa, e também
+     * quando a visualização das fitas é rolada, pois o modelo mostra apenas as
+     * células copiadas.
+     */
+    private void atualizarJanelaFitas() {
+        
+        if (fitasMostradas == null) return;
+        
+        Fita[] fitas = fitasMostradas;
+        Map<Integer, Integer> cursores = cursoresMostrados;
+        
+        if (isFitasDesenhadas()) {
+            componenteFitas.atualizar(fitas, cursores);
+            return;
         }
-
+        
+        // Apenas as células visíveis são copiadas e notificadas pelo modelo. As
+        // fitas móveis têm apenas as colunas da janela, logo a busca das
+        // colunas nos extremos da área visível é curta.
+        
+        Rectangle visivel = jtFitas.getVisibleRect();
+        
+        int primeiraColuna = jtFitas.columnAtPoint(visivel.getLocation());
+        int ultimaColuna = jtFitas.columnAtPoint(
+            new Point(visivel.x + visivel.width - 1, visivel.y)
+        );
+        
+        // Se a JTable ainda não está visível, nenhuma célula é copiada.
+        
+        if (visivel.isEmpty()) {
+            ultimaColuna = -1;
+        } else if (ultimaColuna < 0) {
+            ultimaColuna = jtFitas.getColumnCount() - 1;
+        }
+        
+        modeloFitas.atualizar(fitas, cursores, primeiraColuna, ultimaColuna);
+        
+        ajustarColunasFitas();
+        
+    }
+    
+    
+    /**
+     * Verificar se as fitas são mostradas pelo componente que as desenha
+     * diretamente. As fitas fixas são sempre desenhadas por ele, pois a JTable
+     * precisaria de uma coluna para cada célula, e as fitas móveis apenas
+     * quando a opção do menu das fitas está marcada.
+     * 
+     * @return Se true, as fitas são desenhadas pelo componente das fitas. Se
+     * false, elas são mostradas pela JTable.
+     */
+    private boolean isFitasDesenhadas() {
+        return jcbmiDesenharFitas.isSelected() || !jrbMoverFita.isSelected();
+    }
+    
+    
+    /**
+     * Alternar a visualização das fitas entre a JTable e o componente que as
+     * desenha diretamente, conforme o modo de visualização e a opção do menu
+     * das fitas. As duas visualizações compartilham o modelo, logo as fitas
+     * atuais continuam visíveis após a troca.
+     */
+    private void alternarDesenhoFitas() {
+        
+        if (isFitasDesenhadas()) {
+            jScrollPane4.setViewportView(componenteFitas);
+        } else {
+            ajustarColunasFitas();
+            jScrollPane4.setViewportView(jtFitas);
+        }
+        
+    }
+    
+    
+    /**
+     * Mostrar na visualização das fitas a célula clicada no minimapa. Apenas
+     * quando as fitas são fixas, pois as fitas móveis mostram sempre as células
+     * em torno dos cursores.
+     * 
+     * @param x posição horizontal do clique no minimapa.
+     * 
+     * @param y posição vertical do clique no minimapa.
+     */
+    private void mostrarCelulaMapaFitas(int x, int y) {
+        
+        int fita = cmfMapaFitas.getFita(y);
+        
+        if (fita < 0 || jrbMoverFita.isSelected()) return;
+        
+        // As fitas fixas são sempre desenhadas pelo componente das fitas.
+        
+        componenteFitas.mostrarColuna(modeloFitas.getColuna(fita,
+            cmfMapaFitas.getIndice(fita, x)));
+        
     }
     
     
@@ -2292,6 +2653,12 @@ OuvinteConfigSimulacaoAutomatica {
      * função de transição, e se o programa finalizou, indicar se a palavra de 
      * entrada foi aceita ou não.
      * 
+     * <br><br>
+     * 
+     * A etapa é copiada em um {@link QuadroSimulacao}, que é mostrado
+     * diretamente se a notificação ocorre no EDT, ou publicado para o EDT por
+     * meio de {@link #publicarQuadroSimulacao(QuadroSimulacao)}.
+     * 
      * @param estadoAtual estado atual da Unidade de Controle.
      * 
      * @param fitas fitas da Máquina de Turing gravadas com símbolos pela Cabeça
@@ -2314,7 +2681,32 @@ OuvinteConfigSimulacaoAutomatica {
     Map<Integer, Integer> cursores, int indiceTransicaoAtual, int numeroPassos,
     boolean cadeiaAceita, boolean finalizado) {
         
-        configurarFitas(fitas, cursores);
+        // As fitas são copiadas aqui, no Thread que executa a simulação, logo o
+        // quadro não depende mais das fitas da máquina.
+        
+        QuadroSimulacao quadro = new QuadroSimulacao(estadoAtual, fitas, cursores,
+        indiceTransicaoAtual, numeroPassos, cadeiaAceita, finalizado);
+        
+        if (SwingUtilities.isEventDispatchThread()) {
+            quadroPendente.set(null);
+            mostrarQuadroSimulacao(quadro);
+        } else {
+            publicarQuadroSimulacao(quadro);
+        }
+        
+    }
+    
+    
+    /**
+     * Mostrar na tela um quadro da simulação. Deve ser chamado no EDT.
+     * 
+     * @param quadro quadro da etapa da simulação.
+     */
+    private void mostrarQuadroSimulacao(QuadroSimulacao quadro) {
+        
+        int indiceTransicaoAtual = quadro.getIndiceTransicao();
+        
+        configurarFitas(quadro.getFitas(), quadro.getCursores());
         
         if (indiceTransicaoAtual >= 0) {
             jlTransicoes.setSelectedIndex(indiceTransicaoAtual);
@@ -2330,12 +2722,12 @@ OuvinteConfigSimulacaoAutomatica {
             jlTransicoes.clearSelection();
         }
         
-        jtfEstadoAtual.setText(estadoAtual.toString());
-        jtfNumPassos.setText(String.valueOf(numeroPassos));
+        jtfEstadoAtual.setText(quadro.getEstadoAtual().toString());
+        jtfNumPassos.setText(String.valueOf(quadro.getNumeroPassos()));
         
-        if (finalizado) {
+        if (quadro.isFinalizado()) {
         
-            if (cadeiaAceita) {
+            if (quadro.isCadeiaAceita()) {
                 emExecucao = false;
                 if (timer != null) timer.cancel();
                 jtfResultado.setText("ACEITA");
@@ -2389,7 +2781,8 @@ OuvinteConfigSimulacaoAutomatica {
     private void exibirDetalhesFitas() {
         new TelaDetalhesFitas(
             this,
-            maquinaTuring,
+            fitasMostradas,
+            cursoresMostrados,
             (int) jspNumeroFitas.getValue()
         ).setVisible(true);
     }
@@ -2511,6 +2904,7 @@ OuvinteConfigSimulacaoAutomatica {
         jtfPalavra = new javax.swing.JTextField();
         jScrollPane4 = new javax.swing.JScrollPane();
         jtFitas = new javax.swing.JTable();
+        cmfMapaFitas = new turing.gui.ComponenteMapaFitas();
         jLabel2 = new javax.swing.JLabel();
         jToolBar1 = new javax.swing.JToolBar();
         jLabel5 = new javax.swing.JLabel();
@@ -2522,8 +2916,12 @@ OuvinteConfigSimulacaoAutomatica {
         jLabel13 = new javax.swing.JLabel();
         jbVelocidade = new javax.swing.JButton();
         jLabel10 = new javax.swing.JLabel();
+        jbVoltarPasso = new javax.swing.JButton();
+        jLabel15 = new javax.swing.JLabel();
         jbExecutarPasso = new javax.swing.JButton();
         jLabel11 = new javax.swing.JLabel();
+        jbIrParaPasso = new javax.swing.JButton();
+        jLabel16 = new javax.swing.JLabel();
         jbParar = new javax.swing.JButton();
         jLabel6 = new javax.swing.JLabel();
         jPanel2 = new javax.swing.JPanel();
@@ -2979,6 +3377,13 @@ OuvinteConfigSimulacaoAutomatica {
         jtFitas.getTableHeader().setReorderingAllowed(false);
         jScrollPane4.setViewportView(jtFitas);
 
+        cmfMapaFitas.setToolTipText("Visão geral das fitas. Clique para mostrar a célula.");
+        cmfMapaFitas.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent evt) {
+                cmfMapaFitasMouseClicked(evt);
+            }
+        });
+
         jLabel2.setText("Palavra:");
         jLabel2.setBorder(javax.swing.BorderFactory.createEtchedBorder());
         jLabel2.setMaximumSize(new java.awt.Dimension(50, 22));
@@ -3069,6 +3474,25 @@ OuvinteConfigSimulacaoAutomatica {
         jLabel10.setText(" ");
         jToolBar1.add(jLabel10);
 
+        jbVoltarPasso.setIcon(new javax.swing.ImageIcon(getClass().getResource("/turing/icones/undo_icon.png"))); // NOI18N
+        jbVoltarPasso.setText("Voltar");
+        jbVoltarPasso.setToolTipText("Desfazer o último passo");
+        jbVoltarPasso.setFocusable(false);
+        jbVoltarPasso.setHorizontalTextPosition(javax.swing.SwingConstants.CENTER);
+        jbVoltarPasso.setMaximumSize(new java.awt.Dimension(100, 70));
+        jbVoltarPasso.setMinimumSize(new java.awt.Dimension(100, 70));
+        jbVoltarPasso.setPreferredSize(new java.awt.Dimension(100, 70));
+        jbVoltarPasso.setVerticalTextPosition(javax.swing.SwingConstants.BOTTOM);
+        jbVoltarPasso.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jbVoltarPassoActionPerformed(evt);
+            }
+        });
+        jToolBar1.add(jbVoltarPasso);
+
+        jLabel15.setText(" ");
+        jToolBar1.add(jLabel15);
+
         jbExecutarPasso.setIcon(new javax.swing.ImageIcon(getClass().getResource("/turing/icones/step_icon.png"))); // NOI18N
         jbExecutarPasso.setText("Passo");
         jbExecutarPasso.setToolTipText("Executar passo a passo");
@@ -3088,6 +3512,25 @@ OuvinteConfigSimulacaoAutomatica {
         jLabel11.setText(" ");
         jToolBar1.add(jLabel11);
 
+        jbIrParaPasso.setIcon(new javax.swing.ImageIcon(getClass().getResource("/turing/icones/dot_icon.png"))); // NOI18N
+        jbIrParaPasso.setText("Ir Para");
+        jbIrParaPasso.setToolTipText("Ir para um passo qualquer");
+        jbIrParaPasso.setFocusable(false);
+        jbIrParaPasso.setHorizontalTextPosition(javax.swing.SwingConstants.CENTER);
+        jbIrParaPasso.setMaximumSize(new java.awt.Dimension(100, 70));
+        jbIrParaPasso.setMinimumSize(new java.awt.Dimension(100, 70));
+        jbIrParaPasso.setPreferredSize(new java.awt.Dimension(100, 70));
+        jbIrParaPasso.setVerticalTextPosition(javax.swing.SwingConstants.BOTTOM);
+        jbIrParaPasso.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jbIrParaPassoActionPerformed(evt);
+            }
+        });
+        jToolBar1.add(jbIrParaPasso);
+
+        jLabel16.setText(" ");
+        jToolBar1.add(jLabel16);
+
         jbParar.setIcon(new javax.swing.ImageIcon(getClass().getResource("/turing/icones/poweroff_icon.png"))); // NOI18N
         jbParar.setText("Encerrar");
         jbParar.setToolTipText("Parar simulação");
@@ -3228,6 +3671,7 @@ OuvinteConfigSimulacaoAutomatica {
                 .addContainerGap()
                 .addGroup(jPanel6Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(jScrollPane4, javax.swing.GroupLayout.DEFAULT_SIZE, 1310, Short.MAX_VALUE)
+                    .addComponent(cmfMapaFitas, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                     .addGroup(jPanel6Layout.createSequentialGroup()
                         .addComponent(jLabel2, javax.swing.GroupLayout.PREFERRED_SIZE, 100, javax.swing.GroupLayout.PREFERRED_SIZE)
                         .addGap(0, 0, 0)
@@ -3261,6 +3705,8 @@ OuvinteConfigSimulacaoAutomatica {
                     .addComponent(jbCarregarPalavra, javax.swing.GroupLayout.PREFERRED_SIZE, 32, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addGap(6, 6, 6)
                 .addComponent(jScrollPane4, javax.swing.GroupLayout.DEFAULT_SIZE, 224, Short.MAX_VALUE)
+                .addGap(6, 6, 6)
+                .addComponent(cmfMapaFitas, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(7, 7, 7)
                 .addGroup(jPanel6Layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(jrbPadrao)
@@ -3608,6 +4054,14 @@ OuvinteConfigSimulacaoAutomatica {
         executarPassoSimulacao();
     }//GEN-LAST:event_jbExecutarPassoActionPerformed
 
+    private void jbVoltarPassoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jbVoltarPassoActionPerformed
+        voltarPassoSimulacao();
+    }//GEN-LAST:event_jbVoltarPassoActionPerformed
+
+    private void jbIrParaPassoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jbIrParaPassoActionPerformed
+        irParaPassoSimulacao();
+    }//GEN-LAST:event_jbIrParaPassoActionPerformed
+
     private void jbPararActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jbPararActionPerformed
         encerrarSimulacao();
     }//GEN-LAST:event_jbPararActionPerformed
@@ -3658,6 +4112,10 @@ OuvinteConfigSimulacaoAutomatica {
         exibirDetalhesFitas();
     }//GEN-LAST:event_jmiDetalhesFitasActionPerformed
 
+    private void cmfMapaFitasMouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_cmfMapaFitasMouseClicked
+        mostrarCelulaMapaFitas(evt.getX(), evt.getY());
+    }//GEN-LAST:event_cmfMapaFitasMouseClicked
+
     private void jlAutocompletarKeyReleased(java.awt.event.KeyEvent evt) {//GEN-FIRST:event_jlAutocompletarKeyReleased
         if (evt.getKeyCode() == KeyEvent.VK_ENTER) {
             inserirItemSelecionadoMenuTransicao();
@@ -3688,12 +4146,15 @@ OuvinteConfigSimulacaoAutomatica {
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.ButtonGroup btgModelo;
     private javax.swing.ButtonGroup btgOpcoesFita;
+    private turing.gui.ComponenteMapaFitas cmfMapaFitas;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JLabel jLabel10;
     private javax.swing.JLabel jLabel11;
     private javax.swing.JLabel jLabel12;
     private javax.swing.JLabel jLabel13;
     private javax.swing.JLabel jLabel14;
+    private javax.swing.JLabel jLabel15;
+    private javax.swing.JLabel jLabel16;
     private javax.swing.JLabel jLabel2;
     private javax.swing.JLabel jLabel3;
     private javax.swing.JLabel jLabel4;
@@ -3741,6 +4202,7 @@ OuvinteConfigSimulacaoAutomatica {
     private javax.swing.JButton jbInserirEstado;
     private javax.swing.JButton jbInserirSimbolo;
     private javax.swing.JButton jbInserirTransicao;
+    private javax.swing.JButton jbIrParaPasso;
     private javax.swing.JButton jbMoverTransicaoBaixo;
     private javax.swing.JButton jbMoverTransicaoCima;
     private javax.swing.JButton jbParar;
@@ -3754,6 +4216,7 @@ OuvinteConfigSimulacaoAutomatica {
     private javax.swing.JButton jbSetEstadoFinal;
     private javax.swing.JButton jbSetEstadoInicial;
     private javax.swing.JButton jbVelocidade;
+    private javax.swing.JButton jbVoltarPasso;
     private javax.swing.JList<String> jlAlfabeto;
     private javax.swing.JList<String> jlAutocompletar;
     private javax.swing.JList<String> jlEstados;